@@ -0,0 +1,148 @@
+package algo;
+
+import models.AdjacencyIndex;
+import models.Graph;
+import models.Node;
+
+import java.util.*;
+
+/**
+ * The AStarAlgorithm class finds the shortest path between the source and the destination of a
+ * graph with the A* search, using the straight-line distance between node coordinates to steer
+ * the search towards the destination.
+ * <p>
+ * Edge weights are set by the user and need not match the drawn edge lengths, so the straight-line
+ * distance is scaled by the smallest weight-per-pixel ratio over all edges. No path can then be
+ * cheaper than the scaled distance, which keeps the heuristic admissible and consistent, and every
+ * node is settled at most once. Alternatively, the search can use weights derived from the drawn
+ * edge lengths instead of the user-set weights.
+ */
+public class AStarAlgorithm {
+
+    private static final int UNKNOWN = -1;
+
+    private boolean safe = false;
+    private String message = null;
+
+    private Graph graph;
+    private AdjacencyIndex index;
+    private final boolean geometricWeights;
+
+    private double ratio;           // Lower bound on the weight of an edge per pixel of its length
+    private int[] heuristics;       // Cached lower bound on the distance to the destination, or UNKNOWN
+    private AStarSearch search;     // The last run
+
+    /**
+     * Constructs an AStarAlgorithm instance that searches with the user-set edge weights.
+     *
+     * @param graph The graph on which the search will be applied.
+     */
+    public AStarAlgorithm(Graph graph) {
+        this(graph, false);
+    }
+
+    /**
+     * Constructs an AStarAlgorithm instance.
+     *
+     * @param graph            The graph on which the search will be applied.
+     * @param geometricWeights True to use the drawn length of every edge, rounded up, as its weight
+     *                         instead of the user-set weight.
+     */
+    public AStarAlgorithm(Graph graph, boolean geometricWeights) {
+        this.graph = graph;
+        this.index = graph.getAdjacencyIndex();
+        this.geometricWeights = geometricWeights;
+        safe = evaluate();
+    }
+
+    /**
+     * Evaluates the graph's validity for running the search.
+     *
+     * @return True if the graph is valid, false otherwise.
+     */
+    public boolean evaluate() {
+        message = GraphValidation.check(graph);
+        return message == null;
+    }
+
+    /**
+     * Runs the A* search between the source and the destination.
+     *
+     * @throws IllegalStateException If the graph is not valid (as determined by the {@code evaluate} method).
+     */
+    public void run() throws IllegalStateException {
+        if (!safe) {
+            throw new IllegalStateException(message);
+        }
+
+        ratio = geometricWeights ? 1.0 : computeRatio();
+        heuristics = new int[index.size()];
+        Arrays.fill(heuristics, UNKNOWN);
+        search = new AStarSearch(index, index.indexOf(graph.getSource()), index.indexOf(graph.getDestination()),
+                this::weight, this::heuristic);
+    }
+
+    /**
+     * Computes the smallest weight per pixel of drawn length over all edges.
+     */
+    private double computeRatio() {
+        double min = Double.POSITIVE_INFINITY;
+        for (int node = 0; node < index.size(); node++) {
+            for (int arc = index.firstArc(node); arc < index.endArc(node); arc++) {
+                double length = length(node, index.target(arc));
+                if (length > 0)
+                    min = Math.min(min, index.weight(arc) / length);
+            }
+        }
+        return min == Double.POSITIVE_INFINITY ? 0 : min;
+    }
+
+    private int weight(int node, int arc) {
+        if (!geometricWeights)
+            return index.weight(arc);
+        return Math.max(1, (int) Math.ceil(length(node, index.target(arc))));
+    }
+
+    private int heuristic(int node, int destination) {
+        int h = heuristics[node];
+        if (h == UNKNOWN) {
+            // Round down, with a little slack for floating point error, so the bound stays a lower bound
+            h = (int) Math.max(0, Math.floor(ratio * length(node, destination) - 1e-9));
+            heuristics[node] = h;
+        }
+        return h;
+    }
+
+    private double length(int one, int two) {
+        Node first = index.getNode(one);
+        Node second = index.getNode(two);
+        return first.getCoord().distance(second.getCoord());
+    }
+
+    /**
+     * Returns the shortest distance from the source to the destination.
+     *
+     * @return The distance, or {@code Integer.MAX_VALUE} if the destination cannot be reached.
+     */
+    public Integer getDestinationDistance() {
+        return search.getDistance(index.indexOf(graph.getDestination()));
+    }
+
+    /**
+     * Returns the shortest path from the source to the destination.
+     *
+     * @return A list of nodes representing the path, or an empty list if the destination cannot be reached.
+     */
+    public List<Node> getDestinationPath() {
+        return search.getPath(index.indexOf(graph.getDestination()));
+    }
+
+    /**
+     * Returns the number of nodes settled by the last run.
+     *
+     * @return The number of settled nodes.
+     */
+    public int getSettledCount() {
+        return search == null ? 0 : search.getSettledCount();
+    }
+}
@@ -0,0 +1,107 @@
+package algo;
+
+import models.AdjacencyIndex;
+import models.Node;
+
+import java.util.*;
+import java.util.function.IntBinaryOperator;
+
+/**
+ * The AStarSearch class is the A* search shared by {@link AStarAlgorithm} and
+ * {@link AltAlgorithm}, which differ only in their heuristic and, for geometric weights, in the
+ * weight of an arc. The heuristic must be consistent, so every node is settled at most once and
+ * the search stops as soon as the destination is settled.
+ */
+final class AStarSearch {
+
+    private static final int NO_PREDECESSOR = -1;
+
+    private final AdjacencyIndex index;
+    private final int[] distances;
+    private final int[] predecessors;
+    private final BitSet settled;
+
+    /**
+     * Runs an A* search.
+     *
+     * @param index       The adjacency index to search.
+     * @param source      The dense index of the source node.
+     * @param destination The dense index of the destination node.
+     * @param weight      The weight of an arc, given the node it leaves and the arc.
+     * @param heuristic   A lower bound on the distance from a node to the destination, given both.
+     */
+    AStarSearch(AdjacencyIndex index, int source, int destination, IntBinaryOperator weight,
+                IntBinaryOperator heuristic) {
+        this.index = index;
+        int size = index.size();
+        distances = new int[size];
+        predecessors = new int[size];
+        Arrays.fill(distances, Integer.MAX_VALUE);
+        Arrays.fill(predecessors, NO_PREDECESSOR);
+        settled = new BitSet(size);
+
+        IndexedPriorityQueue open = new DaryHeap();
+        open.reset(size);
+
+        distances[source] = 0;
+        open.insertOrDecrease(source, heuristic.applyAsInt(source, destination));
+
+        while (!open.isEmpty()) {
+            int current = open.poll();
+            settled.set(current);
+            if (current == destination)
+                break;
+
+            int distance = distances[current];
+            for (int arc = index.firstArc(current); arc < index.endArc(current); arc++) {
+                int adjacent = index.target(arc);
+                if (settled.get(adjacent))
+                    continue;
+
+                int new_dist = distance + weight.applyAsInt(current, arc);
+                if (new_dist < distances[adjacent]) {
+                    distances[adjacent] = new_dist;
+                    predecessors[adjacent] = current;
+                    open.insertOrDecrease(adjacent, new_dist + heuristic.applyAsInt(adjacent, destination));
+                }
+            }
+        }
+    }
+
+    /**
+     * Gets the distance of a node found by the search.
+     *
+     * @param node The dense index of the node.
+     * @return The distance, or {@code Integer.MAX_VALUE} if the node was not reached.
+     */
+    int getDistance(int node) {
+        return distances[node];
+    }
+
+    /**
+     * Gets the path from the source to a node found by the search.
+     *
+     * @param node The dense index of the node.
+     * @return A list of nodes representing the path, or an empty list if the node was not reached.
+     */
+    List<Node> getPath(int node) {
+        List<Node> path = new ArrayList<>();
+        if (distances[node] == Integer.MAX_VALUE)
+            return path;
+
+        for (int current = node; current != NO_PREDECESSOR; current = predecessors[current]) {
+            path.add(index.getNode(current));
+        }
+        Collections.reverse(path);
+        return path;
+    }
+
+    /**
+     * Gets the number of nodes settled by the search.
+     *
+     * @return The number of settled nodes.
+     */
+    int getSettledCount() {
+        return settled.cardinality();
+    }
+}
@@ -0,0 +1,92 @@
+package algo;
+
+import models.AdjacencyIndex;
+import models.Graph;
+import models.Node;
+
+import java.util.*;
+
+/**
+ * The AltAlgorithm class finds the shortest path between the source and the destination of a
+ * graph with an A* search whose heuristic is the landmark lower bound of a precomputed
+ * {@link Landmarks} instance. The bound is consistent, so every node is settled at most once.
+ * <p>
+ * The landmarks can be reused for any number of queries as long as the graph does not change.
+ */
+public class AltAlgorithm {
+
+    private boolean safe = false;
+    private String message = null;
+
+    private Graph graph;
+    private Landmarks landmarks;
+    private AdjacencyIndex index;
+
+    private AStarSearch search;     // The last run
+
+    /**
+     * Constructs an AltAlgorithm instance.
+     *
+     * @param graph     The graph on which the search will be applied.
+     * @param landmarks The landmarks preprocessed on the current state of the graph.
+     */
+    public AltAlgorithm(Graph graph, Landmarks landmarks) {
+        this.graph = graph;
+        this.landmarks = landmarks;
+        this.index = graph.getAdjacencyIndex();
+        safe = evaluate();
+    }
+
+    /**
+     * Evaluates the graph's validity for running the search.
+     *
+     * @return True if the graph is valid and the landmarks are up to date, false otherwise.
+     */
+    public boolean evaluate() {
+        message = GraphValidation.check(graph);
+        if (message == null && landmarks.getIndex() != index)
+            message = "Landmarks must be recomputed after the graph changes";
+        return message == null;
+    }
+
+    /**
+     * Runs the search between the source and the destination.
+     *
+     * @throws IllegalStateException If the graph is not valid (as determined by the {@code evaluate} method).
+     */
+    public void run() throws IllegalStateException {
+        if (!safe) {
+            throw new IllegalStateException(message);
+        }
+
+        search = new AStarSearch(index, index.indexOf(graph.getSource()), index.indexOf(graph.getDestination()),
+                (node, arc) -> index.weight(arc), landmarks::lowerBound);
+    }
+
+    /**
+     * Returns the shortest distance from the source to the destination.
+     *
+     * @return The distance, or {@code Integer.MAX_VALUE} if the destination cannot be reached.
+     */
+    public Integer getDestinationDistance() {
+        return search.getDistance(index.indexOf(graph.getDestination()));
+    }
+
+    /**
+     * Returns the shortest path from the source to the destination.
+     *
+     * @return A list of nodes representing the path, or an empty list if the destination cannot be reached.
+     */
+    public List<Node> getDestinationPath() {
+        return search.getPath(index.indexOf(graph.getDestination()));
+    }
+
+    /**
+     * Returns the number of nodes settled by the last run.
+     *
+     * @return The number of settled nodes.
+     */
+    public int getSettledCount() {
+        return search == null ? 0 : search.getSettledCount();
+    }
+}
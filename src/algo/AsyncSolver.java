@@ -0,0 +1,272 @@
+package algo;
+
+import models.AdjacencyIndex;
+import models.Graph;
+import models.Node;
+
+import java.time.Duration;
+import java.util.*;
+import java.util.concurrent.*;
+
+/**
+ * The AsyncSolver class runs point-to-point shortest path searches on a background thread, so
+ * that a user interface stays responsive while a large graph is solved.
+ * <p>
+ * {@link #submit} is called on the thread that owns the graph (the Swing event dispatch thread
+ * in this application). It validates the graph and captures its immutable {@link AdjacencyIndex},
+ * so the graph may be edited while the search runs; the result then describes the graph as it
+ * was at submission. The search reports its progress, and stops early when it is cancelled or
+ * runs out of its time budget. Callbacks and the returned future complete on the background
+ * thread; callers hand the results back to their own thread themselves.
+ */
+public class AsyncSolver {
+
+    // Cancellation, the deadline and progress are checked once per this many settled nodes
+    private static final int CHECK_INTERVAL = 1024;
+    private static final long PROGRESS_INTERVAL_NANOS = TimeUnit.MILLISECONDS.toNanos(100);
+
+    private final ExecutorService executor;
+    private final boolean ownsExecutor;
+
+    /**
+     * Receives progress reports from a running search.
+     */
+    public interface ProgressListener {
+        /**
+         * Called periodically on the background thread while a search runs.
+         *
+         * @param settledCount     The number of nodes settled so far.
+         * @param settledPerSecond The average number of nodes settled per second so far.
+         */
+        void progress(int settledCount, double settledPerSecond);
+    }
+
+    /**
+     * The outcome of a completed search.
+     */
+    public static final class Result {
+        private final int distance;
+        private final List<Node> path;
+        private final int settledCount;
+        private final ShortestPathTree tree;
+
+        private Result(int distance, List<Node> path, int settledCount, ShortestPathTree tree) {
+            this.distance = distance;
+            this.path = path;
+            this.settledCount = settledCount;
+            this.tree = tree;
+        }
+
+        /**
+         * Gets the shortest distance from the source to the destination.
+         *
+         * @return The distance, or {@code Integer.MAX_VALUE} if the destination cannot be reached.
+         */
+        public int getDistance() {
+            return distance;
+        }
+
+        /**
+         * Gets the shortest path from the source to the destination.
+         *
+         * @return A list of nodes representing the path, or an empty list if the destination cannot be reached.
+         */
+        public List<Node> getPath() {
+            return path;
+        }
+
+        /**
+         * Gets the number of nodes the search settled.
+         *
+         * @return The number of settled nodes.
+         */
+        public int getSettledCount() {
+            return settledCount;
+        }
+
+        /**
+         * Gets the shortest path tree of the source, over the adjacency index the graph had at submission.
+         *
+         * @return The tree of a {@code FULL_TREE} search, or {@code null} for a point-to-point search.
+         */
+        public ShortestPathTree getTree() {
+            return tree;
+        }
+    }
+
+    /**
+     * A submitted search.
+     */
+    public static final class Solve {
+        private final CompletableFuture<Result> future = new CompletableFuture<>();
+        private volatile boolean cancelled;
+
+        /**
+         * Gets the future of the search. It completes with the result, or exceptionally with a
+         * {@link CancellationException} after {@link #cancel()} or a {@link TimeoutException}
+         * when the time budget runs out.
+         *
+         * @return The future of the search.
+         */
+        public CompletableFuture<Result> getFuture() {
+            return future;
+        }
+
+        /**
+         * Asks the search to stop. It stops within a few thousand settled nodes.
+         */
+        public void cancel() {
+            cancelled = true;
+            future.completeExceptionally(new CancellationException("Search was cancelled"));
+        }
+
+        /**
+         * Checks whether the search was cancelled.
+         *
+         * @return True if {@link #cancel()} was called, false otherwise.
+         */
+        public boolean isCancelled() {
+            return cancelled;
+        }
+    }
+
+    /**
+     * Constructs a solver running searches one at a time on its own daemon thread.
+     */
+    public AsyncSolver() {
+        this(Executors.newSingleThreadExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "shortest-path-solver");
+            thread.setDaemon(true);
+            return thread;
+        }), true);
+    }
+
+    /**
+     * Constructs a solver running searches on the given executor.
+     *
+     * @param executor The executor to run searches on; it is not shut down by {@link #shutdown()}.
+     */
+    public AsyncSolver(ExecutorService executor) {
+        this(executor, false);
+    }
+
+    private AsyncSolver(ExecutorService executor, boolean ownsExecutor) {
+        this.executor = executor;
+        this.ownsExecutor = ownsExecutor;
+    }
+
+    /**
+     * Starts a search between the current source and destination of a graph that stops once
+     * the destination is settled.
+     *
+     * @param graph    The graph to search, read only during this call.
+     * @param budget   The longest time the search may run, or {@code null} for no limit.
+     * @param listener The listener receiving progress reports, or {@code null}.
+     * @return The handle of the submitted search.
+     * @throws IllegalStateException If the graph is not valid for a search.
+     */
+    public Solve submit(Graph graph, Duration budget, ProgressListener listener) throws IllegalStateException {
+        return submit(graph, DijkstraAlgorithm.Mode.POINT_TO_POINT, budget, listener);
+    }
+
+    /**
+     * Starts a search from the current source of a graph.
+     *
+     * @param graph    The graph to search, read only during this call.
+     * @param mode     {@code POINT_TO_POINT} to stop once the destination is settled,
+     *                 {@code FULL_TREE} to settle every node.
+     * @param budget   The longest time the search may run, or {@code null} for no limit.
+     * @param listener The listener receiving progress reports, or {@code null}.
+     * @return The handle of the submitted search.
+     * @throws IllegalStateException If the graph is not valid for a search.
+     */
+    public Solve submit(Graph graph, DijkstraAlgorithm.Mode mode, Duration budget, ProgressListener listener)
+            throws IllegalStateException {
+        String message = GraphValidation.check(graph);
+        if (message != null)
+            throw new IllegalStateException(message);
+
+        AdjacencyIndex index = graph.getAdjacencyIndex();
+        int source = index.indexOf(graph.getSource());
+        int destination = index.indexOf(graph.getDestination());
+        long deadline = budget == null ? Long.MAX_VALUE : System.nanoTime() + budget.toNanos();
+        int target = mode == DijkstraAlgorithm.Mode.POINT_TO_POINT ? destination : -1;
+
+        Solve solve = new Solve();
+        executor.execute(() -> {
+            try {
+                Result result = search(index, source, destination, target, deadline, listener, solve);
+                if (result != null)
+                    solve.future.complete(result);
+            } catch (RuntimeException e) {
+                solve.future.completeExceptionally(e);
+            }
+        });
+        return solve;
+    }
+
+    private static Result search(AdjacencyIndex index, int source, int destination, int target, long deadline,
+                                 ProgressListener listener, Solve solve) {
+        QueryContext context = new QueryContext(index);
+        Monitor monitor = new Monitor(solve, deadline, listener);
+        if (!context.search(source, target, monitor))
+            return null;
+        monitor.report(context.getSettledCount(), System.nanoTime());
+
+        List<Node> path = new ArrayList<>();
+        for (int node : context.path(destination)) {
+            path.add(index.getNode(node));
+        }
+        ShortestPathTree tree = target < 0 ? context.toTree() : null;
+        return new Result(context.getDistance(destination), path, context.getSettledCount(), tree);
+    }
+
+    /**
+     * Checks a running search for cancellation and its deadline, and reports its progress.
+     */
+    private static final class Monitor implements QueryContext.SettleHook {
+        private final Solve solve;
+        private final long deadline;
+        private final ProgressListener listener;
+        private final long start = System.nanoTime();
+        private long nextReport = start + PROGRESS_INTERVAL_NANOS;
+
+        Monitor(Solve solve, long deadline, ProgressListener listener) {
+            this.solve = solve;
+            this.deadline = deadline;
+            this.listener = listener;
+        }
+
+        @Override
+        public boolean settled(int settledCount) {
+            if (settledCount % CHECK_INTERVAL != 0)
+                return true;
+            if (solve.cancelled)
+                return false;
+            long now = System.nanoTime();
+            if (now - deadline > 0) {
+                solve.future.completeExceptionally(new TimeoutException("Search exceeded its time budget"));
+                return false;
+            }
+            if (now - nextReport >= 0) {
+                report(settledCount, now);
+                nextReport = now + PROGRESS_INTERVAL_NANOS;
+            }
+            return true;
+        }
+
+        void report(int settledCount, long now) {
+            if (listener != null)
+                listener.progress(settledCount, settledCount * 1e9 / Math.max(1, now - start));
+        }
+    }
+
+    /**
+     * Stops the solver's own thread. Searches already running are cancelled by interruption
+     * only if they check for it, so callers should cancel them first.
+     */
+    public void shutdown() {
+        if (ownsExecutor)
+            executor.shutdownNow();
+    }
+}
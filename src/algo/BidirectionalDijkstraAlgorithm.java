@@ -0,0 +1,186 @@
+package algo;
+
+import models.AdjacencyIndex;
+import models.Graph;
+import models.Node;
+
+import java.util.*;
+
+/**
+ * The BidirectionalDijkstraAlgorithm class finds the shortest path between the source and the
+ * destination of a graph by running two Dijkstra searches at once, one forward from the source
+ * and one backward from the destination. Edges are undirected, so both searches walk the same
+ * {@link AdjacencyIndex}.
+ * <p>
+ * Every relaxed arc that reaches a node already labelled by the opposite search is a candidate
+ * connection. The search stops once the smallest keys of the two queues add up to no less than
+ * the best candidate, which then is a shortest path.
+ */
+public class BidirectionalDijkstraAlgorithm {
+
+    private static final int NO_PREDECESSOR = -1;
+
+    private boolean safe = false;
+    private String message = null;
+
+    private Graph graph;
+    private AdjacencyIndex index;
+
+    private Direction forward;
+    private Direction backward;
+
+    private int best = Integer.MAX_VALUE;   // Length of the best connection found so far
+    private int meetFrom = NO_PREDECESSOR;  // Forward side of the best connecting arc
+    private int meetTo = NO_PREDECESSOR;    // Backward side of the best connecting arc
+
+    /**
+     * The state of one of the two searches.
+     */
+    private static class Direction {
+        final int[] distances;
+        final int[] predecessors;
+        final BitSet settled;
+        final IndexedPriorityQueue queue;
+
+        Direction(int size, int maxWeight) {
+            distances = new int[size];
+            predecessors = new int[size];
+            Arrays.fill(distances, Integer.MAX_VALUE);
+            Arrays.fill(predecessors, NO_PREDECESSOR);
+            settled = new BitSet(size);
+            queue = IndexedPriorityQueue.forMaxWeight(maxWeight);
+            queue.reset(size);
+        }
+    }
+
+    /**
+     * Constructs a BidirectionalDijkstraAlgorithm instance with the specified graph.
+     *
+     * @param graph The graph on which the search will be applied.
+     */
+    public BidirectionalDijkstraAlgorithm(Graph graph) {
+        this.graph = graph;
+        this.index = graph.getAdjacencyIndex();
+        safe = evaluate();
+    }
+
+    /**
+     * Evaluates the graph's validity for running the search.
+     *
+     * @return True if the graph is valid, false otherwise.
+     */
+    public boolean evaluate() {
+        message = GraphValidation.check(graph);
+        return message == null;
+    }
+
+    /**
+     * Runs the bidirectional search between the source and the destination.
+     *
+     * @throws IllegalStateException If the graph is not valid (as determined by the {@code evaluate} method).
+     */
+    public void run() throws IllegalStateException {
+        if (!safe) {
+            throw new IllegalStateException(message);
+        }
+
+        forward = new Direction(index.size(), index.getMaxWeight());
+        backward = new Direction(index.size(), index.getMaxWeight());
+        best = Integer.MAX_VALUE;
+        meetFrom = NO_PREDECESSOR;
+        meetTo = NO_PREDECESSOR;
+
+        int source = index.indexOf(graph.getSource());
+        int destination = index.indexOf(graph.getDestination());
+        forward.distances[source] = 0;
+        forward.queue.insertOrDecrease(source, 0);
+        backward.distances[destination] = 0;
+        backward.queue.insertOrDecrease(destination, 0);
+
+        if (source == destination) {
+            best = 0;
+            meetFrom = source;
+            meetTo = source;
+            return;
+        }
+
+        while (!forward.queue.isEmpty() && !backward.queue.isEmpty()) {
+            if ((long) forward.queue.minKey() + backward.queue.minKey() >= best)
+                break;
+
+            // Expand the side with the smaller frontier
+            if (forward.queue.size() <= backward.queue.size())
+                step(forward, backward, true);
+            else
+                step(backward, forward, false);
+        }
+    }
+
+    private void step(Direction self, Direction other, boolean isForward) {
+        int node = self.queue.poll();
+        self.settled.set(node);
+        int distance = self.distances[node];
+
+        for (int arc = index.firstArc(node); arc < index.endArc(node); arc++) {
+            int adjacent = index.target(arc);
+            if (self.settled.get(adjacent))
+                continue;
+
+            int new_dist = distance + index.weight(arc);
+            if (new_dist < self.distances[adjacent]) {
+                self.distances[adjacent] = new_dist;
+                self.predecessors[adjacent] = node;
+                self.queue.insertOrDecrease(adjacent, new_dist);
+            }
+
+            int opposite = other.distances[adjacent];
+            if (opposite != Integer.MAX_VALUE && (long) new_dist + opposite < best) {
+                best = new_dist + opposite;
+                meetFrom = isForward ? node : adjacent;
+                meetTo = isForward ? adjacent : node;
+            }
+        }
+    }
+
+    /**
+     * Returns the shortest distance from the source to the destination.
+     *
+     * @return The distance, or {@code Integer.MAX_VALUE} if the destination cannot be reached.
+     */
+    public Integer getDestinationDistance() {
+        return best;
+    }
+
+    /**
+     * Returns the shortest path from the source to the destination.
+     *
+     * @return A list of nodes representing the path, or an empty list if the destination cannot be reached.
+     */
+    public List<Node> getDestinationPath() {
+        List<Node> path = new ArrayList<>();
+        if (meetFrom == NO_PREDECESSOR)
+            return path;
+
+        for (int current = meetFrom; current != NO_PREDECESSOR; current = forward.predecessors[current]) {
+            path.add(index.getNode(current));
+        }
+        Collections.reverse(path);
+
+        if (meetTo != meetFrom) {
+            for (int current = meetTo; current != NO_PREDECESSOR; current = backward.predecessors[current]) {
+                path.add(index.getNode(current));
+            }
+        }
+
+        return path;
+    }
+
+    /**
+     * Returns the number of nodes settled by both searches together in the last run.
+     *
+     * @return The number of settled nodes.
+     */
+    public int getSettledCount() {
+        return forward == null ? 0 : forward.settled.cardinality() + backward.settled.cardinality();
+    }
+}
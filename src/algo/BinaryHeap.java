@@ -0,0 +1,15 @@
+package algo;
+
+/**
+ * The BinaryHeap class is an indexed binary min-heap, the classic priority queue for Dijkstra's
+ * algorithm. It is kept as a baseline to compare the other queues against.
+ */
+public class BinaryHeap extends DaryHeap {
+
+    /**
+     * Constructs an empty binary heap.
+     */
+    public BinaryHeap() {
+        super(2);
+    }
+}
@@ -0,0 +1,118 @@
+package algo;
+
+import models.AdjacencyIndex;
+import models.GraphSnapshot;
+import models.Node;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * The ConcurrentQueryEngine class answers shortest path queries over a {@link GraphSnapshot}
+ * from any number of threads at once.
+ * <p>
+ * Unlike {@link DijkstraAlgorithm}, the engine keeps no per-query state in its fields and never
+ * writes results into the nodes. Every thread searches with its own scratch arrays, created on
+ * its first query and reused afterwards, and the snapshot itself is immutable, so queries share
+ * nothing that is written and need no locking. To follow edits of the graph, take a new snapshot
+ * and build a new engine over it.
+ */
+public class ConcurrentQueryEngine {
+
+    private final GraphSnapshot snapshot;
+    private final AdjacencyIndex index;
+    private final ThreadLocal<QueryContext> contexts;
+
+    /**
+     * Constructs an engine over a snapshot of a graph.
+     *
+     * @param snapshot The snapshot to query.
+     */
+    public ConcurrentQueryEngine(GraphSnapshot snapshot) {
+        this.snapshot = snapshot;
+        this.index = snapshot.getIndex();
+        this.contexts = ThreadLocal.withInitial(() -> new QueryContext(index));
+    }
+
+    /**
+     * Gets the snapshot the engine queries.
+     *
+     * @return The snapshot.
+     */
+    public GraphSnapshot getSnapshot() {
+        return snapshot;
+    }
+
+    /**
+     * Gets the shortest distance between two nodes.
+     *
+     * @param source The source node.
+     * @param target The target node.
+     * @return The distance, or {@code Integer.MAX_VALUE} if the target cannot be reached.
+     * @throws IllegalArgumentException If a node is not part of the snapshot.
+     */
+    public int getDistance(Node source, Node target) {
+        int to = indexOf(target);
+        return search(source, to).getDistance(to);
+    }
+
+    /**
+     * Gets the shortest path between two nodes.
+     *
+     * @param source The source node.
+     * @param target The target node.
+     * @return A list of nodes representing the path, or an empty list if the target cannot be reached.
+     * @throws IllegalArgumentException If a node is not part of the snapshot.
+     */
+    public List<Node> getPath(Node source, Node target) {
+        int to = indexOf(target);
+        int[] path = search(source, to).path(to);
+        List<Node> nodes = new ArrayList<>(path.length);
+        for (int node : path) {
+            nodes.add(index.getNode(node));
+        }
+        return nodes;
+    }
+
+    /**
+     * Gets the shortest distance from the source to the destination of the snapshot.
+     *
+     * @return The distance, or {@code Integer.MAX_VALUE} if the destination cannot be reached.
+     * @throws IllegalStateException If the snapshot has no source or destination.
+     */
+    public int getDestinationDistance() {
+        checkEndpoints();
+        return getDistance(snapshot.getSource(), snapshot.getDestination());
+    }
+
+    /**
+     * Gets the shortest path from the source to the destination of the snapshot.
+     *
+     * @return A list of nodes representing the path, or an empty list if the destination cannot be reached.
+     * @throws IllegalStateException If the snapshot has no source or destination.
+     */
+    public List<Node> getDestinationPath() {
+        checkEndpoints();
+        return getPath(snapshot.getSource(), snapshot.getDestination());
+    }
+
+    private QueryContext search(Node source, int target) {
+        QueryContext context = contexts.get();
+        context.search(indexOf(source), target);
+        return context;
+    }
+
+    private int indexOf(Node node) {
+        int i = index.indexOf(node);
+        if (i < 0)
+            throw new IllegalArgumentException("Node must be present in the snapshot");
+        return i;
+    }
+
+    private void checkEndpoints() {
+        if (snapshot.getSource() == null)
+            throw new IllegalStateException("Source must be present in the graph");
+        if (snapshot.getDestination() == null)
+            throw new IllegalStateException("Destination must be present in the graph");
+    }
+}
@@ -0,0 +1,347 @@
+package algo;
+
+import models.AdjacencyIndex;
+import models.Graph;
+
+import java.util.Arrays;
+
+/**
+ * The ContractionHierarchy class is the preprocessing step of the contraction hierarchies search.
+ * Nodes are contracted one by one, least important first. Contracting a node removes it from the
+ * remaining graph and adds a shortcut edge between two of its neighbors whenever the path through
+ * the node is the only shortest path between them. Every shortcut remembers the contracted middle
+ * node, so a path made of shortcuts can be unpacked into the original edges.
+ * <p>
+ * The importance of a node is its edge difference (the shortcuts its contraction would add, minus
+ * the edges it would remove) plus the number of its neighbors already contracted, which spreads
+ * contraction evenly over the graph. Priorities are updated lazily: a node taken from the queue is
+ * re-evaluated and put back if it is no longer the least important.
+ * <p>
+ * The result is stored as an upward graph in CSR form: for every node, the original and shortcut
+ * edges leading to nodes contracted after it. {@link ContractionHierarchyAlgorithm} answers
+ * queries on it. The hierarchy refers to the {@link AdjacencyIndex} the graph had during
+ * preprocessing and must be rebuilt after the graph changes.
+ */
+public class ContractionHierarchy {
+
+    static final int NO_MIDDLE = -1;
+
+    // Witness searches give up after settling this many nodes and add the shortcut anyway.
+    // Estimating a priority only needs a rough shortcut count, so it uses a tighter limit.
+    private static final int WITNESS_SETTLE_LIMIT = 500;
+    private static final int ESTIMATE_SETTLE_LIMIT = 50;
+
+    private final AdjacencyIndex index;
+    private final int[] ranks;          // Contraction order of every node
+    private final int[] upOffsets;      // Upward arcs of node u are [upOffsets[u], upOffsets[u + 1])
+    private final int[] upTargets;
+    private final int[] upWeights;
+    private final int[] upMiddles;      // Contracted middle node of a shortcut, or NO_MIDDLE for an original edge
+    private int shortcutCount;
+
+    // Contraction state, released once preprocessing is done
+    private ArcList[] arcs;
+    private int[] contractedNeighbors;
+    private int[] witnessDistances;
+    private int[] touched;
+    private int[] targetStamps;     // Equal to stamp for the targets of the current witness search
+    private int stamp;
+    private IndexedPriorityQueue witnessQueue;
+
+    /**
+     * The arcs of a node in the graph being contracted, stored in growable parallel arrays.
+     */
+    private static class ArcList {
+        int[] targets = new int[4];
+        int[] weights = new int[4];
+        int[] middles = new int[4];
+        int size;
+
+        /**
+         * Adds an arc, or lowers the weight of the existing arc to the same target.
+         */
+        void addOrImprove(int target, int weight, int middle) {
+            for (int i = 0; i < size; i++) {
+                if (targets[i] == target) {
+                    if (weight < weights[i]) {
+                        weights[i] = weight;
+                        middles[i] = middle;
+                    }
+                    return;
+                }
+            }
+            if (size == targets.length) {
+                targets = Arrays.copyOf(targets, size * 2);
+                weights = Arrays.copyOf(weights, size * 2);
+                middles = Arrays.copyOf(middles, size * 2);
+            }
+            targets[size] = target;
+            weights[size] = weight;
+            middles[size] = middle;
+            size++;
+        }
+
+        /**
+         * Removes the arc to a target by moving the last arc into its place.
+         */
+        void remove(int target) {
+            for (int i = 0; i < size; i++) {
+                if (targets[i] == target) {
+                    size--;
+                    targets[i] = targets[size];
+                    weights[i] = weights[size];
+                    middles[i] = middles[size];
+                    return;
+                }
+            }
+        }
+    }
+
+    /**
+     * Contracts every node of a graph and builds the upward graph.
+     *
+     * @param graph The graph to preprocess.
+     */
+    public ContractionHierarchy(Graph graph) {
+        index = graph.getAdjacencyIndex();
+        int size = index.size();
+        ranks = new int[size];
+
+        arcs = new ArcList[size];
+        for (int node = 0; node < size; node++) {
+            arcs[node] = new ArcList();
+        }
+        for (int node = 0; node < size; node++) {
+            for (int arc = index.firstArc(node); arc < index.endArc(node); arc++) {
+                arcs[node].addOrImprove(index.target(arc), index.weight(arc), NO_MIDDLE);
+            }
+        }
+        contractedNeighbors = new int[size];
+        witnessDistances = new int[size];
+        Arrays.fill(witnessDistances, Integer.MAX_VALUE);
+        touched = new int[size];
+        targetStamps = new int[size];
+        witnessQueue = new DaryHeap();
+        witnessQueue.reset(size);
+
+        contractAll();
+
+        // Build the upward graph: the arcs left on every node lead to the nodes contracted after it
+        upOffsets = new int[size + 1];
+        for (int node = 0; node < size; node++) {
+            upOffsets[node + 1] = arcs[node].size;
+        }
+        for (int node = 0; node < size; node++) {
+            upOffsets[node + 1] += upOffsets[node];
+        }
+
+        int total = upOffsets[size];
+        upTargets = new int[total];
+        upWeights = new int[total];
+        upMiddles = new int[total];
+        for (int node = 0; node < size; node++) {
+            ArcList list = arcs[node];
+            int arc = upOffsets[node];
+            System.arraycopy(list.targets, 0, upTargets, arc, list.size);
+            System.arraycopy(list.weights, 0, upWeights, arc, list.size);
+            System.arraycopy(list.middles, 0, upMiddles, arc, list.size);
+        }
+
+        arcs = null;
+        contractedNeighbors = null;
+        witnessDistances = null;
+        touched = null;
+        targetStamps = null;
+        witnessQueue = null;
+    }
+
+    private void contractAll() {
+        int size = index.size();
+        IndexedPriorityQueue order = new DaryHeap();
+        order.reset(size);
+        for (int node = 0; node < size; node++) {
+            order.insertOrDecrease(node, priority(node));
+        }
+
+        int rank = 0;
+        while (!order.isEmpty()) {
+            int node = order.poll();
+
+            // Lazy update: put the node back if it is no longer the least important one
+            int current = priority(node);
+            if (!order.isEmpty() && current > order.minKey()) {
+                order.insertOrDecrease(node, current);
+                continue;
+            }
+
+            contract(node);
+            ranks[node] = rank++;
+
+            // Neighbor priorities are refreshed by the lazy update when they reach the top of the queue
+            ArcList list = arcs[node];
+            for (int i = 0; i < list.size; i++) {
+                contractedNeighbors[list.targets[i]]++;
+            }
+        }
+    }
+
+    private int priority(int node) {
+        return shortcuts(node, false) - arcs[node].size + contractedNeighbors[node];
+    }
+
+    private void contract(int node) {
+        shortcutCount += shortcuts(node, true);
+
+        // The node keeps its arcs as upward arcs, while its neighbors forget about it
+        ArcList list = arcs[node];
+        for (int i = 0; i < list.size; i++) {
+            arcs[list.targets[i]].remove(node);
+        }
+    }
+
+    /**
+     * Finds the shortcuts needed to contract a node, optionally adding them.
+     *
+     * @return The number of shortcuts needed.
+     */
+    private int shortcuts(int node, boolean add) {
+        ArcList list = arcs[node];
+        int needed = 0;
+        for (int i = 0; i < list.size; i++) {
+            int from = list.targets[i];
+            int limit = 0;
+            stamp++;
+            for (int j = i + 1; j < list.size; j++) {
+                limit = Math.max(limit, list.weights[i] + list.weights[j]);
+                targetStamps[list.targets[j]] = stamp;
+            }
+            if (limit == 0)
+                continue;
+
+            int count = witnessSearch(from, node, limit, list.size - i - 1,
+                    add ? WITNESS_SETTLE_LIMIT : ESTIMATE_SETTLE_LIMIT);
+            for (int j = i + 1; j < list.size; j++) {
+                int to = list.targets[j];
+                int via = list.weights[i] + list.weights[j];
+                if (witnessDistances[to] > via) {
+                    needed++;
+                    if (add) {
+                        arcs[from].addOrImprove(to, via, node);
+                        arcs[to].addOrImprove(from, via, node);
+                    }
+                }
+            }
+            clearWitness(count);
+        }
+        return needed;
+    }
+
+    /**
+     * Runs a bounded Dijkstra search from a node over the uncontracted graph, avoiding one node.
+     * The search stops early once all of the targets marked with the current stamp are settled.
+     *
+     * @return The number of nodes touched, to be passed to {@link #clearWitness(int)}.
+     */
+    private int witnessSearch(int source, int avoid, int limit, int targets, int settleLimit) {
+        int count = 0;
+        witnessDistances[source] = 0;
+        touched[count++] = source;
+        witnessQueue.insertOrDecrease(source, 0);
+
+        int settled = 0;
+        while (!witnessQueue.isEmpty() && settled < settleLimit) {
+            if (witnessQueue.minKey() > limit)
+                break;
+            int current = witnessQueue.poll();
+            settled++;
+            if (targetStamps[current] == stamp && --targets == 0)
+                break;
+
+            int distance = witnessDistances[current];
+            ArcList list = arcs[current];
+            for (int i = 0; i < list.size; i++) {
+                int adjacent = list.targets[i];
+                if (adjacent == avoid)
+                    continue;
+
+                int new_dist = distance + list.weights[i];
+                if (new_dist <= limit && new_dist < witnessDistances[adjacent]) {
+                    if (witnessDistances[adjacent] == Integer.MAX_VALUE)
+                        touched[count++] = adjacent;
+                    witnessDistances[adjacent] = new_dist;
+                    witnessQueue.insertOrDecrease(adjacent, new_dist);
+                }
+            }
+        }
+        return count;
+    }
+
+    private void clearWitness(int count) {
+        for (int i = 0; i < count; i++) {
+            witnessDistances[touched[i]] = Integer.MAX_VALUE;
+        }
+        witnessQueue.reset(index.size());
+    }
+
+    /**
+     * Gets the adjacency index the hierarchy was built on.
+     *
+     * @return The adjacency index used during preprocessing.
+     */
+    public AdjacencyIndex getIndex() {
+        return index;
+    }
+
+    /**
+     * Gets the number of shortcut edges added during preprocessing.
+     *
+     * @return The number of shortcuts.
+     */
+    public int getShortcutCount() {
+        return shortcutCount;
+    }
+
+    /**
+     * Gets the position of a node in the contraction order.
+     *
+     * @param node The dense index of the node.
+     * @return The rank of the node; nodes contracted later have higher ranks.
+     */
+    public int rank(int node) {
+        return ranks[node];
+    }
+
+    int firstUpArc(int node) {
+        return upOffsets[node];
+    }
+
+    int endUpArc(int node) {
+        return upOffsets[node + 1];
+    }
+
+    int upTarget(int arc) {
+        return upTargets[arc];
+    }
+
+    int upWeight(int arc) {
+        return upWeights[arc];
+    }
+
+    int upMiddle(int arc) {
+        return upMiddles[arc];
+    }
+
+    /**
+     * Finds the middle node of the arc between two adjacent nodes of the hierarchy.
+     * The arc is stored with whichever of the two nodes was contracted first.
+     */
+    int middle(int one, int two) {
+        int lower = ranks[one] < ranks[two] ? one : two;
+        int higher = lower == one ? two : one;
+        for (int arc = upOffsets[lower]; arc < upOffsets[lower + 1]; arc++) {
+            if (upTargets[arc] == higher)
+                return upMiddles[arc];
+        }
+        throw new IllegalStateException("No arc between nodes " + one + " and " + two);
+    }
+}
@@ -0,0 +1,213 @@
+package algo;
+
+import models.AdjacencyIndex;
+import models.Graph;
+import models.Node;
+
+import java.util.*;
+
+/**
+ * The ContractionHierarchyAlgorithm class answers shortest path queries between the source and the
+ * destination of a graph on a precomputed {@link ContractionHierarchy}.
+ * <p>
+ * Both a forward search from the source and a backward search from the destination only follow
+ * arcs leading to nodes contracted later. Every shortest path has a highest node where the two
+ * searches meet, so the answer is the smallest sum of forward and backward distances over the
+ * nodes both searches reached. A search stops once its smallest key reaches the best sum found.
+ * The resulting path of shortcuts is unpacked into the original nodes, in the same format as
+ * {@link DijkstraAlgorithm#getPath(Node)}.
+ * <p>
+ * The search arrays are allocated once and reset after each run, so an instance can answer many
+ * queries: change the source or destination of the graph and call {@link #run()} again.
+ */
+public class ContractionHierarchyAlgorithm {
+
+    private static final int NO_PREDECESSOR = -1;
+
+    private boolean safe = false;
+    private String message = null;
+
+    private Graph graph;
+    private ContractionHierarchy hierarchy;
+    private AdjacencyIndex index;
+
+    private final int[] forwardDistances;
+    private final int[] backwardDistances;
+    private final int[] forwardPredecessors;
+    private final int[] backwardPredecessors;
+    private final int[] touched;            // Nodes labelled by either search, reset before the next run
+    private int touchedCount;
+    private final IndexedPriorityQueue forwardQueue = new DaryHeap();
+    private final IndexedPriorityQueue backwardQueue = new DaryHeap();
+
+    private int best = Integer.MAX_VALUE;
+    private int meet = NO_PREDECESSOR;
+    private int settledCount;
+
+    /**
+     * Constructs a ContractionHierarchyAlgorithm instance.
+     *
+     * @param graph     The graph on which queries will be answered.
+     * @param hierarchy The hierarchy preprocessed on the current state of the graph.
+     */
+    public ContractionHierarchyAlgorithm(Graph graph, ContractionHierarchy hierarchy) {
+        this.graph = graph;
+        this.hierarchy = hierarchy;
+        this.index = graph.getAdjacencyIndex();
+
+        int size = index.size();
+        forwardDistances = new int[size];
+        backwardDistances = new int[size];
+        forwardPredecessors = new int[size];
+        backwardPredecessors = new int[size];
+        Arrays.fill(forwardDistances, Integer.MAX_VALUE);
+        Arrays.fill(backwardDistances, Integer.MAX_VALUE);
+        touched = new int[size];
+    }
+
+    /**
+     * Evaluates the graph's validity for running a query.
+     *
+     * @return True if the graph is valid and the hierarchy is up to date, false otherwise.
+     */
+    public boolean evaluate() {
+        message = GraphValidation.check(graph);
+        if (message == null && hierarchy.getIndex() != graph.getAdjacencyIndex())
+            message = "Contraction hierarchy must be recomputed after the graph changes";
+        return message == null;
+    }
+
+    /**
+     * Runs a query between the current source and destination of the graph.
+     *
+     * @throws IllegalStateException If the graph is not valid (as determined by the {@code evaluate} method).
+     */
+    public void run() throws IllegalStateException {
+        safe = evaluate();
+        if (!safe) {
+            throw new IllegalStateException(message);
+        }
+
+        reset();
+        int source = index.indexOf(graph.getSource());
+        int destination = index.indexOf(graph.getDestination());
+        label(forwardDistances, forwardPredecessors, forwardQueue, source, 0, NO_PREDECESSOR);
+        label(backwardDistances, backwardPredecessors, backwardQueue, destination, 0, NO_PREDECESSOR);
+
+        boolean forwardDone = false;
+        boolean backwardDone = false;
+        while (!forwardDone || !backwardDone) {
+            forwardDone = forwardDone || forwardQueue.isEmpty() || forwardQueue.minKey() >= best;
+            if (!forwardDone)
+                step(forwardDistances, forwardPredecessors, forwardQueue, backwardDistances);
+
+            backwardDone = backwardDone || backwardQueue.isEmpty() || backwardQueue.minKey() >= best;
+            if (!backwardDone)
+                step(backwardDistances, backwardPredecessors, backwardQueue, forwardDistances);
+        }
+    }
+
+    private void reset() {
+        for (int i = 0; i < touchedCount; i++) {
+            forwardDistances[touched[i]] = Integer.MAX_VALUE;
+            backwardDistances[touched[i]] = Integer.MAX_VALUE;
+        }
+        touchedCount = 0;
+        forwardQueue.reset(index.size());
+        backwardQueue.reset(index.size());
+        best = Integer.MAX_VALUE;
+        meet = NO_PREDECESSOR;
+        settledCount = 0;
+    }
+
+    private void label(int[] distances, int[] predecessors, IndexedPriorityQueue queue,
+                       int node, int distance, int predecessor) {
+        if (forwardDistances[node] == Integer.MAX_VALUE && backwardDistances[node] == Integer.MAX_VALUE)
+            touched[touchedCount++] = node;
+        distances[node] = distance;
+        predecessors[node] = predecessor;
+        queue.insertOrDecrease(node, distance);
+    }
+
+    private void step(int[] distances, int[] predecessors, IndexedPriorityQueue queue, int[] opposite) {
+        int node = queue.poll();
+        settledCount++;
+        int distance = distances[node];
+
+        if (opposite[node] != Integer.MAX_VALUE && (long) distance + opposite[node] < best) {
+            best = distance + opposite[node];
+            meet = node;
+        }
+
+        for (int arc = hierarchy.firstUpArc(node); arc < hierarchy.endUpArc(node); arc++) {
+            int adjacent = hierarchy.upTarget(arc);
+            int new_dist = distance + hierarchy.upWeight(arc);
+            if (new_dist < distances[adjacent])
+                label(distances, predecessors, queue, adjacent, new_dist, node);
+        }
+    }
+
+    /**
+     * Returns the shortest distance from the source to the destination.
+     *
+     * @return The distance, or {@code Integer.MAX_VALUE} if the destination cannot be reached.
+     */
+    public Integer getDestinationDistance() {
+        return best;
+    }
+
+    /**
+     * Returns the shortest path from the source to the destination, unpacked into original edges.
+     *
+     * @return A list of nodes representing the path, or an empty list if the destination cannot be reached.
+     */
+    public List<Node> getDestinationPath() {
+        List<Node> path = new ArrayList<>();
+        if (meet == NO_PREDECESSOR)
+            return path;
+
+        // Hierarchy nodes from the source up to the meeting node, then down to the destination
+        List<Integer> hierarchyPath = new ArrayList<>();
+        for (int current = meet; current != NO_PREDECESSOR; current = forwardPredecessors[current]) {
+            hierarchyPath.add(current);
+        }
+        Collections.reverse(hierarchyPath);
+        for (int current = backwardPredecessors[meet]; current != NO_PREDECESSOR; current = backwardPredecessors[current]) {
+            hierarchyPath.add(current);
+        }
+
+        path.add(index.getNode(hierarchyPath.get(0)));
+        for (int i = 0; i + 1 < hierarchyPath.size(); i++) {
+            unpack(hierarchyPath.get(i), hierarchyPath.get(i + 1), path);
+        }
+        return path;
+    }
+
+    /**
+     * Appends the original nodes of the arc from one hierarchy node to another, excluding the first one.
+     */
+    private void unpack(int from, int to, List<Node> path) {
+        // Explicit stack of (from, to) segments, so deeply nested shortcuts cannot overflow the call stack
+        Deque<int[]> segments = new ArrayDeque<>();
+        segments.push(new int[]{from, to});
+        while (!segments.isEmpty()) {
+            int[] segment = segments.pop();
+            int middle = hierarchy.middle(segment[0], segment[1]);
+            if (middle == ContractionHierarchy.NO_MIDDLE) {
+                path.add(index.getNode(segment[1]));
+            } else {
+                segments.push(new int[]{middle, segment[1]});
+                segments.push(new int[]{segment[0], middle});
+            }
+        }
+    }
+
+    /**
+     * Returns the number of nodes settled by both searches together in the last run.
+     *
+     * @return The number of settled nodes.
+     */
+    public int getSettledCount() {
+        return settledCount;
+    }
+}
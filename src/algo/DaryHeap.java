@@ -0,0 +1,159 @@
+package algo;
+
+import java.util.Arrays;
+import java.util.NoSuchElementException;
+
+/**
+ * The DaryHeap class is an indexed d-ary min-heap. Every item remembers its position in the
+ * heap array, so decreasing a key is a single sift-up instead of a linear search.
+ * <p>
+ * Larger arities make the tree shallower, which makes {@code insertOrDecrease} cheaper at
+ * the cost of comparing more children in {@code poll}. Since shortest path searches usually
+ * relax many more edges than they settle nodes, an arity of 4 is a good default.
+ */
+public class DaryHeap implements IndexedPriorityQueue {
+
+    private static final int ABSENT = -1;
+
+    private final int arity;
+
+    private int[] heap = new int[0];        // Items in heap order
+    private int[] keys = new int[0];        // Key of every item, indexed by item
+    private int[] positions = new int[0];   // Position of every item in the heap, or ABSENT
+    private int size;
+
+    /**
+     * Constructs a 4-ary heap.
+     */
+    public DaryHeap() {
+        this(4);
+    }
+
+    /**
+     * Constructs a heap with the given arity.
+     *
+     * @param arity The number of children of every heap node.
+     * @throws IllegalArgumentException If the arity is smaller than 2.
+     */
+    public DaryHeap(int arity) {
+        if (arity < 2)
+            throw new IllegalArgumentException("Arity must be at least 2");
+        this.arity = arity;
+    }
+
+    /**
+     * Gets the arity of the heap.
+     *
+     * @return The number of children of every heap node.
+     */
+    public int getArity() {
+        return arity;
+    }
+
+    @Override
+    public void reset(int capacity) {
+        if (positions.length < capacity) {
+            heap = new int[capacity];
+            keys = new int[capacity];
+            positions = new int[capacity];
+            Arrays.fill(positions, ABSENT);
+        } else {
+            // Polled items are already marked absent, so only the leftovers need clearing
+            for (int i = 0; i < size; i++) {
+                positions[heap[i]] = ABSENT;
+            }
+        }
+        size = 0;
+    }
+
+    @Override
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    @Override
+    public int size() {
+        return size;
+    }
+
+    @Override
+    public boolean contains(int item) {
+        return positions[item] != ABSENT;
+    }
+
+    @Override
+    public void insertOrDecrease(int item, int key) {
+        int position = positions[item];
+        if (position == ABSENT) {
+            position = size++;
+        } else if (key >= keys[item]) {
+            return;
+        }
+        keys[item] = key;
+        siftUp(item, position);
+    }
+
+    @Override
+    public int minKey() {
+        if (size == 0)
+            throw new NoSuchElementException("Heap is empty");
+        return keys[heap[0]];
+    }
+
+    @Override
+    public int poll() {
+        if (size == 0)
+            throw new NoSuchElementException("Heap is empty");
+
+        int top = heap[0];
+        positions[top] = ABSENT;
+        int last = heap[--size];
+        if (size > 0)
+            siftDown(last, 0);
+        return top;
+    }
+
+    private void siftUp(int item, int position) {
+        int key = keys[item];
+        while (position > 0) {
+            int parent = (position - 1) / arity;
+            int parentItem = heap[parent];
+            if (keys[parentItem] <= key)
+                break;
+            heap[position] = parentItem;
+            positions[parentItem] = position;
+            position = parent;
+        }
+        heap[position] = item;
+        positions[item] = position;
+    }
+
+    private void siftDown(int item, int position) {
+        int key = keys[item];
+        while (true) {
+            int first = position * arity + 1;
+            if (first >= size)
+                break;
+
+            int best = first;
+            int bestKey = keys[heap[first]];
+            int end = Math.min(first + arity, size);
+            for (int child = first + 1; child < end; child++) {
+                int childKey = keys[heap[child]];
+                if (childKey < bestKey) {
+                    best = child;
+                    bestKey = childKey;
+                }
+            }
+
+            if (key <= bestKey)
+                break;
+            int bestItem = heap[best];
+            heap[position] = bestItem;
+            positions[bestItem] = position;
+            position = best;
+        }
+        heap[position] = item;
+        positions[item] = position;
+    }
+}
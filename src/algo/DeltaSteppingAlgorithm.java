@@ -0,0 +1,302 @@
+package algo;
+
+import models.AdjacencyIndex;
+import models.Graph;
+import models.Node;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+import java.util.stream.IntStream;
+
+/**
+ * The DeltaSteppingAlgorithm class computes the complete shortest path tree of the source of a
+ * graph with the parallel delta-stepping algorithm.
+ * <p>
+ * Tentative distances are grouped into buckets of width delta. The nodes of the lowest non-empty
+ * bucket relax their light arcs (weight at most delta) in parallel, which may refill the same
+ * bucket, until the bucket stays empty; then all nodes removed from it relax their heavy arcs in
+ * parallel, which can only reach later buckets. Distances are lowered with a compare-and-set loop,
+ * so threads never block each other. The parallel phases run on the common fork/join pool.
+ * <p>
+ * Relaxations happen in no particular order, so predecessors are not recorded during the search.
+ * Once all distances are final, every node picks the smallest-index neighbor u with
+ * {@code d(u) + w(u, v) = d(v)}, in parallel. {@link DijkstraAlgorithm} breaks ties the same way,
+ * so both produce the same tree. This needs positive edge weights: two nodes joined by an edge of
+ * weight zero could pick each other, so graphs with such an edge are rejected.
+ */
+public class DeltaSteppingAlgorithm {
+
+    // Phases with fewer nodes than this are relaxed on the calling thread
+    private static final int PARALLEL_THRESHOLD = 1024;
+
+    private boolean safe = false;
+    private String message = null;
+
+    private Graph graph;
+    private AdjacencyIndex index;
+    private final int delta;
+
+    private ShortestPathTree tree;
+
+    /**
+     * A growable list of node indices, used for the buckets.
+     */
+    private static class IntList {
+        int[] items = new int[16];
+        int size;
+
+        void add(int item) {
+            if (size == items.length)
+                items = Arrays.copyOf(items, size * 2);
+            items[size++] = item;
+        }
+    }
+
+    /**
+     * Constructs a DeltaSteppingAlgorithm instance with a bucket width derived from the graph:
+     * the largest edge weight divided by the average degree.
+     *
+     * @param graph The graph on which the search will be applied.
+     */
+    public DeltaSteppingAlgorithm(Graph graph) {
+        this(graph, defaultDelta(graph.getAdjacencyIndex()));
+    }
+
+    /**
+     * Constructs a DeltaSteppingAlgorithm instance with the given bucket width.
+     *
+     * @param graph The graph on which the search will be applied.
+     * @param delta The width of a bucket. A width of 1 behaves like Dijkstra's algorithm, and a
+     *              width above the largest weight like the Bellman-Ford algorithm.
+     * @throws IllegalArgumentException If the width is not positive.
+     */
+    public DeltaSteppingAlgorithm(Graph graph, int delta) {
+        if (delta <= 0)
+            throw new IllegalArgumentException("Delta must be positive");
+        this.graph = graph;
+        this.index = graph.getAdjacencyIndex();
+        this.delta = delta;
+        safe = evaluate();
+    }
+
+    private static int defaultDelta(AdjacencyIndex index) {
+        int averageDegree = index.size() == 0 ? 1 : Math.max(1, index.arcCount() / index.size());
+        return Math.max(1, index.getMaxWeight() / averageDegree);
+    }
+
+    /**
+     * Gets the width of a bucket.
+     *
+     * @return The bucket width.
+     */
+    public int getDelta() {
+        return delta;
+    }
+
+    /**
+     * Evaluates the graph's validity for running the search.
+     *
+     * @return True if the graph is valid and every edge weight is positive, false otherwise.
+     */
+    public boolean evaluate() {
+        message = GraphValidation.check(graph);
+        for (int arc = 0; message == null && arc < index.arcCount(); arc++) {
+            if (index.weight(arc) <= 0)
+                message = "Edge weights must be positive";
+        }
+        return message == null;
+    }
+
+    /**
+     * Runs the search from the source to every node of the graph.
+     *
+     * @throws IllegalStateException If the graph is not valid (as determined by the {@code evaluate} method).
+     */
+    public void run() throws IllegalStateException {
+        if (!safe) {
+            throw new IllegalStateException(message);
+        }
+
+        int size = index.size();
+        int source = index.indexOf(graph.getSource());
+        AtomicIntegerArray distances = new AtomicIntegerArray(size);
+        for (int node = 0; node < size; node++) {
+            distances.set(node, Integer.MAX_VALUE);
+        }
+        distances.set(source, 0);
+
+        search(distances, source);
+
+        int[] finalDistances = new int[size];
+        for (int node = 0; node < size; node++) {
+            finalDistances[node] = distances.get(node);
+        }
+        tree = new ShortestPathTree(index, source, finalDistances, predecessors(finalDistances, source));
+    }
+
+    private void search(AtomicIntegerArray distances, int source) {
+        int size = index.size();
+
+        // Pending distances never exceed the current bucket by more than maxWeight / delta + 1
+        // buckets, so a ring of buckets is enough
+        IntList[] buckets = new IntList[index.getMaxWeight() / delta + 2];
+        for (int i = 0; i < buckets.length; i++) {
+            buckets[i] = new IntList();
+        }
+        buckets[0].add(source);
+
+        AtomicIntegerArray queued = new AtomicIntegerArray(size);   // Phase in which a node was last improved
+        int[] improved = new int[size];
+        AtomicInteger improvedCount = new AtomicInteger();
+        int[] removedPhase = new int[size];     // Bucket in which a node was last removed, plus one
+        int[] frontier = new int[size];
+        int[] removed = new int[size];
+        int phase = 0;
+        int pending = 1;
+
+        for (int bucket = 0; pending > 0; bucket++) {
+            IntList current = buckets[bucket % buckets.length];
+            int removedCount = 0;
+
+            while (current.size > 0) {
+                // Take the bucket, skipping entries whose node has since moved to an earlier bucket
+                phase++;
+                int frontierCount = 0;
+                for (int i = 0; i < current.size; i++) {
+                    int node = current.items[i];
+                    if (distances.get(node) / delta != bucket || queued.get(node) == -phase)
+                        continue;
+                    queued.set(node, -phase);
+                    frontier[frontierCount++] = node;
+                    if (removedPhase[node] != bucket + 1) {
+                        removedPhase[node] = bucket + 1;
+                        removed[removedCount++] = node;
+                    }
+                }
+                pending -= current.size;
+                current.size = 0;
+
+                improvedCount.set(0);
+                relax(frontier, frontierCount, true, distances, queued, phase, improved, improvedCount);
+                pending += distribute(buckets, improved, improvedCount.get(), distances);
+            }
+
+            phase++;
+            improvedCount.set(0);
+            relax(removed, removedCount, false, distances, queued, phase, improved, improvedCount);
+            pending += distribute(buckets, improved, improvedCount.get(), distances);
+        }
+    }
+
+    /**
+     * Relaxes the light or the heavy arcs of some nodes, in parallel when there are enough of them.
+     * Every node whose distance drops is recorded once per phase in {@code improved}.
+     */
+    private void relax(int[] nodes, int count, boolean light, AtomicIntegerArray distances,
+                       AtomicIntegerArray queued, int phase, int[] improved, AtomicInteger improvedCount) {
+        IntStream range = IntStream.range(0, count);
+        if (count >= PARALLEL_THRESHOLD)
+            range = range.parallel();
+
+        range.forEach(i -> {
+            int node = nodes[i];
+            int distance = distances.get(node);
+            for (int arc = index.firstArc(node); arc < index.endArc(node); arc++) {
+                int weight = index.weight(arc);
+                if ((weight <= delta) != light)
+                    continue;
+
+                int adjacent = index.target(arc);
+                int new_dist = distance + weight;
+                int old;
+                while (new_dist < (old = distances.get(adjacent))) {
+                    if (distances.compareAndSet(adjacent, old, new_dist)) {
+                        if (queued.getAndSet(adjacent, phase) != phase)
+                            improved[improvedCount.getAndIncrement()] = adjacent;
+                        break;
+                    }
+                }
+            }
+        });
+    }
+
+    /**
+     * Puts every improved node into the bucket of its new distance.
+     *
+     * @return The number of bucket entries added.
+     */
+    private int distribute(IntList[] buckets, int[] improved, int count, AtomicIntegerArray distances) {
+        for (int i = 0; i < count; i++) {
+            int node = improved[i];
+            buckets[(distances.get(node) / delta) % buckets.length].add(node);
+        }
+        return count;
+    }
+
+    /**
+     * Picks the predecessor of every node from the final distances: the smallest-index neighbor
+     * on a shortest path.
+     */
+    private int[] predecessors(int[] distances, int source) {
+        int size = index.size();
+        int[] predecessors = new int[size];
+        IntStream range = IntStream.range(0, size);
+        if (size >= PARALLEL_THRESHOLD)
+            range = range.parallel();
+
+        range.forEach(node -> {
+            int predecessor = ShortestPathTree.NO_PREDECESSOR;
+            if (node != source && distances[node] != Integer.MAX_VALUE) {
+                for (int arc = index.firstArc(node); arc < index.endArc(node); arc++) {
+                    int adjacent = index.target(arc);
+                    if (distances[adjacent] != Integer.MAX_VALUE
+                            && distances[adjacent] + index.weight(arc) == distances[node]
+                            && (predecessor == ShortestPathTree.NO_PREDECESSOR || adjacent < predecessor))
+                        predecessor = adjacent;
+                }
+            }
+            predecessors[node] = predecessor;
+        });
+        return predecessors;
+    }
+
+    /**
+     * Gets the shortest path tree computed by the last run.
+     *
+     * @return The shortest path tree, or {@code null} if the search has not run.
+     */
+    public ShortestPathTree getTree() {
+        return tree;
+    }
+
+    /**
+     * Returns the distance of a node from the source.
+     *
+     * @param node The node.
+     * @return The distance, {@code Integer.MAX_VALUE} if the node is unreachable, or {@code null}
+     *         if the node is not part of the graph.
+     */
+    public Integer getDistance(Node node) {
+        return tree.getDistance(node);
+    }
+
+    /**
+     * Returns the shortest distance from the source to the destination.
+     *
+     * @return The distance, or {@code Integer.MAX_VALUE} if the destination cannot be reached.
+     */
+    public Integer getDestinationDistance() {
+        return tree.getDistance(graph.getDestination());
+    }
+
+    /**
+     * Returns the shortest path from the source to the destination.
+     *
+     * @return A list of nodes representing the path, or an empty list if the destination cannot be reached.
+     */
+    public List<Node> getDestinationPath() {
+        return tree.getPath(graph.getDestination());
+    }
+}
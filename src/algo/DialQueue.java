@@ -0,0 +1,164 @@
+package algo;
+
+import java.util.Arrays;
+import java.util.NoSuchElementException;
+
+/**
+ * The DialQueue class is Dial's bucket queue: a circular array of {@code maxWeight + 1} buckets,
+ * each holding a doubly linked list of the items with one key.
+ * <p>
+ * The queue is monotone. In Dijkstra's algorithm every key in the queue lies between the last
+ * key removed and that key plus the largest edge weight, so the buckets never overlap and both
+ * inserting and decreasing a key are constant time. Keys outside of that window, counted from
+ * 0 after a reset, are rejected. Removing the minimum advances a cursor over
+ * the buckets, which costs at most the largest distance over a whole search. It suits graphs with
+ * small integer weights; {@link RadixHeap} handles arbitrary weights.
+ * <p>
+ * A reset only clears the buckets filled since the previous one, so it costs as much as the
+ * search before it rather than the number of buckets.
+ */
+public class DialQueue implements IndexedPriorityQueue {
+
+    private static final int NONE = -1;
+
+    private final int span;                 // Number of buckets, the largest weight plus one
+    private final int[] heads;              // First item of every bucket, or NONE
+    private int[] filled = new int[16];     // Buckets that became non-empty since the last reset
+    private int filledCount;
+    private int[] keys = new int[0];
+    private int[] next = new int[0];
+    private int[] previous = new int[0];
+    private boolean[] present = new boolean[0];
+    private int cursor;                     // Smallest key that can still be in the queue
+    private int size;
+
+    /**
+     * Constructs a bucket queue for keys that never exceed the last removed key by more than
+     * the given weight.
+     *
+     * @param maxWeight The largest edge weight of the searched graph.
+     * @throws IllegalArgumentException If the weight is negative.
+     */
+    public DialQueue(int maxWeight) {
+        if (maxWeight < 0)
+            throw new IllegalArgumentException("Weight must not be negative");
+        span = maxWeight + 1;
+        heads = new int[span];
+        Arrays.fill(heads, NONE);
+    }
+
+    @Override
+    public void reset(int capacity) {
+        // Polled items are already marked absent, so only the leftovers need clearing, and they
+        // can only sit in buckets that were filled since the last reset
+        if (size > 0) {
+            for (int i = 0; i < filledCount; i++) {
+                int bucket = filled[i];
+                for (int item = heads[bucket]; item != NONE; item = next[item]) {
+                    present[item] = false;
+                }
+                heads[bucket] = NONE;
+            }
+        }
+        filledCount = 0;
+        size = 0;
+        cursor = 0;
+
+        if (present.length < capacity) {
+            keys = new int[capacity];
+            next = new int[capacity];
+            previous = new int[capacity];
+            present = new boolean[capacity];
+        }
+    }
+
+    @Override
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    @Override
+    public int size() {
+        return size;
+    }
+
+    @Override
+    public boolean contains(int item) {
+        return present[item];
+    }
+
+    @Override
+    public void insertOrDecrease(int item, int key) {
+        if (present[item] && key >= keys[item])
+            return;
+        if (key < cursor || key - cursor >= span)
+            throw new IllegalArgumentException("Key " + key + " is outside of the window ["
+                    + cursor + ", " + (cursor + span - 1) + "]");
+
+        if (present[item]) {
+            unlink(item);
+        } else {
+            present[item] = true;
+            size++;
+        }
+        keys[item] = key;
+        link(item);
+    }
+
+    @Override
+    public int minKey() {
+        return keys[heads[advance()]];
+    }
+
+    @Override
+    public int poll() {
+        int bucket = advance();
+        int item = heads[bucket];
+        unlink(item);
+        present[item] = false;
+        size--;
+        return item;
+    }
+
+    /**
+     * Moves the cursor to the first non-empty bucket.
+     *
+     * @return The bucket holding the smallest key.
+     */
+    private int advance() {
+        if (size == 0)
+            throw new NoSuchElementException("Queue is empty");
+        int bucket = cursor % span;
+        while (heads[bucket] == NONE) {
+            cursor++;
+            bucket = bucket + 1 == span ? 0 : bucket + 1;
+        }
+        return bucket;
+    }
+
+    private void link(int item) {
+        int bucket = keys[item] % span;
+        int head = heads[bucket];
+        next[item] = head;
+        previous[item] = NONE;
+        if (head != NONE) {
+            previous[head] = item;
+        } else {
+            if (filledCount == filled.length)
+                filled = Arrays.copyOf(filled, filledCount * 2);
+            filled[filledCount++] = bucket;
+        }
+        heads[bucket] = item;
+    }
+
+    private void unlink(int item) {
+        int before = previous[item];
+        int after = next[item];
+        if (before != NONE)
+            next[before] = after;
+        else
+            heads[keys[item] % span] = after;
+        if (after != NONE)
+            previous[after] = before;
+    }
+}
@@ -1,5 +1,6 @@
 package algo;
 
+import models.AdjacencyIndex;
 import models.Edge;
 import models.Graph;
 import models.Node;
@@ -9,18 +10,39 @@ import java.util.*;
 /**
  * The DijkstraAlgorithm class implements the Dijkstra algorithm to find the shortest path
  * between two nodes in a graph.
+ * <p>
+ * Nodes are addressed by their dense index in the graph's {@link AdjacencyIndex}, and the
+ * search state lives in primitive arrays, so relaxing an edge neither boxes nor hashes.
+ * <p>
+ * In {@link Mode#FULL_TREE} mode the search settles every node and stores on each of them a
+ * read-only view of its path, which is only walked when read. In {@link Mode#POINT_TO_POINT}
+ * mode it stops as soon as the destination is settled and only the destination's path is stored.
  */
 public class DijkstraAlgorithm {
 
+    private static final int NO_PREDECESSOR = -1;
+
+    /**
+     * The amount of work a run performs.
+     */
+    public enum Mode {
+        /** Settle every node and store a lazy path view on each of them. */
+        FULL_TREE,
+        /** Stop once the destination is settled and store only its path. */
+        POINT_TO_POINT
+    }
+
     private boolean safe = false;
     private String message = null;
+    private Mode mode = Mode.FULL_TREE;
 
     private Graph graph;
-    private Map<Node, Node> predecessors;
-    private Map<Node, Integer> distances;
+    private AdjacencyIndex index;
+    private int[] predecessors;
+    private int[] distances;
 
-    private PriorityQueue<Node> unvisited;
-    private HashSet<Node> visited;
+    private IndexedPriorityQueue unvisited;
+    private BitSet visited;
 
     /**
      * A comparator for comparing nodes based on their distances during priority queue operations.
@@ -28,52 +50,68 @@ public class DijkstraAlgorithm {
     public class NodeComparator implements Comparator<Node> {
         @Override
         public int compare(Node node1, Node node2) {
-            return distances.get(node1) - distances.get(node2);
+            return Integer.compare(getDistance(node1), getDistance(node2));
         }
     }
 
     /**
      * Constructs a DijkstraAlgorithm instance with the specified graph.
+     * The priority queue is chosen from the largest edge weight of the graph
+     * (see {@link IndexedPriorityQueue#forMaxWeight(int)}).
      *
      * @param graph The graph on which the Dijkstra algorithm will be applied.
      */
     public DijkstraAlgorithm(Graph graph) {
+        this(graph, IndexedPriorityQueue.forMaxWeight(graph.getAdjacencyIndex().getMaxWeight()));
+    }
+
+    /**
+     * Constructs a DijkstraAlgorithm instance with the specified graph and priority queue.
+     *
+     * @param graph The graph on which the Dijkstra algorithm will be applied.
+     * @param queue The priority queue holding the unvisited nodes.
+     */
+    public DijkstraAlgorithm(Graph graph, IndexedPriorityQueue queue) {
         this.graph = graph;
-        predecessors = new HashMap<>();
-        distances = new HashMap<>();
+        this.unvisited = queue;
+        this.index = graph.getAdjacencyIndex();
 
-        for (Node node : graph.getNodes()) {
-            distances.put(node, Integer.MAX_VALUE);
-        }
-        visited = new HashSet<>();
+        int size = index.size();
+        predecessors = new int[size];
+        distances = new int[size];
+        Arrays.fill(predecessors, NO_PREDECESSOR);
+        Arrays.fill(distances, Integer.MAX_VALUE);
+        visited = new BitSet(size);
 
         safe = evaluate();
     }
 
+    /**
+     * Sets the mode used by subsequent runs.
+     *
+     * @param mode The mode to use.
+     */
+    public void setMode(Mode mode) {
+        this.mode = mode;
+    }
+
+    /**
+     * Gets the mode used by runs.
+     *
+     * @return The current mode.
+     */
+    public Mode getMode() {
+        return mode;
+    }
+
     /**
      * Evaluates the graph's validity for running the Dijkstra algorithm.
      *
      * @return True if the graph is valid, false otherwise.
      */
     public boolean evaluate() {
-        if (graph.getSource() == null) {
-            message = "Source must be present in the graph";
-            return false;
-        }
-
-        if (graph.getDestination() == null) {
-            message = "Destination must be present in the graph";
-            return false;
-        }
-
-        for (Node node : graph.getNodes()) {
-            if (!graph.isNodeReachable(node)) {
-                message = "Graph contains unreachable nodes";
-                return false;
-            }
-        }
-
-        return true;
+        message = GraphValidation.check(graph);
+        return message == null;
     }
 
     /**
@@ -86,33 +124,32 @@ public class DijkstraAlgorithm {
             throw new IllegalStateException(message);
         }
 
-        unvisited = new PriorityQueue<>(graph.getNodes().size(), new NodeComparator());
+        unvisited.reset(index.size());
 
-        Node source = graph.getSource();
-        distances.put(source, 0);
-        visited.add(source);
-
-        for (Edge neighbor : getNeighbors(source)) {
-            Node adjacent = getAdjacent(neighbor, source);
-            if (adjacent == null)
-                continue;
-
-            distances.put(adjacent, neighbor.getWeight());
-            predecessors.put(adjacent, source);
-            unvisited.add(adjacent);
-        }
+        int source = index.indexOf(graph.getSource());
+        int destination = index.indexOf(graph.getDestination());
+        distances[source] = 0;
+        unvisited.insertOrDecrease(source, 0);
 
         while (!unvisited.isEmpty()) {
-            Node current = unvisited.poll();
-
-            updateDistance(current);
-
-            unvisited.remove(current);
-            visited.add(current);
+            int current = unvisited.poll();
+            visited.set(current);
+            if (mode == Mode.POINT_TO_POINT && current == destination)
+                break;
+            relax(current);
         }
 
-        for (Node node : graph.getNodes()) {
-            node.setPath(getPath(node));
+        if (mode == Mode.FULL_TREE) {
+            // Every node gets a view over the shared predecessor array, walked only when read
+            for (int node = 0; node < index.size(); node++) {
+                index.getNode(node).setPath(pathView(node));
+            }
+        } else {
+            // Paths left over from an earlier full run may no longer be valid
+            for (Node node : graph.getNodes()) {
+                node.setPath(null);
+            }
+            graph.getDestination().setPath(getDestinationPath());
         }
 
         graph.setSolved(true);
@@ -124,20 +161,27 @@ public class DijkstraAlgorithm {
      * @param node The current node.
      */
     public void updateDistance(Node node) {
-        int distance = distances.get(node);
+        int current = index.indexOf(node);
+        if (current >= 0)
+            relax(current);
+    }
 
-        for (Edge neighbor : getNeighbors(node)) {
-            Node adjacent = getAdjacent(neighbor, node);
-            if (visited.contains(adjacent))
-                continue;
+    private void relax(int node) {
+        int distance = distances[node];
 
-            int current_dist = distances.get(adjacent);
-            int new_dist = distance + neighbor.getWeight();
+        for (int arc = index.firstArc(node); arc < index.endArc(node); arc++) {
+            int adjacent = index.target(arc);
+            if (visited.get(adjacent))
+                continue;
 
-            if (new_dist < current_dist) {
-                distances.put(adjacent, new_dist);
-                predecessors.put(adjacent, node);
-                unvisited.add(adjacent);
+            int new_dist = distance + index.weight(arc);
+            if (new_dist < distances[adjacent]) {
+                distances[adjacent] = new_dist;
+                predecessors[adjacent] = node;
+                unvisited.insertOrDecrease(adjacent, new_dist);
+            } else if (new_dist == distances[adjacent] && node < predecessors[adjacent]) {
+                // Break ties towards the smallest index, so the tree does not depend on the queue
+                predecessors[adjacent] = node;
             }
         }
     }
@@ -165,9 +209,12 @@ public class DijkstraAlgorithm {
     public List<Edge> getNeighbors(Node node) {
         List<Edge> neighbors = new ArrayList<>();
 
-        for (Edge edge : graph.getEdges()) {
-            if (edge.getNodeOne() == node || edge.getNodeTwo() == node)
-                neighbors.add(edge);
+        int nodeIndex = index.indexOf(node);
+        if (nodeIndex < 0)
+            return neighbors;
+
+        for (int arc = index.firstArc(nodeIndex); arc < index.endArc(nodeIndex); arc++) {
+            neighbors.add(index.getEdge(arc));
         }
 
         return neighbors;
@@ -179,17 +226,40 @@ public class DijkstraAlgorithm {
      * @return The distance to the destination node.
      */
     public Integer getDestinationDistance() {
-        return distances.get(graph.getDestination());
+        return getDistance(graph.getDestination());
+    }
+
+    /**
+     * Checks whether the last run settled a node, meaning its distance and path are final.
+     * After a full tree run every node is settled.
+     *
+     * @param node The node to check.
+     * @return True if the node has been settled, false otherwise.
+     */
+    public boolean isSettled(Node node) {
+        int nodeIndex = index.indexOf(node);
+        return nodeIndex >= 0 && visited.get(nodeIndex);
+    }
+
+    /**
+     * Returns the number of nodes settled by the last run.
+     *
+     * @return The number of settled nodes.
+     */
+    public int getSettledCount() {
+        return visited.cardinality();
     }
 
     /**
      * Returns the distance to the specified node.
+     * In point-to-point mode, the distance of a node that was not settled is only an upper bound.
      *
      * @param node The node for which distance is retrieved.
-     * @return The distance to the specified node.
+     * @return The distance to the specified node, or {@code null} if the node is not part of the graph.
      */
     public Integer getDistance(Node node) {
-        return distances.get(node);
+        int nodeIndex = index.indexOf(node);
+        return nodeIndex < 0 ? null : distances[nodeIndex];
     }
 
     /**
@@ -205,20 +275,22 @@ public class DijkstraAlgorithm {
      * Returns the path from the source to the specified node.
      *
      * @param node The node for which the path is retrieved.
-     * @return A list of nodes representing the path from the source to the specified node.
+     * @return A list of nodes representing the path from the source to the specified node,
+     * or an empty list if the node has not been reached.
      */
     public List<Node> getPath(Node node) {
-        List<Node> path = new ArrayList<>();
-
-        Node current = node;
-        path.add(current);
-        while (current != graph.getSource()) {
-            current = predecessors.get(current);
-            path.add(current);
-        }
-
-        Collections.reverse(path);
+        int current = index.indexOf(node);
+        if (current < 0)
+            return new ArrayList<>();
+        return new ArrayList<>(pathView(current));
+    }
 
-        return path;
+    /**
+     * Creates a read-only view of the path to a node, or an empty list if the node has not been reached.
+     */
+    private List<Node> pathView(int node) {
+        if (distances[node] == Integer.MAX_VALUE)
+            return Collections.emptyList();
+        return new PathView(index, predecessors, node);
     }
 }
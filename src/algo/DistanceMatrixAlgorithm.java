@@ -0,0 +1,216 @@
+package algo;
+
+import models.AdjacencyIndex;
+import models.Graph;
+import models.Node;
+
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * The DistanceMatrixAlgorithm class computes the shortest distances from every node of a list of
+ * sources to every node of a list of targets, and optionally the paths between them.
+ * <p>
+ * Every row of the matrix is an independent Dijkstra search that stops as soon as all targets are
+ * settled. The rows are spread over the calling thread and workers of the common fork/join pool;
+ * each worker keeps one set of scratch arrays for all the rows it computes, and the graph is
+ * validated once per run.
+ */
+public class DistanceMatrixAlgorithm {
+
+    private boolean safe = false;
+    private String message = null;
+
+    private Graph graph;
+    private AdjacencyIndex index;
+    private final List<Node> sources;
+    private final List<Node> targets;
+    private final boolean computePaths;
+    private int threadCount = Runtime.getRuntime().availableProcessors();
+
+    private int[][] distances;      // distances[i][j] from source i to target j
+    private int[][][] paths;        // paths[i][j] as dense indices, only if computePaths
+
+    /**
+     * Constructs a DistanceMatrixAlgorithm instance that only computes distances.
+     *
+     * @param graph   The graph on which the searches will be applied.
+     * @param sources The source nodes, one row of the matrix each.
+     * @param targets The target nodes, one column of the matrix each.
+     */
+    public DistanceMatrixAlgorithm(Graph graph, List<Node> sources, List<Node> targets) {
+        this(graph, sources, targets, false);
+    }
+
+    /**
+     * Constructs a DistanceMatrixAlgorithm instance.
+     *
+     * @param graph        The graph on which the searches will be applied.
+     * @param sources      The source nodes, one row of the matrix each.
+     * @param targets      The target nodes, one column of the matrix each.
+     * @param computePaths True to also keep the path between every source and target.
+     */
+    public DistanceMatrixAlgorithm(Graph graph, List<Node> sources, List<Node> targets, boolean computePaths) {
+        this.graph = graph;
+        this.index = graph.getAdjacencyIndex();
+        this.sources = new ArrayList<>(sources);
+        this.targets = new ArrayList<>(targets);
+        this.computePaths = computePaths;
+        safe = evaluate();
+    }
+
+    /**
+     * Sets the number of threads working on subsequent runs at once, including the calling thread.
+     *
+     * @param threadCount The number of worker threads.
+     * @throws IllegalArgumentException If the number is not positive.
+     */
+    public void setThreadCount(int threadCount) {
+        if (threadCount <= 0)
+            throw new IllegalArgumentException("Thread count must be positive");
+        this.threadCount = threadCount;
+    }
+
+    /**
+     * Gets the number of worker threads used by runs.
+     *
+     * @return The number of worker threads.
+     */
+    public int getThreadCount() {
+        return threadCount;
+    }
+
+    /**
+     * Evaluates the validity of the sources and targets.
+     *
+     * @return True if every source and target is a node of the graph, false otherwise.
+     */
+    public boolean evaluate() {
+        message = null;
+        for (Node node : sources) {
+            if (index.indexOf(node) < 0)
+                message = "Sources must be present in the graph";
+        }
+        for (Node node : targets) {
+            if (index.indexOf(node) < 0)
+                message = "Targets must be present in the graph";
+        }
+        return message == null;
+    }
+
+    /**
+     * Computes the distance matrix.
+     *
+     * @throws IllegalStateException If a source or target is not valid (as determined by the {@code evaluate} method).
+     */
+    public void run() throws IllegalStateException {
+        if (!safe) {
+            throw new IllegalStateException(message);
+        }
+
+        int rows = sources.size();
+        int columns = targets.size();
+        int[] sourceIndices = new int[rows];
+        for (int i = 0; i < rows; i++) {
+            sourceIndices[i] = index.indexOf(sources.get(i));
+        }
+        int[] targetIndices = new int[columns];
+        boolean[] isTarget = new boolean[index.size()];
+        int distinctTargets = 0;
+        for (int j = 0; j < columns; j++) {
+            targetIndices[j] = index.indexOf(targets.get(j));
+            if (!isTarget[targetIndices[j]]) {
+                isTarget[targetIndices[j]] = true;
+                distinctTargets++;
+            }
+        }
+
+        distances = new int[rows][columns];
+        paths = computePaths ? new int[rows][columns][] : null;
+        if (rows == 0 || columns == 0)
+            return;
+
+        // Workers take the next row until none are left, each reusing its own context
+        AtomicInteger nextRow = new AtomicInteger();
+        int targetCount = distinctTargets;
+        Runnable worker = () -> {
+            QueryContext context = new QueryContext(index);
+            int row;
+            while ((row = nextRow.getAndIncrement()) < rows) {
+                context.search(sourceIndices[row], isTarget, targetCount);
+                for (int j = 0; j < columns; j++) {
+                    distances[row][j] = context.getDistance(targetIndices[j]);
+                    if (computePaths)
+                        paths[row][j] = context.path(targetIndices[j]);
+                }
+            }
+        };
+
+        int workers = Math.min(threadCount, rows);
+        if (workers == 1) {
+            worker.run();
+            return;
+        }
+
+        // The calling thread takes rows too, so the run progresses even while the pool is busy
+        List<Future<?>> futures = new ArrayList<>();
+        for (int i = 1; i < workers; i++) {
+            futures.add(ForkJoinPool.commonPool().submit(worker));
+        }
+        worker.run();
+        try {
+            for (Future<?> future : futures) {
+                future.get();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while computing the distance matrix", e);
+        } catch (ExecutionException e) {
+            throw new IllegalStateException("Distance matrix computation failed", e.getCause());
+        }
+    }
+
+    /**
+     * Returns the distance from a source to a target.
+     *
+     * @param source The position of the source in the list of sources.
+     * @param target The position of the target in the list of targets.
+     * @return The distance, or {@code Integer.MAX_VALUE} if the target cannot be reached.
+     */
+    public int getDistance(int source, int target) {
+        return distances[source][target];
+    }
+
+    /**
+     * Returns the whole distance matrix.
+     *
+     * @return A copy of the matrix, one row per source and one column per target.
+     */
+    public int[][] getDistances() {
+        int[][] copy = new int[distances.length][];
+        for (int i = 0; i < distances.length; i++) {
+            copy[i] = distances[i].clone();
+        }
+        return copy;
+    }
+
+    /**
+     * Returns the shortest path from a source to a target.
+     *
+     * @param source The position of the source in the list of sources.
+     * @param target The position of the target in the list of targets.
+     * @return A list of nodes representing the path, or an empty list if the target cannot be reached.
+     * @throws IllegalStateException If the instance was not constructed to compute paths.
+     */
+    public List<Node> getPath(int source, int target) {
+        if (paths == null)
+            throw new IllegalStateException("Paths were not computed");
+
+        List<Node> path = new ArrayList<>();
+        for (int node : paths[source][target]) {
+            path.add(index.getNode(node));
+        }
+        return path;
+    }
+}
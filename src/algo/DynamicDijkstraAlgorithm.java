@@ -0,0 +1,490 @@
+package algo;
+
+import models.AdjacencyIndex;
+import models.Edge;
+import models.Graph;
+import models.GraphListener;
+import models.Node;
+
+import java.util.*;
+
+/**
+ * The DynamicDijkstraAlgorithm class keeps the shortest path tree of the source of a graph up to
+ * date while the graph is edited, in the style of Ramalingam and Reps.
+ * <p>
+ * The first run computes the whole tree. Afterwards the instance listens to the graph and repairs
+ * the tree after every change, touching only the nodes whose distance can change:
+ * <ul>
+ *     <li>An edge that gets cheaper, or is added, can only improve the nodes reached through it.
+ *     A Dijkstra search seeded at its far end stops where distances no longer drop.</li>
+ *     <li>An edge of the tree that gets more expensive, or is removed, can only hurt the subtree
+ *     below it. Those nodes are reset, seeded with their best distance through a neighbor outside
+ *     of the subtree, and settled again. Changes to edges outside of the tree change nothing.</li>
+ *     <li>Deleting a node removes its edges and repairs the subtrees that hung below it.</li>
+ * </ul>
+ * Distances and tree edges are kept in arrays indexed by node identifier, which the graph keeps
+ * dense by handing the identifiers of deleted nodes to new ones, and repairs walk the incidence
+ * lists of the graph itself, so edits allocate nothing once the arrays are large enough.
+ * Replacing the nodes or edges of the graph, or choosing another source, makes the next run
+ * compute the tree from scratch. Edge weights must be positive, as {@code GraphPanel} enforces.
+ */
+public class DynamicDijkstraAlgorithm {
+
+    private boolean safe = false;
+    private String message = null;
+
+    private final Graph graph;
+    private final GraphListener listener = new Listener();
+
+    private boolean built;                              // Whether the tree reflects the graph
+    private Node source;                                // Source the tree was built for
+    private int[] distances = new int[0];               // Distance of the node with every identifier
+    private Edge[] predecessors = new Edge[0];          // Tree edge leading to every node, or null
+    private int[] affected = new int[0];                // Equal to stamp for the nodes reset by the current repair
+    private int stamp;
+    private int[] subtree = new int[16];                // Nodes reset by the current repair
+    private int subtreeCount;
+    private int[] stack = new int[16];                  // Pending nodes while collecting a subtree
+    private final IndexedPriorityQueue queue = new DaryHeap();
+    private int repairedCount;
+
+    /**
+     * A shortest path tree translated to the arrays of this class, ready to be adopted by
+     * {@link #seed(Seed)} in constant time. A seed can be adopted once.
+     */
+    public static final class Seed {
+        private final AdjacencyIndex index;
+        private final Node source;
+        private int[] distances;
+        private Edge[] predecessors;
+
+        private Seed(AdjacencyIndex index, Node source, int[] distances, Edge[] predecessors) {
+            this.index = index;
+            this.source = source;
+            this.distances = distances;
+            this.predecessors = predecessors;
+        }
+    }
+
+    /**
+     * Constructs a DynamicDijkstraAlgorithm instance and starts listening to the graph.
+     *
+     * @param graph The graph whose shortest path tree will be maintained.
+     */
+    public DynamicDijkstraAlgorithm(Graph graph) {
+        this.graph = graph;
+        graph.addGraphListener(listener);
+    }
+
+    /**
+     * Stops listening to the graph. The instance must not be used afterwards.
+     */
+    public void dispose() {
+        graph.removeGraphListener(listener);
+        built = false;
+    }
+
+    /**
+     * Evaluates the graph's validity for running the search.
+     *
+     * @return True if the graph is valid, false otherwise.
+     */
+    public boolean evaluate() {
+        message = GraphValidation.check(graph);
+        if (message == null && graph.getNode(graph.getSource().getId()) != graph.getSource())
+            message = "Source must have an identifier of its own";
+        return message == null;
+    }
+
+    /**
+     * Makes the tree available, computing it from scratch only if it cannot have been kept up to date.
+     *
+     * @throws IllegalStateException If the graph is not valid (as determined by the {@code evaluate} method).
+     */
+    public void run() throws IllegalStateException {
+        safe = evaluate();
+        if (!safe) {
+            throw new IllegalStateException(message);
+        }
+
+        if (!isUpToDate())
+            build();
+    }
+
+    /**
+     * Checks whether the tree is built for the current source and has been kept up to date,
+     * in which case running only validates the graph.
+     *
+     * @return True if the tree reflects the graph, false if the next run computes it from scratch.
+     */
+    public boolean isUpToDate() {
+        return built && source == graph.getSource();
+    }
+
+    /**
+     * Translates a shortest path tree computed elsewhere to the arrays of this class. This takes
+     * time linear in the size of the tree's index but reads nothing the graph changes, so it may
+     * run on the thread that computed the tree, leaving only {@link #seed(Seed)} to the thread
+     * that owns the graph.
+     *
+     * @param tree The tree to translate.
+     * @return The seed holding the tree.
+     */
+    public static Seed prepare(ShortestPathTree tree) {
+        AdjacencyIndex index = tree.getIndex();
+        int bound = 16;
+        for (int i = 0; i < index.size(); i++) {
+            bound = Math.max(bound, index.getNode(i).getId() + 1);
+        }
+        int[] distances = new int[bound];
+        Edge[] predecessors = new Edge[bound];
+        Arrays.fill(distances, Integer.MAX_VALUE);
+        for (int i = 0; i < index.size(); i++) {
+            int id = index.getNode(i).getId();
+            if (id <= 0)
+                continue;
+            distances[id] = tree.distance(i);
+            int predecessor = tree.predecessor(i);
+            for (int arc = index.firstArc(i); predecessor != ShortestPathTree.NO_PREDECESSOR
+                    && arc < index.endArc(i); arc++) {
+                if (index.target(arc) == predecessor) {
+                    predecessors[id] = index.getEdge(arc);
+                    break;
+                }
+            }
+        }
+        return new Seed(index, index.getNode(tree.getSource()), distances, predecessors);
+    }
+
+    /**
+     * Adopts a shortest path tree computed elsewhere, such as on a background thread, instead of
+     * computing one. The tree is translated on the calling thread; see {@link #prepare} to do
+     * that elsewhere.
+     *
+     * @param tree The tree to adopt.
+     * @return True if the tree was adopted, false if it does not match the graph.
+     */
+    public boolean seed(ShortestPathTree tree) {
+        return tree.getIndex() == graph.getAdjacencyIndex() && seed(prepare(tree));
+    }
+
+    /**
+     * Adopts a prepared tree in constant time. The tree is only taken if it was computed on the
+     * current adjacency index of the graph for its current source, so that it reflects the graph
+     * exactly; from then on it is repaired like a tree built by {@link #run()}.
+     *
+     * @param seed The prepared tree to adopt.
+     * @return True if the tree was adopted, false if it does not match the graph or was adopted before.
+     */
+    public boolean seed(Seed seed) {
+        if (seed.distances == null || seed.index != graph.getAdjacencyIndex() || seed.source != graph.getSource())
+            return false;
+
+        distances = seed.distances;
+        predecessors = seed.predecessors;
+        affected = new int[distances.length];
+        seed.distances = null;
+        seed.predecessors = null;
+        source = seed.source;
+        repairedCount = 0;
+        built = true;
+        return true;
+    }
+
+    private void build() {
+        source = graph.getSource();
+        ensureCapacity(graph.getIdBound());
+        Arrays.fill(distances, Integer.MAX_VALUE);
+        Arrays.fill(predecessors, null);
+        queue.reset(distances.length);
+        int sourceId = source.getId();
+        distances[sourceId] = 0;
+        queue.insertOrDecrease(sourceId, 0);
+        repairedCount = propagate();
+        built = true;
+    }
+
+    private void ensureCapacity(int capacity) {
+        if (distances.length < capacity) {
+            capacity = Math.max(capacity, Math.max(16, distances.length * 2));
+            int old = distances.length;
+            distances = Arrays.copyOf(distances, capacity);
+            predecessors = Arrays.copyOf(predecessors, capacity);
+            affected = Arrays.copyOf(affected, capacity);
+            Arrays.fill(distances, old, capacity, Integer.MAX_VALUE);
+        }
+    }
+
+    /**
+     * Gets the identifier of a node of the graph.
+     *
+     * @return The identifier, or -1 if the graph does not find the node by it.
+     */
+    private int idOf(Node node) {
+        int id = node.getId();
+        return id < distances.length && graph.getNode(id) == node ? id : -1;
+    }
+
+    private static Node other(Edge edge, Node node) {
+        return edge.getNodeOne() == node ? edge.getNodeTwo() : edge.getNodeOne();
+    }
+
+    /**
+     * Settles the nodes in the queue and everything they improve.
+     *
+     * @return The number of nodes settled.
+     */
+    private int propagate() {
+        int settled = 0;
+        while (!queue.isEmpty()) {
+            int node = queue.poll();
+            settled++;
+            Node current = graph.getNode(node);
+            int distance = distances[node];
+            for (int i = 0; i < current.getDegree(); i++) {
+                Edge edge = current.getIncidentEdge(i);
+                int adjacent = idOf(other(edge, current));
+                if (adjacent < 0)
+                    continue;
+                int new_dist = distance + edge.getWeight();
+                if (new_dist < distances[adjacent]) {
+                    distances[adjacent] = new_dist;
+                    predecessors[adjacent] = edge;
+                    queue.insertOrDecrease(adjacent, new_dist);
+                }
+            }
+        }
+        return settled;
+    }
+
+    /**
+     * Repairs the tree after an edge became cheaper or was added.
+     */
+    private void improve(Edge edge) {
+        int one = idOf(edge.getNodeOne());
+        int two = idOf(edge.getNodeTwo());
+        if (one < 0 || two < 0 || one == two)
+            return;
+        queue.reset(distances.length);
+        seed(one, two, edge);
+        seed(two, one, edge);
+        repairedCount = propagate();
+    }
+
+    private void seed(int from, int to, Edge edge) {
+        if (distances[from] == Integer.MAX_VALUE)
+            return;
+        int new_dist = distances[from] + edge.getWeight();
+        if (new_dist < distances[to]) {
+            distances[to] = new_dist;
+            predecessors[to] = edge;
+            queue.insertOrDecrease(to, new_dist);
+        }
+    }
+
+    /**
+     * Repairs the tree after an edge became more expensive or was removed.
+     * Edges that are not part of the tree change nothing.
+     */
+    private void worsen(Edge edge) {
+        stamp++;
+        subtreeCount = 0;
+        collectBelow(edge);
+        repairSubtrees();
+    }
+
+    /**
+     * Resets the subtree below an edge of the tree, if the edge is part of it.
+     */
+    private void collectBelow(Edge edge) {
+        collectIfChild(edge, edge.getNodeOne());
+        collectIfChild(edge, edge.getNodeTwo());
+    }
+
+    private void collectIfChild(Edge edge, Node end) {
+        // The end may just have been deleted, so it is found by its identifier alone
+        int root = end.getId();
+        if (root > 0 && root < distances.length && predecessors[root] == edge && affected[root] != stamp)
+            collectSubtree(root);
+    }
+
+    /**
+     * Settles the reset nodes again, every one starting from its best neighbor outside of the
+     * reset subtrees.
+     */
+    private void repairSubtrees() {
+        queue.reset(distances.length);
+        for (int i = 0; i < subtreeCount; i++) {
+            int node = subtree[i];
+            Node current = graph.getNode(node);
+            for (int k = 0; current != null && k < current.getDegree(); k++) {
+                Edge edge = current.getIncidentEdge(k);
+                int adjacent = idOf(other(edge, current));
+                if (adjacent < 0 || affected[adjacent] == stamp || distances[adjacent] == Integer.MAX_VALUE)
+                    continue;
+                int new_dist = distances[adjacent] + edge.getWeight();
+                if (new_dist < distances[node]) {
+                    distances[node] = new_dist;
+                    predecessors[node] = edge;
+                }
+            }
+            if (distances[node] != Integer.MAX_VALUE)
+                queue.insertOrDecrease(node, distances[node]);
+        }
+        repairedCount = propagate();
+    }
+
+    /**
+     * Marks and resets a node and every node whose tree path goes through it.
+     */
+    private void collectSubtree(int root) {
+        int stackSize = 0;
+        affected[root] = stamp;
+        stack[stackSize++] = root;
+        while (stackSize > 0) {
+            int node = stack[--stackSize];
+            if (subtreeCount == subtree.length)
+                subtree = Arrays.copyOf(subtree, subtreeCount * 2);
+            subtree[subtreeCount++] = node;
+            Node current = graph.getNode(node);
+            for (int i = 0; current != null && i < current.getDegree(); i++) {
+                Edge edge = current.getIncidentEdge(i);
+                int child = idOf(other(edge, current));
+                if (child >= 0 && predecessors[child] == edge && affected[child] != stamp) {
+                    affected[child] = stamp;
+                    if (stackSize == stack.length)
+                        stack = Arrays.copyOf(stack, stackSize * 2);
+                    stack[stackSize++] = child;
+                }
+            }
+            distances[node] = Integer.MAX_VALUE;
+            predecessors[node] = null;
+        }
+    }
+
+    /**
+     * Keeps the tree in sync with the graph.
+     */
+    private class Listener implements GraphListener {
+
+        @Override
+        public void nodeAdded(Node node) {
+            if (!built)
+                return;
+            // The identifier may be one of a deleted node, whose entries were reset when it was deleted
+            ensureCapacity(node.getId() + 1);
+            distances[node.getId()] = Integer.MAX_VALUE;
+            predecessors[node.getId()] = null;
+        }
+
+        @Override
+        public void nodeDeleted(Node node, List<Edge> edges) {
+            int id = node.getId();
+            if (!built || id <= 0 || id >= distances.length)
+                return;
+            if (node == source) {
+                built = false;
+                return;
+            }
+
+            // The graph already detached the edges, so the repair cannot route through the node
+            stamp++;
+            subtreeCount = 0;
+            for (Edge edge : edges) {
+                collectBelow(edge);
+            }
+            repairSubtrees();
+            distances[id] = Integer.MAX_VALUE;
+            predecessors[id] = null;
+        }
+
+        @Override
+        public void edgeAdded(Edge edge) {
+            if (built)
+                improve(edge);
+        }
+
+        @Override
+        public void edgeRemoved(Edge edge) {
+            if (built)
+                worsen(edge);
+        }
+
+        @Override
+        public void edgeWeightChanged(Edge edge, int oldWeight) {
+            if (!built)
+                return;
+            if (edge.getWeight() < oldWeight)
+                improve(edge);
+            else
+                worsen(edge);
+        }
+
+        @Override
+        public void graphReplaced() {
+            built = false;
+        }
+    }
+
+    /**
+     * Returns the number of nodes settled by the last computation or repair.
+     *
+     * @return The number of settled nodes.
+     */
+    public int getRepairedCount() {
+        return repairedCount;
+    }
+
+    /**
+     * Returns the distance of a node from the source.
+     *
+     * @param node The node.
+     * @return The distance, {@code Integer.MAX_VALUE} if the node is unreachable, or {@code null}
+     *         if the node is not part of the graph.
+     */
+    public Integer getDistance(Node node) {
+        int id = idOf(node);
+        return id < 0 ? null : distances[id];
+    }
+
+    /**
+     * Returns the shortest path from the source to a node.
+     *
+     * @param node The node.
+     * @return A list of nodes representing the path, or an empty list if the node is unreachable.
+     */
+    public List<Node> getPath(Node node) {
+        List<Node> path = new ArrayList<>();
+        int id = idOf(node);
+        if (id < 0 || distances[id] == Integer.MAX_VALUE)
+            return path;
+
+        Node current = node;
+        path.add(current);
+        while (predecessors[id] != null) {
+            current = other(predecessors[id], current);
+            id = current.getId();
+            path.add(current);
+        }
+        Collections.reverse(path);
+        return path;
+    }
+
+    /**
+     * Returns the shortest distance from the source to the destination.
+     *
+     * @return The distance, or {@code Integer.MAX_VALUE} if the destination cannot be reached.
+     */
+    public Integer getDestinationDistance() {
+        return getDistance(graph.getDestination());
+    }
+
+    /**
+     * Returns the shortest path from the source to the destination.
+     *
+     * @return A list of nodes representing the path, or an empty list if the destination cannot be reached.
+     */
+    public List<Node> getDestinationPath() {
+        return getPath(graph.getDestination());
+    }
+}
@@ -0,0 +1,637 @@
+package algo;
+
+import models.AdjacencyIndex;
+import models.Edge;
+import models.Graph;
+import models.Node;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * The GraphReduction class shrinks a graph to its core before searching it, without the heavy
+ * preprocessing of a {@link ContractionHierarchy}. Two reductions preserve every shortest path:
+ * <ul>
+ *     <li>Dangling trees are pruned. A node of degree 1 can only be the end of a path, so it is
+ *     removed and remembered with its parent and its distance to the core node it hangs from
+ *     (its anchor), repeatedly, until no node of degree 1 remains.</li>
+ *     <li>Chains of degree 2 nodes are collapsed. A chain between two junctions (nodes of any other
+ *     degree) becomes a single super-edge weighing as much as the whole chain, and every node
+ *     inside it remembers its chain and its distance from the chain's start.</li>
+ * </ul>
+ * A query maps both ends to junctions, searches the junction graph with Dijkstra, and expands
+ * the super-edges and tree paths back into the full path. Two nodes hanging from the same anchor
+ * are joined inside their tree, and two nodes of the same chain may also be joined along it.
+ * <p>
+ * The reduction refers to the {@link AdjacencyIndex} the graph had during preprocessing and must
+ * be rebuilt after the graph changes. Queries reuse scratch arrays, so an instance is not
+ * thread-safe.
+ */
+public class GraphReduction {
+
+    private static final int NONE = -1;
+
+    private final AdjacencyIndex index;
+
+    // Pruned trees: every node hangs from an anchor, itself for core nodes
+    private final int[] parents;        // Next node towards the anchor, or NONE for core nodes
+    private final int[] anchors;
+    private final int[] anchorDistances;
+    private final int[] depths;         // Number of edges to the anchor
+
+    // Chains: interior nodes of degree 2 between two junctions
+    private final int[] chainOf;        // Chain of every interior node, or NONE
+    private final int[] chainPositions; // Distance of every interior node from the start of its chain
+    private final int[] chainStarts;    // Junction at the start of every chain
+    private final int[] chainEnds;      // Junction at the end of every chain, equal to the start for loops
+    private final int[] chainLengths;   // Total weight of every chain
+    private final int[] chainOffsets;   // Interior nodes of chain c are [chainOffsets[c], chainOffsets[c + 1])
+    private final int[] chainMembers;   // Interior nodes of every chain, from its start to its end
+    private final int[] memberPositions;    // Position of every interior node within chainMembers
+
+    // Junction graph in CSR form
+    private final int[] coreIds;        // Junction id of every node, or NONE
+    private final int[] coreNodes;      // Dense index of every junction
+    private final int[] coreOffsets;
+    private final int[] coreSources;
+    private final int[] coreTargets;
+    private final int[] coreWeights;
+    private final int[] coreVia;        // Chain collapsed into every arc, or NONE for an original edge
+
+    // Query scratch, stamped with the current query
+    private final int[] coreDistances;
+    private final int[] corePredecessors;   // Arc leading to every junction, or NONE for a seed
+    private final int[] seedSides;          // Side of the start node's chain every seed was entered from
+    private final int[] labelled;
+    private int stamp;
+    private final IndexedPriorityQueue queue;
+
+    /**
+     * Prunes the dangling trees of a graph, collapses its chains and builds the junction graph.
+     *
+     * @param graph The graph to preprocess.
+     */
+    public GraphReduction(Graph graph) {
+        index = graph.getAdjacencyIndex();
+        int size = index.size();
+
+        parents = new int[size];
+        anchors = new int[size];
+        anchorDistances = new int[size];
+        depths = new int[size];
+        int[] degrees = new int[size];
+        int[] pruneOrder = new int[size];
+        prune(degrees, pruneOrder);
+
+        chainOf = new int[size];
+        chainPositions = new int[size];
+        memberPositions = new int[size];
+        coreIds = new int[size];
+        Arrays.fill(chainOf, NONE);
+        Arrays.fill(coreIds, NONE);
+
+        // Junctions are the core nodes not of degree 2
+        int junctions = 0;
+        for (int node = 0; node < size; node++) {
+            if (parents[node] == NONE && degrees[node] != 2)
+                coreIds[node] = junctions++;
+        }
+
+        Builder builder = new Builder();
+        for (int node = 0; node < size; node++) {
+            if (coreIds[node] != NONE)
+                walkChains(node, builder);
+        }
+        // Whatever is left lies on cycles without junctions, so one node of each becomes one
+        for (int node = 0; node < size; node++) {
+            if (parents[node] == NONE && coreIds[node] == NONE && chainOf[node] == NONE) {
+                coreIds[node] = junctions++;
+                walkChains(node, builder);
+            }
+        }
+
+        coreNodes = new int[junctions];
+        for (int node = 0; node < size; node++) {
+            if (coreIds[node] != NONE)
+                coreNodes[coreIds[node]] = node;
+        }
+
+        int chains = builder.chainCount;
+        chainStarts = Arrays.copyOf(builder.chainStarts, chains);
+        chainEnds = Arrays.copyOf(builder.chainEnds, chains);
+        chainLengths = Arrays.copyOf(builder.chainLengths, chains);
+        chainOffsets = Arrays.copyOf(builder.chainOffsets, chains + 1);
+        chainMembers = Arrays.copyOf(builder.members, builder.memberCount);
+
+        // Scatter the collected arcs into CSR form
+        coreOffsets = new int[junctions + 1];
+        for (int arc = 0; arc < builder.arcCount; arc++) {
+            coreOffsets[builder.arcFrom[arc] + 1]++;
+        }
+        for (int i = 0; i < junctions; i++) {
+            coreOffsets[i + 1] += coreOffsets[i];
+        }
+        coreSources = new int[builder.arcCount];
+        coreTargets = new int[builder.arcCount];
+        coreWeights = new int[builder.arcCount];
+        coreVia = new int[builder.arcCount];
+        int[] cursor = Arrays.copyOf(coreOffsets, junctions);
+        // Seeds inside a chain start at most a chain length away, loops included
+        int maxWeight = 0;
+        for (int chain = 0; chain < chains; chain++) {
+            maxWeight = Math.max(maxWeight, chainLengths[chain]);
+        }
+        for (int arc = 0; arc < builder.arcCount; arc++) {
+            int slot = cursor[builder.arcFrom[arc]]++;
+            coreSources[slot] = builder.arcFrom[arc];
+            coreTargets[slot] = builder.arcTo[arc];
+            coreWeights[slot] = builder.arcWeights[arc];
+            coreVia[slot] = builder.arcVia[arc];
+            maxWeight = Math.max(maxWeight, builder.arcWeights[arc]);
+        }
+
+        coreDistances = new int[junctions];
+        corePredecessors = new int[junctions];
+        seedSides = new int[junctions];
+        labelled = new int[junctions];
+        queue = IndexedPriorityQueue.forMaxWeight(maxWeight);
+        queue.reset(junctions);
+    }
+
+    /**
+     * Removes nodes of degree 1 until none remain, recording the tree every removed node hangs in.
+     */
+    private void prune(int[] degrees, int[] pruneOrder) {
+        int size = index.size();
+        int[] stack = new int[size];
+        int top = 0;
+        boolean[] removed = new boolean[size];
+        for (int node = 0; node < size; node++) {
+            parents[node] = NONE;
+            degrees[node] = index.degree(node);
+            if (degrees[node] == 1)
+                stack[top++] = node;
+        }
+
+        int pruned = 0;
+        while (top > 0) {
+            int node = stack[--top];
+            // The last node of a tree component loses its only neighbor and stays in the core
+            if (removed[node] || degrees[node] != 1)
+                continue;
+
+            for (int arc = index.firstArc(node); arc < index.endArc(node); arc++) {
+                int adjacent = index.target(arc);
+                if (removed[adjacent])
+                    continue;
+                removed[node] = true;
+                parents[node] = adjacent;
+                anchorDistances[node] = index.weight(arc);
+                pruneOrder[pruned++] = node;
+                degrees[node] = 0;
+                if (--degrees[adjacent] == 1)
+                    stack[top++] = adjacent;
+                break;
+            }
+        }
+
+        // Parents are pruned after their children, so walking back resolves them first
+        for (int node = 0; node < size; node++) {
+            anchors[node] = node;
+        }
+        for (int i = pruned - 1; i >= 0; i--) {
+            int node = pruneOrder[i];
+            int parent = parents[node];
+            anchors[node] = anchors[parent];
+            anchorDistances[node] += anchorDistances[parent];
+            depths[node] = depths[parent] + 1;
+        }
+    }
+
+    /**
+     * Follows every core arc of a junction, adding original edges between junctions as they are,
+     * and turning chains that were not walked from their other end into super-edges.
+     */
+    private void walkChains(int junction, Builder builder) {
+        for (int arc = index.firstArc(junction); arc < index.endArc(junction); arc++) {
+            int adjacent = index.target(arc);
+            if (parents[adjacent] != NONE)
+                continue;
+            if (coreIds[adjacent] != NONE) {
+                builder.addArc(coreIds[junction], coreIds[adjacent], index.weight(arc), NONE);
+                continue;
+            }
+            if (chainOf[adjacent] != NONE)
+                continue;
+
+            int chain = builder.chainCount;
+            builder.startChain(junction);
+            Edge incoming = index.getEdge(arc);
+            int length = index.weight(arc);
+            int current = adjacent;
+            while (coreIds[current] == NONE) {
+                chainOf[current] = chain;
+                chainPositions[current] = length;
+                memberPositions[current] = builder.memberCount;
+                builder.addMember(current);
+
+                // Leave through the other core arc; comparing edges keeps parallel edges apart
+                for (int next = index.firstArc(current); next < index.endArc(current); next++) {
+                    if (parents[index.target(next)] == NONE && index.getEdge(next) != incoming) {
+                        incoming = index.getEdge(next);
+                        length += index.weight(next);
+                        current = index.target(next);
+                        break;
+                    }
+                }
+            }
+            builder.endChain(current, length);
+            if (current != junction) {
+                builder.addArc(coreIds[junction], coreIds[current], length, chain);
+                builder.addArc(coreIds[current], coreIds[junction], length, chain);
+            }
+        }
+    }
+
+    /**
+     * Growable arrays collecting chains and junction arcs during preprocessing.
+     */
+    private static class Builder {
+        int[] chainStarts = new int[16];
+        int[] chainEnds = new int[16];
+        int[] chainLengths = new int[16];
+        int[] chainOffsets = new int[17];
+        int chainCount;
+        int[] members = new int[16];
+        int memberCount;
+        int[] arcFrom = new int[16];
+        int[] arcTo = new int[16];
+        int[] arcWeights = new int[16];
+        int[] arcVia = new int[16];
+        int arcCount;
+
+        void startChain(int start) {
+            if (chainCount == chainStarts.length) {
+                chainStarts = Arrays.copyOf(chainStarts, chainCount * 2);
+                chainEnds = Arrays.copyOf(chainEnds, chainCount * 2);
+                chainLengths = Arrays.copyOf(chainLengths, chainCount * 2);
+                chainOffsets = Arrays.copyOf(chainOffsets, chainCount * 2 + 1);
+            }
+            chainStarts[chainCount] = start;
+            chainOffsets[chainCount] = memberCount;
+        }
+
+        void addMember(int node) {
+            if (memberCount == members.length)
+                members = Arrays.copyOf(members, memberCount * 2);
+            members[memberCount++] = node;
+        }
+
+        void endChain(int end, int length) {
+            chainEnds[chainCount] = end;
+            chainLengths[chainCount] = length;
+            chainCount++;
+            chainOffsets[chainCount] = memberCount;
+        }
+
+        void addArc(int from, int to, int weight, int via) {
+            if (arcCount == arcFrom.length) {
+                arcFrom = Arrays.copyOf(arcFrom, arcCount * 2);
+                arcTo = Arrays.copyOf(arcTo, arcCount * 2);
+                arcWeights = Arrays.copyOf(arcWeights, arcCount * 2);
+                arcVia = Arrays.copyOf(arcVia, arcCount * 2);
+            }
+            arcFrom[arcCount] = from;
+            arcTo[arcCount] = to;
+            arcWeights[arcCount] = weight;
+            arcVia[arcCount] = via;
+            arcCount++;
+        }
+    }
+
+    /**
+     * Gets the adjacency index the reduction was built on.
+     *
+     * @return The adjacency index used during preprocessing.
+     */
+    public AdjacencyIndex getIndex() {
+        return index;
+    }
+
+    /**
+     * Gets the number of junctions, the nodes left in the graph that queries search.
+     *
+     * @return The number of junctions.
+     */
+    public int getCoreNodeCount() {
+        return coreNodes.length;
+    }
+
+    /**
+     * Gets the number of arcs between junctions, counting both directions of every edge.
+     *
+     * @return The number of junction arcs.
+     */
+    public int getCoreArcCount() {
+        return coreTargets.length;
+    }
+
+    /**
+     * Gets the shortest distance between two nodes.
+     *
+     * @param source The dense index of the source node.
+     * @param target The dense index of the target node.
+     * @return The distance, or {@code Integer.MAX_VALUE} if the nodes are not connected.
+     */
+    public int distance(int source, int target) {
+        return (int) Math.min(Integer.MAX_VALUE, query(source, target, null));
+    }
+
+    /**
+     * Gets the shortest distance between two nodes.
+     *
+     * @param source The source node.
+     * @param target The target node.
+     * @return The distance, or {@code Integer.MAX_VALUE} if the nodes are not connected.
+     * @throws IllegalArgumentException If a node was not part of the graph during preprocessing.
+     */
+    public int getDistance(Node source, Node target) {
+        return distance(indexOf(source), indexOf(target));
+    }
+
+    /**
+     * Builds the shortest path of dense indices between two nodes.
+     *
+     * @param source The dense index of the source node.
+     * @param target The dense index of the target node.
+     * @return The path, or an empty array if the nodes are not connected.
+     */
+    public int[] path(int source, int target) {
+        IntList path = new IntList();
+        query(source, target, path);
+        return Arrays.copyOf(path.items, path.size);
+    }
+
+    /**
+     * Gets the shortest path between two nodes.
+     *
+     * @param source The source node.
+     * @param target The target node.
+     * @return A list of nodes representing the path, or an empty list if the nodes are not connected.
+     * @throws IllegalArgumentException If a node was not part of the graph during preprocessing.
+     */
+    public List<Node> getPath(Node source, Node target) {
+        int[] path = path(indexOf(source), indexOf(target));
+        List<Node> nodes = new ArrayList<>(path.length);
+        for (int node : path) {
+            nodes.add(index.getNode(node));
+        }
+        return nodes;
+    }
+
+    private int indexOf(Node node) {
+        int i = index.indexOf(node);
+        if (i < 0)
+            throw new IllegalArgumentException("Node must be present in the graph");
+        return i;
+    }
+
+    /**
+     * Answers a query, writing the path into the given list unless it is null.
+     *
+     * @return The distance, or {@code Long.MAX_VALUE} if the nodes are not connected.
+     */
+    private long query(int source, int target, IntList path) {
+        int sourceAnchor = anchors[source];
+        int targetAnchor = anchors[target];
+        if (sourceAnchor == targetAnchor)
+            return treeQuery(source, target, path);
+
+        long offset = (long) anchorDistances[source] + anchorDistances[target];
+        long best = Long.MAX_VALUE;
+        int chain = chainOf[sourceAnchor];
+        if (chain != NONE && chain == chainOf[targetAnchor])
+            best = offset + Math.abs(chainPositions[sourceAnchor] - chainPositions[targetAnchor]);
+
+        // Search the junction graph from the junctions around the source towards those around the target
+        stamp++;
+        queue.reset(coreNodes.length);
+        if (coreIds[sourceAnchor] != NONE) {
+            seed(coreIds[sourceAnchor], 0, 0);
+        } else {
+            int sourceChain = chainOf[sourceAnchor];
+            seed(coreIds[chainStarts[sourceChain]], chainPositions[sourceAnchor], 0);
+            seed(coreIds[chainEnds[sourceChain]], chainLengths[sourceChain] - chainPositions[sourceAnchor], 1);
+        }
+        int exitOne;
+        int exitTwo;
+        long exitOneCost;
+        long exitTwoCost;
+        if (coreIds[targetAnchor] != NONE) {
+            exitOne = exitTwo = coreIds[targetAnchor];
+            exitOneCost = exitTwoCost = 0;
+        } else {
+            int targetChain = chainOf[targetAnchor];
+            exitOne = coreIds[chainStarts[targetChain]];
+            exitTwo = coreIds[chainEnds[targetChain]];
+            exitOneCost = chainPositions[targetAnchor];
+            exitTwoCost = chainLengths[targetChain] - chainPositions[targetAnchor];
+        }
+
+        boolean oneSettled = false;
+        boolean twoSettled = false;
+        while (!queue.isEmpty() && !(oneSettled && twoSettled)) {
+            int node = queue.poll();
+            oneSettled |= node == exitOne;
+            twoSettled |= node == exitTwo;
+            int distance = coreDistances[node];
+            for (int arc = coreOffsets[node]; arc < coreOffsets[node + 1]; arc++) {
+                int adjacent = coreTargets[arc];
+                int new_dist = distance + coreWeights[arc];
+                if (labelled[adjacent] != stamp || new_dist < coreDistances[adjacent]) {
+                    labelled[adjacent] = stamp;
+                    coreDistances[adjacent] = new_dist;
+                    corePredecessors[adjacent] = arc;
+                    queue.insertOrDecrease(adjacent, new_dist);
+                }
+            }
+        }
+
+        long viaOne = labelled[exitOne] == stamp ? offset + coreDistances[exitOne] + exitOneCost : Long.MAX_VALUE;
+        long viaTwo = labelled[exitTwo] == stamp ? offset + coreDistances[exitTwo] + exitTwoCost : Long.MAX_VALUE;
+        long viaCore = Math.min(viaOne, viaTwo);
+        if (path == null || Math.min(best, viaCore) == Long.MAX_VALUE)
+            return Math.min(best, viaCore);
+
+        if (best <= viaCore) {
+            // Along the shared chain, between the two anchors
+            appendToAnchor(source, path);
+            int from = memberPositions[sourceAnchor];
+            int to = memberPositions[targetAnchor];
+            int step = from < to ? 1 : -1;
+            for (int i = from + step; i != to + step; i += step) {
+                path.add(chainMembers[i]);
+            }
+            appendFromAnchor(target, path);
+            return best;
+        }
+
+        int exitSide = viaOne <= viaTwo ? 0 : 1;
+        int exit = exitSide == 0 ? exitOne : exitTwo;
+        appendToAnchor(source, path);
+        IntList core = new IntList();
+        int seed = coreWalkBack(exit, core);
+        if (coreIds[sourceAnchor] == NONE)
+            appendAlongChain(sourceAnchor, seedSides[seed], path);
+        for (int i = core.size - 1; i >= 0; i--) {
+            expandArc(core.items[i], path);
+        }
+        if (coreIds[targetAnchor] == NONE) {
+            IntList tail = new IntList();
+            appendAlongChain(targetAnchor, exitSide, tail);
+            for (int i = tail.size - 2; i >= 0; i--) {
+                path.add(tail.items[i]);
+            }
+            path.add(targetAnchor);
+        }
+        appendFromAnchor(target, path);
+        return viaCore;
+    }
+
+    private void seed(int junction, int distance, int side) {
+        if (labelled[junction] == stamp && coreDistances[junction] <= distance)
+            return;
+        labelled[junction] = stamp;
+        coreDistances[junction] = distance;
+        corePredecessors[junction] = NONE;
+        seedSides[junction] = side;
+        queue.insertOrDecrease(junction, distance);
+    }
+
+    /**
+     * Collects the arcs leading from a seed to a junction, last arc first.
+     *
+     * @return The seed the walk ended at.
+     */
+    private int coreWalkBack(int junction, IntList arcs) {
+        while (corePredecessors[junction] != NONE) {
+            int arc = corePredecessors[junction];
+            arcs.add(arc);
+            junction = coreSources[arc];
+        }
+        return junction;
+    }
+
+    /**
+     * Appends the nodes an arc of the junction graph stands for, excluding its source junction.
+     */
+    private void expandArc(int arc, IntList path) {
+        int chain = coreVia[arc];
+        if (chain != NONE) {
+            boolean forward = coreNodes[coreSources[arc]] == chainStarts[chain];
+            int first = chainOffsets[chain];
+            int last = chainOffsets[chain + 1] - 1;
+            if (forward) {
+                for (int i = first; i <= last; i++)
+                    path.add(chainMembers[i]);
+            } else {
+                for (int i = last; i >= first; i--)
+                    path.add(chainMembers[i]);
+            }
+        }
+        path.add(coreNodes[coreTargets[arc]]);
+    }
+
+    /**
+     * Appends the nodes from an interior node of a chain to one of its ends, excluding the
+     * interior node itself. Side 0 leads to the start of the chain, side 1 to its end.
+     */
+    private void appendAlongChain(int node, int side, IntList path) {
+        int chain = chainOf[node];
+        int position = memberPositions[node];
+        if (side == 0) {
+            for (int i = position - 1; i >= chainOffsets[chain]; i--)
+                path.add(chainMembers[i]);
+            path.add(chainStarts[chain]);
+        } else {
+            for (int i = position + 1; i < chainOffsets[chain + 1]; i++)
+                path.add(chainMembers[i]);
+            path.add(chainEnds[chain]);
+        }
+    }
+
+    /**
+     * Appends the tree path from a node up to its anchor, both included.
+     */
+    private void appendToAnchor(int node, IntList path) {
+        for (int current = node; current != NONE; current = parents[current]) {
+            path.add(current);
+        }
+    }
+
+    /**
+     * Appends the tree path from the anchor of a node down to it, excluding the anchor.
+     */
+    private void appendFromAnchor(int node, IntList path) {
+        int start = path.size;
+        for (int current = node; parents[current] != NONE; current = parents[current]) {
+            path.add(current);
+        }
+        path.reverse(start);
+    }
+
+    /**
+     * Joins two nodes hanging from the same anchor through their lowest common ancestor.
+     */
+    private long treeQuery(int source, int target, IntList path) {
+        int one = source;
+        int two = target;
+        while (depths[one] > depths[two]) {
+            one = parents[one];
+        }
+        while (depths[two] > depths[one]) {
+            two = parents[two];
+        }
+        while (one != two) {
+            one = parents[one];
+            two = parents[two];
+        }
+        int ancestor = one;
+
+        if (path != null) {
+            for (int current = source; current != ancestor; current = parents[current]) {
+                path.add(current);
+            }
+            path.add(ancestor);
+            int start = path.size;
+            for (int current = target; current != ancestor; current = parents[current]) {
+                path.add(current);
+            }
+            path.reverse(start);
+        }
+        return (long) anchorDistances[source] + anchorDistances[target] - 2L * anchorDistances[ancestor];
+    }
+
+    /**
+     * A growable list of ints.
+     */
+    private static class IntList {
+        int[] items = new int[16];
+        int size;
+
+        void add(int item) {
+            if (size == items.length)
+                items = Arrays.copyOf(items, size * 2);
+            items[size++] = item;
+        }
+
+        void reverse(int from) {
+            for (int i = from, j = size - 1; i < j; i++, j--) {
+                int swap = items[i];
+                items[i] = items[j];
+                items[j] = swap;
+            }
+        }
+    }
+}
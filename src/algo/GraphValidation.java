@@ -0,0 +1,31 @@
+package algo;
+
+import models.Graph;
+
+/**
+ * Validity checks shared by the shortest path algorithms before they run on a graph.
+ */
+final class GraphValidation {
+
+    private GraphValidation() {}
+
+    /**
+     * Checks whether a graph can be searched from its source to its destination.
+     *
+     * @param graph The graph to check.
+     * @return A message describing the problem, or {@code null} if the graph is valid.
+     */
+    static String check(Graph graph) {
+        if (graph.getSource() == null)
+            return "Source must be present in the graph";
+
+        if (graph.getDestination() == null)
+            return "Destination must be present in the graph";
+
+        // Both checks are answered by the graph's union-find in near-constant time
+        if (!graph.isConnected() || !graph.isNodeReachable(graph.getDestination()))
+            return "Graph contains unreachable nodes";
+
+        return null;
+    }
+}
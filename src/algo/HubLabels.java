@@ -0,0 +1,303 @@
+package algo;
+
+import models.AdjacencyIndex;
+import models.Graph;
+import models.Node;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.stream.IntStream;
+
+/**
+ * The HubLabels class is a distance oracle built by pruned landmark labeling (Akiba, Iwata and
+ * Yoshida). Every node gets a label: a list of hubs with its distance to each of them, chosen so
+ * that every pair of nodes shares a hub on one of its shortest paths (a 2-hop cover). A distance
+ * query then needs no search at all, only a merge of two short sorted lists.
+ * <p>
+ * Hubs are processed in order of decreasing degree. A pruned Dijkstra search from each hub labels
+ * the nodes it reaches, but stops at any node whose distance is already answered by the labels
+ * built so far, which keeps labels short on graphs with well connected hubs.
+ * <p>
+ * Labels are stored in CSR form in parallel primitive arrays, sorted by hub rank. Every entry
+ * also keeps the next node on the way back to its hub, so paths can be rebuilt. Queries only read
+ * the arrays, so any number of threads may run them at once. The labels refer
+ * to the {@link AdjacencyIndex} the graph had during preprocessing and must be rebuilt after the
+ * graph changes.
+ */
+public class HubLabels {
+
+    private static final int NO_PARENT = -1;
+    private static final long NO_ENTRIES = -1;
+
+    private final AdjacencyIndex index;
+    private final int[] labelOffsets;   // Label of node u is [labelOffsets[u], labelOffsets[u + 1])
+    private final int[] labelHubs;      // Rank of the hub of every entry, increasing within a label
+    private final int[] labelDistances; // Distance between the node and the hub of every entry
+    private final int[] labelParents;   // Next node towards the hub of every entry, or NO_PARENT at the hub
+
+    /**
+     * The label of a node during preprocessing, stored in growable parallel arrays.
+     * Hubs are appended in rank order, so a label is always sorted.
+     */
+    private static class Label {
+        int[] hubs = new int[4];
+        int[] distances = new int[4];
+        int[] parents = new int[4];
+        int size;
+
+        void add(int hub, int distance, int parent) {
+            if (size == hubs.length) {
+                hubs = Arrays.copyOf(hubs, size * 2);
+                distances = Arrays.copyOf(distances, size * 2);
+                parents = Arrays.copyOf(parents, size * 2);
+            }
+            hubs[size] = hub;
+            distances[size] = distance;
+            parents[size] = parent;
+            size++;
+        }
+    }
+
+    /**
+     * Computes the labels of every node of a graph.
+     *
+     * @param graph The graph to preprocess.
+     */
+    public HubLabels(Graph graph) {
+        index = graph.getAdjacencyIndex();
+        int size = index.size();
+
+        // Well connected nodes cover the most shortest paths, so they become hubs first
+        int[] order = IntStream.range(0, size).boxed()
+                .sorted(Comparator.comparingInt((Integer node) -> -index.degree(node)).thenComparingInt(node -> node))
+                .mapToInt(Integer::intValue).toArray();
+
+        Label[] labels = new Label[size];
+        for (int i = 0; i < size; i++) {
+            labels[i] = new Label();
+        }
+
+        int[] distances = new int[size];
+        int[] parents = new int[size];
+        Arrays.fill(distances, Integer.MAX_VALUE);
+        int[] touched = new int[size];
+        int[] hubDistances = new int[size];    // Distance from the current hub to every earlier hub, by rank
+        Arrays.fill(hubDistances, Integer.MAX_VALUE);
+        IndexedPriorityQueue queue = IndexedPriorityQueue.forMaxWeight(index.getMaxWeight());
+
+        for (int rank = 0; rank < size; rank++) {
+            int hub = order[rank];
+            Label own = labels[hub];
+            for (int i = 0; i < own.size; i++) {
+                hubDistances[own.hubs[i]] = own.distances[i];
+            }
+
+            queue.reset(size);
+            int touchedCount = 0;
+            distances[hub] = 0;
+            parents[hub] = NO_PARENT;
+            touched[touchedCount++] = hub;
+            queue.insertOrDecrease(hub, 0);
+
+            while (!queue.isEmpty()) {
+                int node = queue.poll();
+                int distance = distances[node];
+                if (covered(labels[node], hubDistances, distance))
+                    continue;
+
+                labels[node].add(rank, distance, parents[node]);
+                for (int arc = index.firstArc(node); arc < index.endArc(node); arc++) {
+                    int adjacent = index.target(arc);
+                    int new_dist = distance + index.weight(arc);
+                    if (new_dist < distances[adjacent]) {
+                        if (distances[adjacent] == Integer.MAX_VALUE)
+                            touched[touchedCount++] = adjacent;
+                        distances[adjacent] = new_dist;
+                        parents[adjacent] = node;
+                        queue.insertOrDecrease(adjacent, new_dist);
+                    }
+                }
+            }
+
+            for (int i = 0; i < touchedCount; i++) {
+                distances[touched[i]] = Integer.MAX_VALUE;
+            }
+            for (int i = 0; i < own.size; i++) {
+                hubDistances[own.hubs[i]] = Integer.MAX_VALUE;
+            }
+        }
+
+        labelOffsets = new int[size + 1];
+        for (int i = 0; i < size; i++) {
+            labelOffsets[i + 1] = labelOffsets[i] + labels[i].size;
+        }
+        int total = labelOffsets[size];
+        labelHubs = new int[total];
+        labelDistances = new int[total];
+        labelParents = new int[total];
+        for (int i = 0; i < size; i++) {
+            Label label = labels[i];
+            System.arraycopy(label.hubs, 0, labelHubs, labelOffsets[i], label.size);
+            System.arraycopy(label.distances, 0, labelDistances, labelOffsets[i], label.size);
+            System.arraycopy(label.parents, 0, labelParents, labelOffsets[i], label.size);
+        }
+    }
+
+    /**
+     * Checks whether the labels built so far already give a distance no longer than the given one.
+     */
+    private static boolean covered(Label label, int[] hubDistances, int distance) {
+        for (int i = 0; i < label.size; i++) {
+            int other = hubDistances[label.hubs[i]];
+            if (other != Integer.MAX_VALUE && (long) other + label.distances[i] <= distance)
+                return true;
+        }
+        return false;
+    }
+
+    /**
+     * Gets the adjacency index the labels were built on.
+     *
+     * @return The adjacency index used during preprocessing.
+     */
+    public AdjacencyIndex getIndex() {
+        return index;
+    }
+
+    /**
+     * Gets the total number of label entries over all nodes.
+     *
+     * @return The number of label entries.
+     */
+    public int getLabelCount() {
+        return labelHubs.length;
+    }
+
+    /**
+     * Gets the shortest distance between two nodes by merging their labels.
+     *
+     * @param source The dense index of the source node.
+     * @param target The dense index of the target node.
+     * @return The distance, or {@code Integer.MAX_VALUE} if the nodes are not connected.
+     */
+    public int distance(int source, int target) {
+        long entries = bestEntries(source, target);
+        if (entries == NO_ENTRIES)
+            return Integer.MAX_VALUE;
+        return labelDistances[(int) (entries >>> 32)] + labelDistances[(int) entries];
+    }
+
+    /**
+     * Gets the shortest distance between two nodes.
+     *
+     * @param source The source node.
+     * @param target The target node.
+     * @return The distance, or {@code Integer.MAX_VALUE} if the nodes are not connected.
+     * @throws IllegalArgumentException If a node was not part of the graph during preprocessing.
+     */
+    public int getDistance(Node source, Node target) {
+        return distance(indexOf(source), indexOf(target));
+    }
+
+    /**
+     * Builds the shortest path of dense indices between two nodes, following every label entry
+     * to the next node towards its hub.
+     *
+     * @param source The dense index of the source node.
+     * @param target The dense index of the target node.
+     * @return The path, or an empty array if the nodes are not connected.
+     */
+    public int[] path(int source, int target) {
+        long entries = bestEntries(source, target);
+        if (entries == NO_ENTRIES)
+            return new int[0];
+
+        int hub = labelHubs[(int) (entries >>> 32)];
+        int[] up = pathToHub(source, (int) (entries >>> 32), hub);
+        int[] down = pathToHub(target, (int) entries, hub);
+
+        // The source half runs up to the hub, the target half is walked back down from it
+        int[] path = Arrays.copyOf(up, up.length + down.length - 1);
+        for (int i = 0; i < down.length - 1; i++) {
+            path[up.length + i] = down[down.length - 2 - i];
+        }
+        return path;
+    }
+
+    /**
+     * Gets the shortest path between two nodes.
+     *
+     * @param source The source node.
+     * @param target The target node.
+     * @return A list of nodes representing the path, or an empty list if the nodes are not connected.
+     * @throws IllegalArgumentException If a node was not part of the graph during preprocessing.
+     */
+    public List<Node> getPath(Node source, Node target) {
+        int[] path = path(indexOf(source), indexOf(target));
+        List<Node> nodes = new ArrayList<>(path.length);
+        for (int node : path) {
+            nodes.add(index.getNode(node));
+        }
+        return nodes;
+    }
+
+    private int indexOf(Node node) {
+        int i = index.indexOf(node);
+        if (i < 0)
+            throw new IllegalArgumentException("Node must be present in the graph");
+        return i;
+    }
+
+    /**
+     * Walks from a node to a hub of its label. Every node on the way was labelled by the hub's
+     * search, since only labelled nodes are expanded, so each has an entry to continue from.
+     */
+    private int[] pathToHub(int node, int entry, int hub) {
+        int length = 1;
+        int[] path = new int[8];
+        path[0] = node;
+        while (labelParents[entry] != NO_PARENT) {
+            node = labelParents[entry];
+            entry = Arrays.binarySearch(labelHubs, labelOffsets[node], labelOffsets[node + 1], hub);
+            if (length == path.length)
+                path = Arrays.copyOf(path, length * 2);
+            path[length++] = node;
+        }
+        return Arrays.copyOf(path, length);
+    }
+
+    /**
+     * Merges the labels of two nodes to find the common hub on their shortest path.
+     *
+     * @return The entry of that hub in the source's label in the high half and in the target's
+     *         label in the low half, or NO_ENTRIES if the labels share no hub.
+     */
+    private long bestEntries(int source, int target) {
+        int i = labelOffsets[source];
+        int iEnd = labelOffsets[source + 1];
+        int j = labelOffsets[target];
+        int jEnd = labelOffsets[target + 1];
+        long best = Long.MAX_VALUE;
+        long entries = NO_ENTRIES;
+        while (i < iEnd && j < jEnd) {
+            int hubI = labelHubs[i];
+            int hubJ = labelHubs[j];
+            if (hubI < hubJ) {
+                i++;
+            } else if (hubI > hubJ) {
+                j++;
+            } else {
+                long distance = (long) labelDistances[i] + labelDistances[j];
+                if (distance < best) {
+                    best = distance;
+                    entries = (long) i << 32 | j;
+                }
+                i++;
+                j++;
+            }
+        }
+        return entries;
+    }
+}
@@ -0,0 +1,87 @@
+package algo;
+
+/**
+ * The IndexedPriorityQueue interface describes a min-priority queue over the integer items
+ * {@code 0 .. capacity - 1}, keyed by integer priorities, that supports decreasing the key
+ * of an item already in the queue.
+ * <p>
+ * Shortest path searches use the dense node indices of a {@link models.AdjacencyIndex} as items
+ * and tentative distances as keys, so every node is in the queue at most once.
+ */
+public interface IndexedPriorityQueue {
+
+    /**
+     * The largest edge weight for which {@link #forMaxWeight(int)} picks a {@link DialQueue}.
+     * Above it the bucket array stops fitting in cache and a {@link RadixHeap} is faster.
+     */
+    int DIAL_MAX_WEIGHT = 1 << 12;
+
+    /**
+     * Creates a monotone queue for a Dijkstra search over integer weights: a {@link DialQueue}
+     * for small weights, and a {@link RadixHeap} otherwise. The returned queue requires that no
+     * key is smaller than the last key removed, which holds for Dijkstra's algorithm but not
+     * for every search.
+     *
+     * @param maxWeight The largest edge weight of the searched graph.
+     * @return A monotone queue suited to the weights.
+     */
+    static IndexedPriorityQueue forMaxWeight(int maxWeight) {
+        if (maxWeight >= 0 && maxWeight <= DIAL_MAX_WEIGHT)
+            return new DialQueue(maxWeight);
+        return new RadixHeap();
+    }
+
+    /**
+     * Empties the queue and prepares it to hold the items {@code 0 .. capacity - 1}.
+     *
+     * @param capacity The number of distinct items the queue must be able to hold.
+     */
+    void reset(int capacity);
+
+    /**
+     * Checks whether the queue is empty.
+     *
+     * @return True if the queue holds no items, false otherwise.
+     */
+    boolean isEmpty();
+
+    /**
+     * Gets the number of items in the queue.
+     *
+     * @return The number of items in the queue.
+     */
+    int size();
+
+    /**
+     * Checks whether an item is currently in the queue.
+     *
+     * @param item The item to check.
+     * @return True if the item is in the queue, false otherwise.
+     */
+    boolean contains(int item);
+
+    /**
+     * Inserts an item, or lowers its key if it is already in the queue with a larger key.
+     * A key that is not smaller than the current one is ignored.
+     *
+     * @param item The item to insert or update.
+     * @param key  The new key of the item.
+     */
+    void insertOrDecrease(int item, int key);
+
+    /**
+     * Gets the smallest key in the queue.
+     *
+     * @return The smallest key.
+     * @throws java.util.NoSuchElementException If the queue is empty.
+     */
+    int minKey();
+
+    /**
+     * Removes the item with the smallest key.
+     *
+     * @return The removed item.
+     * @throws java.util.NoSuchElementException If the queue is empty.
+     */
+    int poll();
+}
@@ -0,0 +1,202 @@
+package algo;
+
+import models.AdjacencyIndex;
+import models.Graph;
+import models.Node;
+
+import java.util.Arrays;
+import java.util.stream.IntStream;
+
+/**
+ * The Landmarks class is the preprocessing step of the ALT (A*, landmarks, triangle inequality)
+ * search. It picks a few landmark nodes and stores the distance from every landmark to every node.
+ * <p>
+ * For any landmark L and nodes v and t, the triangle inequality gives
+ * {@code d(v, t) >= |d(L, t) - d(L, v)|}, so the tables provide a lower bound on the remaining
+ * distance that {@link AltAlgorithm} uses as its heuristic. Landmarks far away from everything
+ * else give the tightest bounds.
+ * <p>
+ * The tables are stored node-major in a single array, so the bounds of one node are contiguous.
+ * They refer to the {@link AdjacencyIndex} the graph had during preprocessing and must be rebuilt
+ * after the graph changes.
+ */
+public class Landmarks {
+
+    /**
+     * The strategy used to pick the landmarks.
+     */
+    public enum Selection {
+        /**
+         * Repeatedly pick the node farthest, by drawn coordinates, from the landmarks picked so far.
+         * Picking is cheap, and the distance tables are then computed in parallel, one landmark per core.
+         */
+        PLANAR,
+        /**
+         * Repeatedly pick the node farthest, by shortest path distance, from the landmarks picked so far.
+         * Every pick depends on the table of the previous one, so the tables are computed one at a time,
+         * but the landmarks are usually better spread.
+         */
+        FARTHEST
+    }
+
+    private final AdjacencyIndex index;
+    private final int[] landmarks;      // Dense index of every landmark
+    private final int[] tables;         // Distance from landmark i to node v at v * count + i
+
+    /**
+     * Selects landmarks with the {@link Selection#PLANAR} strategy and computes their distance tables.
+     *
+     * @param graph The graph to preprocess.
+     * @param count The number of landmarks to select.
+     */
+    public Landmarks(Graph graph, int count) {
+        this(graph, count, Selection.PLANAR);
+    }
+
+    /**
+     * Selects landmarks and computes their distance tables.
+     *
+     * @param graph     The graph to preprocess.
+     * @param count     The number of landmarks to select.
+     * @param selection The strategy used to pick the landmarks.
+     * @throws IllegalArgumentException If the count is not positive.
+     */
+    public Landmarks(Graph graph, int count, Selection selection) {
+        if (count <= 0)
+            throw new IllegalArgumentException("Landmark count must be positive");
+
+        index = graph.getAdjacencyIndex();
+        int size = index.size();
+        count = Math.min(count, size);
+        landmarks = new int[count];
+
+        int[][] distances = new int[count][];
+        if (count > 0 && selection == Selection.FARTHEST) {
+            selectFarthest(distances);
+        } else if (count > 0) {
+            selectPlanar();
+            // Every table is an independent search, so run them on the common pool
+            IntStream.range(0, count).parallel()
+                    .forEach(i -> distances[i] = ShortestPathTree.distances(index, landmarks[i]));
+        }
+
+        tables = new int[size * count];
+        for (int i = 0; i < count; i++) {
+            for (int node = 0; node < size; node++) {
+                tables[node * count + i] = distances[i][node];
+            }
+        }
+    }
+
+    private void selectPlanar() {
+        int size = index.size();
+        double[] nearest = new double[size];
+        Arrays.fill(nearest, Double.POSITIVE_INFINITY);
+
+        // Start from the node farthest from an arbitrary one, then keep adding the farthest node
+        int next = farthestByCoordinates(0, nearest);
+        Arrays.fill(nearest, Double.POSITIVE_INFINITY);
+        for (int i = 0; i < landmarks.length; i++) {
+            landmarks[i] = next;
+            next = farthestByCoordinates(next, nearest);
+        }
+    }
+
+    private int farthestByCoordinates(int from, double[] nearest) {
+        Node origin = index.getNode(from);
+        int farthest = from;
+        for (int node = 0; node < nearest.length; node++) {
+            nearest[node] = Math.min(nearest[node], origin.getCoord().distance(index.getNode(node).getCoord()));
+            if (nearest[node] > nearest[farthest])
+                farthest = node;
+        }
+        return farthest;
+    }
+
+    private void selectFarthest(int[][] distances) {
+        int size = index.size();
+        long[] nearest = new long[size];
+        Arrays.fill(nearest, Long.MAX_VALUE);
+
+        int next = farthestByDistance(ShortestPathTree.distances(index, 0), nearest);
+        Arrays.fill(nearest, Long.MAX_VALUE);
+        for (int i = 0; i < landmarks.length; i++) {
+            landmarks[i] = next;
+            distances[i] = ShortestPathTree.distances(index, next);
+            next = farthestByDistance(distances[i], nearest);
+        }
+    }
+
+    private static int farthestByDistance(int[] distances, long[] nearest) {
+        int farthest = 0;
+        for (int node = 0; node < nearest.length; node++) {
+            // Unreachable nodes are no use as landmarks for this component
+            if (distances[node] != Integer.MAX_VALUE)
+                nearest[node] = Math.min(nearest[node], distances[node]);
+            if (nearest[node] != Long.MAX_VALUE && nearest[node] > nearest[farthest])
+                farthest = node;
+        }
+        return farthest;
+    }
+
+    /**
+     * Gets the adjacency index the tables refer to.
+     *
+     * @return The adjacency index used during preprocessing.
+     */
+    public AdjacencyIndex getIndex() {
+        return index;
+    }
+
+    /**
+     * Gets the number of landmarks.
+     *
+     * @return The number of landmarks.
+     */
+    public int getCount() {
+        return landmarks.length;
+    }
+
+    /**
+     * Gets a landmark node.
+     *
+     * @param i The position of the landmark, from 0 to {@code getCount() - 1}.
+     * @return The landmark node.
+     */
+    public Node getLandmark(int i) {
+        return index.getNode(landmarks[i]);
+    }
+
+    /**
+     * Gets the distance from a landmark to a node.
+     *
+     * @param i    The position of the landmark.
+     * @param node The dense index of the node.
+     * @return The distance, or {@code Integer.MAX_VALUE} if the node is unreachable from the landmark.
+     */
+    public int distance(int i, int node) {
+        return tables[node * landmarks.length + i];
+    }
+
+    /**
+     * Computes a lower bound on the distance between two nodes from the landmark tables.
+     *
+     * @param node   The dense index of the first node.
+     * @param target The dense index of the second node.
+     * @return A lower bound on the distance between the nodes.
+     */
+    public int lowerBound(int node, int target) {
+        int count = landmarks.length;
+        int nodeBase = node * count;
+        int targetBase = target * count;
+        int bound = 0;
+        for (int i = 0; i < count; i++) {
+            int fromNode = tables[nodeBase + i];
+            int fromTarget = tables[targetBase + i];
+            if (fromNode == Integer.MAX_VALUE || fromTarget == Integer.MAX_VALUE)
+                continue;
+            bound = Math.max(bound, Math.abs(fromTarget - fromNode));
+        }
+        return bound;
+    }
+}
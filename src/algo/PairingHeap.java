@@ -0,0 +1,165 @@
+package algo;
+
+import java.util.NoSuchElementException;
+
+/**
+ * The PairingHeap class is an indexed pairing heap. Inserting and decreasing a key are
+ * constant time melds, and the restructuring work is deferred to {@code poll}, which pairs
+ * up the children of the removed root in two passes.
+ * <p>
+ * Every item is a tree node stored in parallel arrays: its first child, its next sibling and
+ * its previous sibling (or its parent, for a first child).
+ */
+public class PairingHeap implements IndexedPriorityQueue {
+
+    private static final int NONE = -1;
+
+    private int[] keys = new int[0];
+    private int[] child = new int[0];
+    private int[] sibling = new int[0];
+    private int[] previous = new int[0];
+    private boolean[] present = new boolean[0];
+    private int[] scratch = new int[0];     // Work list used by poll and reset
+    private int root = NONE;
+    private int size;
+
+    @Override
+    public void reset(int capacity) {
+        if (present.length < capacity) {
+            keys = new int[capacity];
+            child = new int[capacity];
+            sibling = new int[capacity];
+            previous = new int[capacity];
+            present = new boolean[capacity];
+            scratch = new int[capacity];
+        } else if (root != NONE) {
+            // Walk the remaining trees, so clearing costs the number of leftover items only
+            int top = 0;
+            scratch[top++] = root;
+            while (top > 0) {
+                int item = scratch[--top];
+                present[item] = false;
+                for (int c = child[item]; c != NONE; c = sibling[c]) {
+                    scratch[top++] = c;
+                }
+            }
+        }
+        root = NONE;
+        size = 0;
+    }
+
+    @Override
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    @Override
+    public int size() {
+        return size;
+    }
+
+    @Override
+    public boolean contains(int item) {
+        return present[item];
+    }
+
+    @Override
+    public void insertOrDecrease(int item, int key) {
+        if (!present[item]) {
+            present[item] = true;
+            keys[item] = key;
+            child[item] = NONE;
+            sibling[item] = NONE;
+            previous[item] = NONE;
+            root = meld(root, item);
+            size++;
+            return;
+        }
+
+        if (key >= keys[item])
+            return;
+        keys[item] = key;
+        if (item == root)
+            return;
+
+        // Cut the subtree rooted at the item and meld it back in at the top
+        int before = previous[item];
+        if (child[before] == item)
+            child[before] = sibling[item];
+        else
+            sibling[before] = sibling[item];
+        if (sibling[item] != NONE)
+            previous[sibling[item]] = before;
+        sibling[item] = NONE;
+        previous[item] = NONE;
+        root = meld(root, item);
+    }
+
+    @Override
+    public int minKey() {
+        if (size == 0)
+            throw new NoSuchElementException("Heap is empty");
+        return keys[root];
+    }
+
+    @Override
+    public int poll() {
+        if (size == 0)
+            throw new NoSuchElementException("Heap is empty");
+
+        int top = root;
+        present[top] = false;
+        size--;
+
+        // First pass: meld the children in pairs from left to right
+        int count = 0;
+        int c = child[top];
+        while (c != NONE) {
+            int next = sibling[c];
+            int pair = NONE;
+            if (next != NONE) {
+                pair = next;
+                next = sibling[pair];
+                detach(pair);
+            }
+            detach(c);
+            scratch[count++] = meld(c, pair);
+            c = next;
+        }
+
+        // Second pass: meld the pairs from right to left
+        int merged = NONE;
+        for (int i = count - 1; i >= 0; i--) {
+            merged = meld(merged, scratch[i]);
+        }
+        root = merged;
+        return top;
+    }
+
+    private void detach(int item) {
+        sibling[item] = NONE;
+        previous[item] = NONE;
+    }
+
+    private int meld(int one, int two) {
+        if (one == NONE)
+            return two;
+        if (two == NONE)
+            return one;
+        if (keys[two] < keys[one]) {
+            int swap = one;
+            one = two;
+            two = swap;
+        }
+
+        // The larger root becomes the first child of the smaller one
+        int first = child[one];
+        sibling[two] = first;
+        if (first != NONE)
+            previous[first] = two;
+        previous[two] = one;
+        child[one] = two;
+        return one;
+    }
+
+}
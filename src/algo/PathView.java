@@ -0,0 +1,62 @@
+package algo;
+
+import models.AdjacencyIndex;
+import models.Node;
+
+import java.util.AbstractList;
+import java.util.RandomAccess;
+
+/**
+ * The PathView class is a read-only list of the nodes on the shortest path from the source to a
+ * node, backed by the predecessor array of a search.
+ * <p>
+ * Creating a view costs nothing beyond the object itself. The path is only walked the first time
+ * the view is read, so storing a view on every node keeps a solved graph linear in size, while the
+ * few paths actually looked at are built on demand. The predecessor array must not change while
+ * the view is in use.
+ */
+final class PathView extends AbstractList<Node> implements RandomAccess {
+
+    private final AdjacencyIndex index;
+    private final int[] predecessors;
+    private final int target;
+    private int[] path;     // Dense indices from the source to the target, built on first access
+
+    /**
+     * Constructs a view of the path to a node reached by a search.
+     *
+     * @param index        The index the predecessors refer to.
+     * @param predecessors The predecessor of every node, -1 for the source.
+     * @param target       The dense index of the last node of the path.
+     */
+    PathView(AdjacencyIndex index, int[] predecessors, int target) {
+        this.index = index;
+        this.predecessors = predecessors;
+        this.target = target;
+    }
+
+    private int[] path() {
+        if (path == null) {
+            int length = 0;
+            for (int current = target; current != ShortestPathTree.NO_PREDECESSOR; current = predecessors[current]) {
+                length++;
+            }
+            int[] nodes = new int[length];
+            for (int current = target; current != ShortestPathTree.NO_PREDECESSOR; current = predecessors[current]) {
+                nodes[--length] = current;
+            }
+            path = nodes;
+        }
+        return path;
+    }
+
+    @Override
+    public Node get(int i) {
+        return index.getNode(path()[i]);
+    }
+
+    @Override
+    public int size() {
+        return path().length;
+    }
+}
@@ -0,0 +1,281 @@
+package algo;
+
+import models.AdjacencyIndex;
+
+import java.util.Arrays;
+
+/**
+ * The QueryContext class holds the scratch arrays of Dijkstra searches over an
+ * {@link AdjacencyIndex}, so that a thread answering many queries allocates them only once.
+ * <p>
+ * Entries are stamped with the generation of the search that wrote them, and an entry of an
+ * older generation reads as unreached. Starting a search therefore only bumps the generation
+ * instead of clearing every node, and once the context is built, searching and reading results
+ * allocate nothing (apart from {@link #path(int)}, which returns a new array).
+ * A context is not thread-safe; every thread needs its own.
+ * <p>
+ * This is the Dijkstra search of the array-based engines: {@link ShortestPathTree} and
+ * {@link AsyncSolver} run on a context too, so the stopping and tie-breaking rules live here
+ * only. Among several shortest paths to a node, the predecessor is the neighbor with the
+ * smallest index, as in {@link DijkstraAlgorithm}.
+ */
+public final class QueryContext {
+
+    public static final int NO_PREDECESSOR = -1;
+
+    private final AdjacencyIndex index;
+    private final int[] distances;
+    private final int[] predecessors;
+    private final int[] labelled;       // Generation of the search that last labelled each node
+    private final int[] settled;        // Generation of the search that last settled each node
+    private final int[] settledOrder;   // Nodes settled by the last search, in the order they were settled
+    private int source;                 // Source of the last search
+    private int generation;
+    private int settledCount;
+    private final IndexedPriorityQueue queue;
+
+    /**
+     * Watches a search as it settles nodes, and may stop it.
+     */
+    interface SettleHook {
+        /**
+         * Called after a node is settled, before its arcs are relaxed.
+         *
+         * @param settledCount The number of nodes settled so far, including this one.
+         * @return True to go on with the search, false to stop it.
+         */
+        boolean settled(int settledCount);
+    }
+
+    /**
+     * Constructs a context for searches over an adjacency index.
+     *
+     * @param index The adjacency index to search.
+     */
+    public QueryContext(AdjacencyIndex index) {
+        this.index = index;
+        int size = index.size();
+        distances = new int[size];
+        predecessors = new int[size];
+        labelled = new int[size];
+        settled = new int[size];
+        settledOrder = new int[size];
+        queue = IndexedPriorityQueue.forMaxWeight(index.getMaxWeight());
+        queue.reset(size);
+    }
+
+    /**
+     * Gets the adjacency index the context searches.
+     *
+     * @return The adjacency index.
+     */
+    public AdjacencyIndex getIndex() {
+        return index;
+    }
+
+    /**
+     * Runs a Dijkstra search from a node, stopping once every target is settled.
+     * Results stay available until the next search.
+     *
+     * @param source   The dense index of the source node.
+     * @param isTarget Whether every node is a target, or {@code null} to settle every node.
+     * @param targets  The number of distinct targets.
+     */
+    public void search(int source, boolean[] isTarget, int targets) {
+        search(source, -1, isTarget, targets, Integer.MAX_VALUE, null);
+    }
+
+    /**
+     * Runs a Dijkstra search from a node, stopping once the target is settled.
+     * Results stay available until the next search.
+     *
+     * @param source The dense index of the source node.
+     * @param target The dense index of the target node.
+     */
+    public void search(int source, int target) {
+        search(source, target, null, 0, Integer.MAX_VALUE, null);
+    }
+
+    /**
+     * Runs a Dijkstra search from a node, stopping once the target is settled or the hook asks
+     * to stop. Results stay available until the next search.
+     *
+     * @param source The dense index of the source node.
+     * @param target The dense index of the target node, or -1 to settle every node.
+     * @param hook   The hook called after every settled node.
+     * @return False if the hook stopped the search, true otherwise.
+     */
+    boolean search(int source, int target, SettleHook hook) {
+        return search(source, target, null, 0, Integer.MAX_VALUE, hook);
+    }
+
+    /**
+     * Finds every node within a cost budget of a node. Nodes beyond the budget never enter the
+     * queue, so the search ends as soon as the cheapest remaining node would exceed it.
+     * The nodes found are read with {@link #getSettledNode(int)}, nearest first.
+     *
+     * @param source The dense index of the source node.
+     * @param budget The largest distance of a node to report.
+     * @return The number of nodes within the budget, including the source.
+     * @throws IllegalArgumentException If the budget is negative.
+     */
+    public int searchWithin(int source, int budget) {
+        if (budget < 0)
+            throw new IllegalArgumentException("Budget must not be negative");
+        search(source, -1, null, 0, budget, null);
+        return settledCount;
+    }
+
+    private boolean search(int source, int target, boolean[] isTarget, int targets, int budget, SettleHook hook) {
+        nextGeneration();
+        this.source = source;
+        label(source, 0, NO_PREDECESSOR);
+
+        while (!queue.isEmpty()) {
+            int node = queue.poll();
+            settled[node] = generation;
+            settledOrder[settledCount++] = node;
+            if (node == target || isTarget != null && isTarget[node] && --targets == 0)
+                break;
+            if (hook != null && !hook.settled(settledCount))
+                return false;
+
+            int distance = distances[node];
+            for (int arc = index.firstArc(node); arc < index.endArc(node); arc++) {
+                int adjacent = index.target(arc);
+                if (settled[adjacent] == generation)
+                    continue;
+
+                int new_dist = distance + index.weight(arc);
+                if (new_dist > budget)
+                    continue;
+                int old_dist = getDistance(adjacent);
+                if (new_dist < old_dist) {
+                    label(adjacent, new_dist, node);
+                } else if (new_dist == old_dist && node < predecessors[adjacent]) {
+                    predecessors[adjacent] = node;
+                }
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Gets the distance of a node found by the last search.
+     *
+     * @param node The dense index of the node.
+     * @return The distance, or {@code Integer.MAX_VALUE} if the node was not reached.
+     */
+    public int getDistance(int node) {
+        return labelled[node] == generation ? distances[node] : Integer.MAX_VALUE;
+    }
+
+    /**
+     * Gets the predecessor of a node on its path found by the last search.
+     *
+     * @param node The dense index of the node.
+     * @return The dense index of the predecessor, or {@code NO_PREDECESSOR} for the source and unreached nodes.
+     */
+    public int getPredecessor(int node) {
+        return labelled[node] == generation ? predecessors[node] : NO_PREDECESSOR;
+    }
+
+    /**
+     * Gets the number of nodes settled by the last search.
+     *
+     * @return The number of settled nodes.
+     */
+    public int getSettledCount() {
+        return settledCount;
+    }
+
+    /**
+     * Gets a node settled by the last search. Nodes are settled in order of increasing distance.
+     *
+     * @param i The position of the node, in {@code [0, getSettledCount())}.
+     * @return The dense index of the node.
+     * @throws IndexOutOfBoundsException If the position is out of range.
+     */
+    public int getSettledNode(int i) {
+        if (i < 0 || i >= settledCount)
+            throw new IndexOutOfBoundsException("Index: " + i + ", Size: " + settledCount);
+        return settledOrder[i];
+    }
+
+    /**
+     * Copies the path of dense indices from the source of the last search to a node into a buffer.
+     *
+     * @param node   The dense index of the node.
+     * @param buffer The buffer receiving the path; {@code getIndex().size()} entries always suffice.
+     * @return The length of the path, or 0 if the node was not reached.
+     * @throws ArrayIndexOutOfBoundsException If the buffer is too small for the path.
+     */
+    public int copyPath(int node, int[] buffer) {
+        int length = pathLength(node);
+        if (length > buffer.length)
+            throw new ArrayIndexOutOfBoundsException("Path of " + length + " nodes does not fit the buffer");
+        int position = length;
+        for (int current = node; position > 0; current = predecessors[current]) {
+            buffer[--position] = current;
+        }
+        return length;
+    }
+
+    /**
+     * Builds the path of dense indices from the source of the last search to a node.
+     *
+     * @param node The dense index of the node.
+     * @return The path, or an empty array if the node was not reached.
+     */
+    public int[] path(int node) {
+        int[] path = new int[pathLength(node)];
+        copyPath(node, path);
+        return path;
+    }
+
+    /**
+     * Copies the result of the last search into a shortest path tree.
+     *
+     * @return The tree rooted at the source of the last search.
+     */
+    ShortestPathTree toTree() {
+        int size = index.size();
+        int[] treeDistances = new int[size];
+        int[] treePredecessors = new int[size];
+        for (int node = 0; node < size; node++) {
+            treeDistances[node] = getDistance(node);
+            treePredecessors[node] = getPredecessor(node);
+        }
+        return new ShortestPathTree(index, source, treeDistances, treePredecessors);
+    }
+
+    private int pathLength(int node) {
+        if (getDistance(node) == Integer.MAX_VALUE)
+            return 0;
+
+        int length = 0;
+        for (int current = node; current != NO_PREDECESSOR; current = predecessors[current]) {
+            length++;
+        }
+        return length;
+    }
+
+    private void nextGeneration() {
+        // Stamps of about two billion searches ago could look current again, so wipe them first
+        if (generation == Integer.MAX_VALUE) {
+            Arrays.fill(labelled, 0);
+            Arrays.fill(settled, 0);
+            generation = 0;
+        }
+        generation++;
+        settledCount = 0;
+        queue.reset(index.size());
+    }
+
+    private void label(int node, int distance, int predecessor) {
+        labelled[node] = generation;
+        distances[node] = distance;
+        predecessors[node] = predecessor;
+        queue.insertOrDecrease(node, distance);
+    }
+}
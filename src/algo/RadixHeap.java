@@ -0,0 +1,153 @@
+package algo;
+
+import java.util.Arrays;
+import java.util.NoSuchElementException;
+
+/**
+ * The RadixHeap class is an indexed radix heap for non-negative integer keys.
+ * <p>
+ * The heap is monotone: no key may be smaller than the last key removed. An item with key k is
+ * kept in bucket {@code 0} if k equals the last removed key, and otherwise in the bucket numbered
+ * by the highest bit in which k differs from it. When bucket 0 runs empty, the lowest non-empty
+ * bucket is scanned for its smallest key, which becomes the new last key, and its items move to
+ * strictly lower buckets. Every item moves at most 32 times, so a search costs O(E + V log C) for
+ * a largest weight C with no comparisons between keys. Unlike {@link DialQueue}, the memory does
+ * not depend on the weights.
+ */
+public class RadixHeap implements IndexedPriorityQueue {
+
+    private static final int ABSENT = -1;
+    private static final int BUCKETS = 33;
+
+    private final int[][] buckets = new int[BUCKETS][];    // Items of every bucket, in no particular order
+    private final int[] bucketSizes = new int[BUCKETS];
+    private int[] keys = new int[0];
+    private int[] bucketOf = new int[0];        // Bucket of every item, or ABSENT
+    private int[] positions = new int[0];       // Position of every item within its bucket
+    private int last;                           // Last key removed, 0 after a reset
+    private int size;
+
+    /**
+     * Constructs an empty radix heap.
+     */
+    public RadixHeap() {
+        for (int i = 0; i < BUCKETS; i++) {
+            buckets[i] = new int[4];
+        }
+    }
+
+    @Override
+    public void reset(int capacity) {
+        // Polled items are already marked absent, so only the leftovers need clearing
+        for (int i = 0; i < BUCKETS; i++) {
+            for (int j = 0; j < bucketSizes[i]; j++) {
+                bucketOf[buckets[i][j]] = ABSENT;
+            }
+            bucketSizes[i] = 0;
+        }
+        size = 0;
+        last = 0;
+
+        if (bucketOf.length < capacity) {
+            keys = new int[capacity];
+            positions = new int[capacity];
+            bucketOf = new int[capacity];
+            Arrays.fill(bucketOf, ABSENT);
+        }
+    }
+
+    @Override
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    @Override
+    public int size() {
+        return size;
+    }
+
+    @Override
+    public boolean contains(int item) {
+        return bucketOf[item] != ABSENT;
+    }
+
+    @Override
+    public void insertOrDecrease(int item, int key) {
+        boolean present = bucketOf[item] != ABSENT;
+        if (present && key >= keys[item])
+            return;
+        if (key < last)
+            throw new IllegalArgumentException("Key " + key + " is smaller than the last removed key " + last);
+
+        if (present)
+            remove(item);
+        else
+            size++;
+        keys[item] = key;
+        add(item, bucketFor(key));
+    }
+
+    @Override
+    public int minKey() {
+        refill();
+        return last;
+    }
+
+    @Override
+    public int poll() {
+        refill();
+        int item = buckets[0][--bucketSizes[0]];
+        bucketOf[item] = ABSENT;
+        size--;
+        return item;
+    }
+
+    /**
+     * Makes sure bucket 0 holds the items with the smallest key, redistributing the lowest
+     * non-empty bucket if necessary.
+     */
+    private void refill() {
+        if (size == 0)
+            throw new NoSuchElementException("Queue is empty");
+        if (bucketSizes[0] > 0)
+            return;
+
+        int bucket = 1;
+        while (bucketSizes[bucket] == 0) {
+            bucket++;
+        }
+        int[] items = buckets[bucket];
+        int count = bucketSizes[bucket];
+        int min = Integer.MAX_VALUE;
+        for (int i = 0; i < count; i++) {
+            min = Math.min(min, keys[items[i]]);
+        }
+
+        last = min;
+        bucketSizes[bucket] = 0;
+        for (int i = 0; i < count; i++) {
+            add(items[i], bucketFor(keys[items[i]]));
+        }
+    }
+
+    private int bucketFor(int key) {
+        return key == last ? 0 : 32 - Integer.numberOfLeadingZeros(key ^ last);
+    }
+
+    private void add(int item, int bucket) {
+        int position = bucketSizes[bucket]++;
+        if (position == buckets[bucket].length)
+            buckets[bucket] = Arrays.copyOf(buckets[bucket], position * 2);
+        buckets[bucket][position] = item;
+        bucketOf[item] = bucket;
+        positions[item] = position;
+    }
+
+    private void remove(int item) {
+        int bucket = bucketOf[item];
+        int position = positions[item];
+        int moved = buckets[bucket][--bucketSizes[bucket]];
+        buckets[bucket][position] = moved;
+        positions[moved] = position;
+    }
+}
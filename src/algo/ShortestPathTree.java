@@ -0,0 +1,145 @@
+package algo;
+
+import models.AdjacencyIndex;
+import models.Node;
+
+import java.util.*;
+
+/**
+ * The ShortestPathTree class holds the distances and predecessors of a complete single-source
+ * shortest path search over an {@link AdjacencyIndex}. The predecessor array is shared by all
+ * paths, which are only built when asked for. Trees are computed by a {@link QueryContext}, so
+ * among several shortest paths to a node, the predecessor is the neighbor with the smallest index.
+ */
+public class ShortestPathTree {
+
+    static final int NO_PREDECESSOR = -1;
+
+    private final AdjacencyIndex index;
+    private final int source;
+    private final int[] distances;
+    private final int[] predecessors;
+
+    /**
+     * Constructs a tree from already computed arrays, which the tree takes ownership of.
+     *
+     * @param index        The index the arrays refer to.
+     * @param source       The dense index of the source node.
+     * @param distances    The distance of every node, {@code Integer.MAX_VALUE} if unreachable.
+     * @param predecessors The predecessor of every node, -1 for the source and unreachable nodes.
+     */
+    ShortestPathTree(AdjacencyIndex index, int source, int[] distances, int[] predecessors) {
+        this.index = index;
+        this.source = source;
+        this.distances = distances;
+        this.predecessors = predecessors;
+    }
+
+    /**
+     * Computes the shortest path tree of a node with Dijkstra's algorithm.
+     *
+     * @param index  The adjacency index to search.
+     * @param source The dense index of the source node.
+     * @return The shortest path tree rooted at the source.
+     */
+    public static ShortestPathTree compute(AdjacencyIndex index, int source) {
+        QueryContext context = new QueryContext(index);
+        context.search(source, null, 0);
+        return context.toTree();
+    }
+
+    /**
+     * Computes the distance of every node from a source node with Dijkstra's algorithm.
+     *
+     * @param index  The adjacency index to search.
+     * @param source The dense index of the source node.
+     * @return The distance of every node, {@code Integer.MAX_VALUE} for unreachable nodes.
+     */
+    public static int[] distances(AdjacencyIndex index, int source) {
+        QueryContext context = new QueryContext(index);
+        context.search(source, null, 0);
+        int[] distances = new int[index.size()];
+        for (int node = 0; node < distances.length; node++) {
+            distances[node] = context.getDistance(node);
+        }
+        return distances;
+    }
+
+    /**
+     * Estimates the memory held by the tree, not counting the shared adjacency index.
+     *
+     * @return The estimated size in bytes.
+     */
+    long estimateBytes() {
+        return 64L + 8L * distances.length;
+    }
+
+    /**
+     * Gets the adjacency index the tree was computed on.
+     *
+     * @return The adjacency index.
+     */
+    public AdjacencyIndex getIndex() {
+        return index;
+    }
+
+    /**
+     * Gets the dense index of the source node.
+     *
+     * @return The dense index of the source.
+     */
+    public int getSource() {
+        return source;
+    }
+
+    /**
+     * Gets the distance of a node from the source.
+     *
+     * @param node The dense index of the node.
+     * @return The distance, or {@code Integer.MAX_VALUE} if the node is unreachable.
+     */
+    public int distance(int node) {
+        return distances[node];
+    }
+
+    /**
+     * Gets the predecessor of a node on its shortest path from the source.
+     *
+     * @param node The dense index of the node.
+     * @return The dense index of the predecessor, or -1 for the source and unreachable nodes.
+     */
+    public int predecessor(int node) {
+        return predecessors[node];
+    }
+
+    /**
+     * Gets the distance of a node from the source.
+     *
+     * @param node The node.
+     * @return The distance, or {@code null} if the node is not part of the tree's index.
+     */
+    public Integer getDistance(Node node) {
+        int nodeIndex = index.indexOf(node);
+        return nodeIndex < 0 ? null : distances[nodeIndex];
+    }
+
+    /**
+     * Gets the shortest path from the source to a node.
+     *
+     * @param node The node.
+     * @return A list of nodes representing the path, or an empty list if the node is unreachable.
+     */
+    public List<Node> getPath(Node node) {
+        List<Node> path = new ArrayList<>();
+        int current = index.indexOf(node);
+        if (current < 0 || distances[current] == Integer.MAX_VALUE)
+            return path;
+
+        while (current != NO_PREDECESSOR) {
+            path.add(index.getNode(current));
+            current = predecessors[current];
+        }
+        Collections.reverse(path);
+        return path;
+    }
+}
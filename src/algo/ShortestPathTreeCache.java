@@ -0,0 +1,228 @@
+package algo;
+
+import models.AdjacencyIndex;
+import models.Graph;
+import models.Node;
+
+import java.lang.ref.SoftReference;
+import java.util.*;
+
+/**
+ * The ShortestPathTreeCache class keeps recently computed shortest path trees, keyed by the graph,
+ * its modification version and the source node, so that asking again for the tree of the same
+ * source on an unchanged graph costs nothing.
+ * <p>
+ * The cache is a least-recently-used map bounded both by its number of trees and by their
+ * estimated memory. Trees pushed out of it are kept behind soft references, so they can still be
+ * reused until the garbage collector needs the memory. Trees of older versions of a graph can
+ * never be asked for again and are dropped as soon as a newer version is seen.
+ * The cache is thread-safe; a tree missing from it is computed outside of the lock.
+ */
+public class ShortestPathTreeCache {
+
+    private static final int DEFAULT_MAX_ENTRIES = 16;
+
+    private final int maxEntries;
+    private final long maxBytes;
+
+    private final LinkedHashMap<Key, ShortestPathTree> entries = new LinkedHashMap<>(16, 0.75f, true);
+    private final Map<Key, SoftReference<ShortestPathTree>> evicted = new HashMap<>();
+    private long bytes;
+    private int hitCount;
+    private int missCount;
+
+    /**
+     * The identity of a tree: the graph and its version, compared by identity, and the source node.
+     */
+    private static final class Key {
+        final Graph graph;
+        final long version;
+        final Node source;
+
+        Key(Graph graph, long version, Node source) {
+            this.graph = graph;
+            this.version = version;
+            this.source = source;
+        }
+
+        @Override
+        public boolean equals(Object other) {
+            if (!(other instanceof Key))
+                return false;
+            Key key = (Key) other;
+            return graph == key.graph && version == key.version && source == key.source;
+        }
+
+        @Override
+        public int hashCode() {
+            return (System.identityHashCode(graph) * 31 + Long.hashCode(version)) * 31
+                    + System.identityHashCode(source);
+        }
+    }
+
+    /**
+     * Constructs a cache holding up to 16 trees and an eighth of the maximum heap size.
+     */
+    public ShortestPathTreeCache() {
+        this(DEFAULT_MAX_ENTRIES, Runtime.getRuntime().maxMemory() / 8);
+    }
+
+    /**
+     * Constructs a cache with the given bounds. The most recently used tree is always kept,
+     * even if it alone exceeds the memory bound.
+     *
+     * @param maxEntries The largest number of trees kept.
+     * @param maxBytes   The largest estimated memory of the trees kept, in bytes.
+     * @throws IllegalArgumentException If a bound is not positive.
+     */
+    public ShortestPathTreeCache(int maxEntries, long maxBytes) {
+        if (maxEntries <= 0 || maxBytes <= 0)
+            throw new IllegalArgumentException("Cache bounds must be positive");
+        this.maxEntries = maxEntries;
+        this.maxBytes = maxBytes;
+    }
+
+    /**
+     * Gets the shortest path tree of a source node in the current version of a graph,
+     * computing it if it is not cached.
+     *
+     * @param graph  The graph to search.
+     * @param source The source node.
+     * @return The shortest path tree rooted at the source.
+     * @throws IllegalArgumentException If the source is not a node of the graph.
+     */
+    public ShortestPathTree get(Graph graph, Node source) {
+        Key key = new Key(graph, graph.getVersion(), source);
+        ShortestPathTree tree = lookup(key);
+        if (tree != null)
+            return tree;
+
+        AdjacencyIndex index = graph.getAdjacencyIndex();
+        int sourceIndex = index.indexOf(source);
+        if (sourceIndex < 0)
+            throw new IllegalArgumentException("Source must be present in the graph");
+        tree = ShortestPathTree.compute(index, sourceIndex);
+        synchronized (this) {
+            store(key, tree);
+        }
+        return tree;
+    }
+
+    /**
+     * Gets the cached shortest path tree of a source node in the current version of a graph,
+     * without computing it if it is missing.
+     *
+     * @param graph  The graph.
+     * @param source The source node.
+     * @return The cached tree rooted at the source, or {@code null} if there is none.
+     */
+    public ShortestPathTree peek(Graph graph, Node source) {
+        return lookup(new Key(graph, graph.getVersion(), source));
+    }
+
+    /**
+     * Stores a tree computed elsewhere, such as on a background thread.
+     *
+     * @param graph   The graph the tree was computed on.
+     * @param version The version of the graph the tree was computed on.
+     * @param source  The source node of the tree.
+     * @param tree    The shortest path tree rooted at the source.
+     */
+    public synchronized void put(Graph graph, long version, Node source, ShortestPathTree tree) {
+        Key key = new Key(graph, version, source);
+        dropOlderVersions(key);
+        store(key, tree);
+    }
+
+    private synchronized ShortestPathTree lookup(Key key) {
+        dropOlderVersions(key);
+
+        ShortestPathTree tree = entries.get(key);
+        if (tree == null) {
+            SoftReference<ShortestPathTree> reference = evicted.remove(key);
+            tree = reference == null ? null : reference.get();
+            if (tree != null)
+                store(key, tree);
+        }
+
+        if (tree != null)
+            hitCount++;
+        else
+            missCount++;
+        return tree;
+    }
+
+    private void dropOlderVersions(Key key) {
+        Iterator<Map.Entry<Key, ShortestPathTree>> iterator = entries.entrySet().iterator();
+        while (iterator.hasNext()) {
+            Map.Entry<Key, ShortestPathTree> entry = iterator.next();
+            if (entry.getKey().graph == key.graph && entry.getKey().version < key.version) {
+                bytes -= entry.getValue().estimateBytes();
+                iterator.remove();
+            }
+        }
+        evicted.entrySet().removeIf(entry -> entry.getValue().get() == null
+                || entry.getKey().graph == key.graph && entry.getKey().version < key.version);
+    }
+
+    private void store(Key key, ShortestPathTree tree) {
+        ShortestPathTree previous = entries.put(key, tree);
+        if (previous != null)
+            bytes -= previous.estimateBytes();
+        bytes += tree.estimateBytes();
+
+        // Least recently used trees go first; they stay reachable until memory runs short
+        Iterator<Map.Entry<Key, ShortestPathTree>> iterator = entries.entrySet().iterator();
+        while (entries.size() > 1 && (entries.size() > maxEntries || bytes > maxBytes)) {
+            Map.Entry<Key, ShortestPathTree> eldest = iterator.next();
+            bytes -= eldest.getValue().estimateBytes();
+            evicted.put(eldest.getKey(), new SoftReference<>(eldest.getValue()));
+            iterator.remove();
+        }
+    }
+
+    /**
+     * Removes every tree from the cache.
+     */
+    public synchronized void clear() {
+        entries.clear();
+        evicted.clear();
+        bytes = 0;
+    }
+
+    /**
+     * Gets the number of trees held strongly by the cache.
+     *
+     * @return The number of cached trees.
+     */
+    public synchronized int size() {
+        return entries.size();
+    }
+
+    /**
+     * Gets the estimated memory of the trees held strongly by the cache.
+     *
+     * @return The estimated size in bytes.
+     */
+    public synchronized long getBytes() {
+        return bytes;
+    }
+
+    /**
+     * Gets the number of requests answered from the cache.
+     *
+     * @return The number of hits.
+     */
+    public synchronized int getHitCount() {
+        return hitCount;
+    }
+
+    /**
+     * Gets the number of requests that had to compute a tree.
+     *
+     * @return The number of misses.
+     */
+    public synchronized int getMissCount() {
+        return missCount;
+    }
+}
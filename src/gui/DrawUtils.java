@@ -25,6 +25,7 @@ public class DrawUtils {
     private static final Color HOVER_COLOR = parseColor("#E1BEE7");
     private static final Color EDGE_COLOR = parseColor("#555555");
     private static final Color PATH_COLOR = parseColor("#00BCD4");
+    private static final Color RANGE_COLOR = parseColor("#FFC107");
     private static final Color TEXT_COLOR = parseColor("#cccccc");
 
     /**
@@ -192,6 +193,18 @@ public class DrawUtils {
         radius -= TEXT_OFFSET;
     }
 
+    /**
+     * Draws a halo marking a node as within the budget of a range query.
+     *
+     * @param node The node around which to draw the halo.
+     */
+    public void drawRangeHalo(Node node) {
+        g.setColor(RANGE_COLOR);
+        radius += 2 * TEXT_OFFSET;
+        drawCircle(node.getX(), node.getY(), radius);
+        radius -= 2 * TEXT_OFFSET;
+    }
+
     /**
      * Draws a source node with specific colors.
      *
@@ -1,5 +1,12 @@
 package gui;
 
+import algo.AsyncSolver;
+import algo.DijkstraAlgorithm;
+import algo.DynamicDijkstraAlgorithm;
+import algo.QueryContext;
+import algo.ShortestPathTree;
+import algo.ShortestPathTreeCache;
+import models.AdjacencyIndex;
 import models.Edge;
 import models.Graph;
 import models.Node;
@@ -9,6 +16,7 @@ import java.awt.*;
 import java.awt.event.MouseEvent;
 import java.awt.event.MouseListener;
 import java.awt.event.MouseMotionListener;
+import java.util.ArrayList;
 import java.util.List;
 
 /**
@@ -19,6 +27,13 @@ public class GraphPanel extends JPanel implements MouseListener, MouseMotionList
 
     private DrawUtils drawUtils;
     private Graph graph;
+    private DynamicDijkstraAlgorithm shortestPaths;   // Shortest path tree, repaired as the graph is edited
+    private ShortestPathTreeCache treeCache = new ShortestPathTreeCache();  // Trees by graph version and source
+    private final AsyncSolver treeSolver = new AsyncSolver();   // Builds trees off the event dispatch thread
+    private AsyncSolver.Solve treeSolve;    // Tree being built in the background, or null
+    private long treeVersion;               // Graph version of the tree being built
+    private Node treeSource;                // Source of the tree being built
+    private Node pendingPathNode;           // Node whose path was asked for while the tree was being built
 
     private Node selectedNode = null;
     private Node hoveredNode = null;
@@ -26,6 +41,10 @@ public class GraphPanel extends JPanel implements MouseListener, MouseMotionList
 
     private List<Node> pathList = null;
 
+    private QueryContext rangeContext;      // Reused by range queries while the graph is unchanged
+    private List<Node> rangeList = null;    // Nodes within the budget of the last range query
+    private long rangeVersion;              // Graph version the range was found for
+
     private Point cursor;
 
     private static final double OVERLAPPING_RADIUS_FACTOR = 2.5;
@@ -37,10 +56,75 @@ public class GraphPanel extends JPanel implements MouseListener, MouseMotionList
      */
     public GraphPanel(Graph graph) {
         this.graph = graph;
+        this.shortestPaths = new DynamicDijkstraAlgorithm(graph);
         addMouseListener(this);
         addMouseMotionListener(this);
     }
 
+    /**
+     * Gets the shortest path tree of the displayed graph, kept up to date as the graph is edited.
+     *
+     * @return The shortest path engine of the panel.
+     */
+    public DynamicDijkstraAlgorithm getShortestPaths() {
+        return shortestPaths;
+    }
+
+    /**
+     * Checks whether the panel's tree answers for the current graph and source. If it does not,
+     * a tree of the source cached for the current graph version is adopted instead.
+     *
+     * @return True if the panel's tree is current, false if it has to be built first.
+     */
+    public boolean hasCurrentTree() {
+        if (shortestPaths.isUpToDate())
+            return true;
+        Node source = graph.getSource();
+        ShortestPathTree cached = source == null ? null : treeCache.peek(graph, source);
+        return cached != null && shortestPaths.seed(cached);
+    }
+
+    /**
+     * Builds the shortest path tree of the source on a background thread and hands it to the
+     * panel's tree once done, unless a tree for the current graph and source is already being
+     * built. A tree that no longer matches the graph when it arrives is dropped.
+     *
+     * @throws IllegalStateException If the graph is not valid for a search.
+     */
+    public void requestTree() throws IllegalStateException {
+        if (treeSolve != null) {
+            if (treeVersion == graph.getVersion() && treeSource == graph.getSource())
+                return;
+            treeSolve.cancel();
+        }
+
+        AsyncSolver.Solve started = treeSolver.submit(graph, DijkstraAlgorithm.Mode.FULL_TREE, null, null);
+        long version = graph.getVersion();
+        Node source = graph.getSource();
+        treeSolve = started;
+        treeVersion = version;
+        treeSource = source;
+        started.getFuture().whenComplete((result, failure) -> {
+            // Translate the tree here so the event dispatch thread only adopts it
+            DynamicDijkstraAlgorithm.Seed seed =
+                    failure == null ? DynamicDijkstraAlgorithm.prepare(result.getTree()) : null;
+            SwingUtilities.invokeLater(() -> completeTree(started, version, source, result, seed));
+        });
+    }
+
+    private void completeTree(AsyncSolver.Solve started, long version, Node source, AsyncSolver.Result result,
+                              DynamicDijkstraAlgorithm.Seed seed) {
+        if (treeSolve == started)
+            treeSolve = null;
+        if (seed == null || !shortestPaths.seed(seed))
+            return;
+        // Keep the tree for when this source is chosen again on the same graph
+        treeCache.put(graph, version, source, result.getTree());
+        if (pendingPathNode != null && graph.isSolved())
+            setPath(shortestPaths.getPath(pendingPathNode));
+        pendingPathNode = null;
+    }
+
     /**
      * Sets the path to be displayed on the graph.
      *
@@ -71,6 +155,11 @@ public class GraphPanel extends JPanel implements MouseListener, MouseMotionList
             drawUtils.drawPath(pathList);
         }
 
+        if (rangeList != null && graph.getVersion() == rangeVersion) {
+            for (Node node : rangeList)
+                drawUtils.drawRangeHalo(node);
+        }
+
         if (selectedNode != null && cursor != null) {
             Edge e = new Edge(selectedNode, new Node(cursor));
             drawUtils.drawEdge(e);
@@ -109,14 +198,26 @@ public class GraphPanel extends JPanel implements MouseListener, MouseMotionList
         }
 
         if (selected != null) {
-            if (event.isControlDown() && event.isShiftDown()) {
+            if (event.isAltDown()) {
+                showRange(selected);
+                return;
+            } else if (event.isControlDown() && event.isShiftDown()) {
                 graph.deleteNode(selected);
                 graph.setSolved(false);
                 repaint();
                 return;
             } else if (event.isControlDown() && graph.isSolved()) {
-                pathList = selected.getPath();
-                repaint();
+                // Until the tree is current, it is built in the background and the path shown once it arrives
+                if (hasCurrentTree()) {
+                    setPath(shortestPaths.getPath(selected));
+                } else {
+                    pendingPathNode = selected;
+                    try {
+                        requestTree();
+                    } catch (IllegalStateException ise) {
+                        JOptionPane.showMessageDialog(null, ise.getMessage());
+                    }
+                }
                 return;
             } else if (event.isShiftDown()) {
                 if (SwingUtilities.isLeftMouseButton(event)) {
@@ -125,9 +226,14 @@ public class GraphPanel extends JPanel implements MouseListener, MouseMotionList
                     else
                         JOptionPane.showMessageDialog(null, "Destination can't be set as Source");
                 } else if (SwingUtilities.isRightMouseButton(event)) {
-                    if (!graph.isSource(selected))
+                    if (!graph.isSource(selected)) {
                         graph.setDestination(selected);
-                    else
+                        if (graph.isSolved() && hasCurrentTree()) {
+                            // Same source and graph, so the path comes from the panel's tree without a search
+                            setPath(shortestPaths.getPath(selected));
+                            return;
+                        }
+                    } else
                         JOptionPane.showMessageDialog(null, "Source can't be set as Destination");
                 } else
                     return;
@@ -140,7 +246,7 @@ public class GraphPanel extends JPanel implements MouseListener, MouseMotionList
 
         if (hoveredEdge != null) {
             if (event.isControlDown() && event.isShiftDown()) {
-                graph.getEdges().remove(hoveredEdge);
+                graph.removeEdge(hoveredEdge);
                 hoveredEdge = null;
                 graph.setSolved(false);
                 repaint();
@@ -275,11 +381,47 @@ public class GraphPanel extends JPanel implements MouseListener, MouseMotionList
         repaint();
     }
 
+    /**
+     * Asks for a cost budget and highlights every node within it of the given node.
+     * The highlight disappears as soon as the graph is edited.
+     *
+     * @param node The node the budget is measured from.
+     */
+    private void showRange(Node node) {
+        String input = JOptionPane.showInputDialog("Enter cost budget from " + node.toString() + " : ");
+        try {
+            int budget = Integer.parseInt(input);
+            if (budget < 0) {
+                JOptionPane.showMessageDialog(null, "Budget should not be negative");
+                return;
+            }
+
+            AdjacencyIndex index = graph.getAdjacencyIndex();
+            if (rangeContext == null || rangeContext.getIndex() != index)
+                rangeContext = new QueryContext(index);
+            int count = rangeContext.searchWithin(index.indexOf(node), budget);
+            rangeList = new ArrayList<>(count);
+            for (int i = 0; i < count; i++)
+                rangeList.add(index.getNode(rangeContext.getSettledNode(i)));
+            rangeVersion = graph.getVersion();
+            repaint();
+        } catch (NumberFormatException nfe) {
+            // Log or provide more meaningful error message
+        }
+    }
+
     /**
      * Resets the GraphPanel by clearing the graph and resetting selected and hovered states.
      */
     public void reset() {
+        if (treeSolve != null)
+            treeSolve.cancel();
+        treeSolve = null;
+        pendingPathNode = null;
         graph.clear();
+        treeCache.clear();
+        rangeContext = null;
+        rangeList = null;
         selectedNode = null;
         hoveredNode = null;
         hoveredEdge = null;
@@ -1,7 +1,10 @@
 package gui;
 
+import algo.AsyncSolver;
 import algo.DijkstraAlgorithm;
+import algo.DynamicDijkstraAlgorithm;
 import models.Graph;
+import models.Node;
 
 import javax.imageio.ImageIO;
 import javax.swing.*;
@@ -10,7 +13,10 @@ import java.awt.*;
 import java.awt.event.ActionEvent;
 import java.awt.event.ActionListener;
 import java.io.IOException;
+import java.time.Duration;
 import java.util.Objects;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletionException;
 
 /**
  * The main window of the Dijkstra Shortest Path Visualizer application.
@@ -26,9 +32,17 @@ public class MainWindow extends JPanel {
     private static final int SCROLL_PANE_WIDTH = 750;
     private static final int SCROLL_PANE_HEIGHT = 500;
 
+    // Longest time a background solve may take
+    private static final Duration SOLVE_BUDGET = Duration.ofSeconds(30);
+
     public Graph graph;
     public GraphPanel graphPanel;
 
+    private final AsyncSolver solver = new AsyncSolver();
+    private AsyncSolver.Solve solve;                // Solve running in the background, or null
+    private JButton runButton;
+    private JProgressBar progressBar;
+
     /**
      * Constructs the main window with the layout and initializes the graph panel.
      * Also sets up buttons for actions.
@@ -73,15 +87,21 @@ public class MainWindow extends JPanel {
      * Sets up buttons for actions and adds them to the button panel.
      */
     private void setupButtons() {
-        JButton runButton = createButton("run", this::runDijkstraAlgorithm);
+        runButton = createButton("run", this::runDijkstraAlgorithm);
         JButton resetButton = createButton("reset", e -> resetGraph());
         JButton infoButton = createButton("info", e -> displayInfo());
 
+        progressBar = new JProgressBar();
+        progressBar.setIndeterminate(true);
+        progressBar.setStringPainted(true);
+        progressBar.setVisible(false);
+
         JPanel buttonPanel = new JPanel();
         buttonPanel.setBackground(DrawUtils.parseColor("#DDDDDD"));
         buttonPanel.add(resetButton);
         buttonPanel.add(runButton);
         buttonPanel.add(infoButton);
+        buttonPanel.add(progressBar);
 
         add(buttonPanel, BorderLayout.SOUTH);
     }
@@ -121,23 +141,79 @@ public class MainWindow extends JPanel {
 
     /**
      * Runs the Dijkstra algorithm on the graph and updates the graph panel with the result.
+     * While a search runs in the background, the run button cancels it instead.
      *
      * @param event The action event triggering the method.
      */
     public void runDijkstraAlgorithm(ActionEvent event) {
-        DijkstraAlgorithm dijkstraAlgorithm = new DijkstraAlgorithm(graph);
+        if (solve != null) {
+            solve.cancel();
+            return;
+        }
+
+        // The panel's tree is repaired after every edit, and a tree cached for the source is
+        // adopted, so once current it answers without searching; until then a run searches
+        // point-to-point and stops at the destination
+        DynamicDijkstraAlgorithm dijkstraAlgorithm = graphPanel.getShortestPaths();
         try {
-            dijkstraAlgorithm.run();
-            graphPanel.setPath(dijkstraAlgorithm.getDestinationPath());
+            if (graphPanel.hasCurrentTree()) {
+                dijkstraAlgorithm.run();
+                graph.setSolved(true);
+                graphPanel.setPath(dijkstraAlgorithm.getDestinationPath());
+            } else {
+                startSolve();
+            }
         } catch (IllegalStateException ise) {
             JOptionPane.showMessageDialog(null, ise.getMessage());
         }
     }
 
+    /**
+     * Starts a point-to-point search in the background. Progress and the result are handed back to the event
+     * dispatch thread; a result is dropped if the graph was edited while it was computed.
+     *
+     * @throws IllegalStateException If the graph is not valid for a search.
+     */
+    private void startSolve() throws IllegalStateException {
+        long version = graph.getVersion();
+        Node source = graph.getSource();
+        Node destination = graph.getDestination();
+        AsyncSolver.Solve started = solver.submit(graph, DijkstraAlgorithm.Mode.POINT_TO_POINT, SOLVE_BUDGET,
+                (settled, perSecond) -> SwingUtilities.invokeLater(() -> progressBar.setString(
+                        String.format("%,d nodes (%,.0f/s)", settled, perSecond))));
+        solve = started;
+        runButton.setText("Cancel");
+        progressBar.setString("Solving...");
+        progressBar.setVisible(true);
+        revalidate();
+
+        started.getFuture().whenComplete((result, failure) -> SwingUtilities.invokeLater(() -> {
+            solve = null;
+            runButton.setText(null);
+            progressBar.setVisible(false);
+            revalidate();
+
+            if (failure == null) {
+                if (graph.getVersion() == version && graph.getSource() == source && graph.getDestination() == destination) {
+                    graph.setSolved(true);
+                    graphPanel.setPath(result.getPath());
+                    // Build the whole tree in the background too, so later runs and Ctrl+click answer at once
+                    graphPanel.requestTree();
+                }
+            } else {
+                Throwable cause = failure instanceof CompletionException ? failure.getCause() : failure;
+                if (!(cause instanceof CancellationException))
+                    JOptionPane.showMessageDialog(null, cause.getMessage());
+            }
+        }));
+    }
+
     /**
      * Resets the graph by calling the reset method of the graph panel.
      */
     public void resetGraph() {
+        if (solve != null)
+            solve.cancel();
         graphPanel.reset();
     }
 
@@ -154,6 +230,7 @@ public class MainWindow extends JPanel {
                         "Shift + Right Click     :    Set node as the destination\n" +
                         "Ctrl  + Drag               :    Reposition Node\n" +
                         "Ctrl  + Click                :    Get the Path of Node\n" +
+                        "Alt   + Click                :    Highlight Nodes within a Budget\n" +
                         "Ctrl  + Shift + Click   :    Delete Node/Edge\n");
     }
 }
@@ -0,0 +1,331 @@
+package models;
+
+import java.awt.*;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * The AdjacencyIndex class is a compressed-sparse-row (CSR) view of a graph's adjacency.
+ * Every node is mapped to a dense index in {@code [0, size())}, and the arcs leaving a node
+ * occupy the contiguous range {@code [firstArc(u), endArc(u))} of the target and weight arrays.
+ * Since edges are undirected, each edge contributes one arc in each direction.
+ * <p>
+ * An index is immutable once built. The {@link Graph} that owns it builds a fresh one
+ * whenever its nodes, edges or edge weights change. An index built for a {@link CompactGraph}
+ * has no node and edge objects to start with; {@link #getNode(int)} and {@link #getEdge(int)}
+ * create views of the store on first access and return the same view afterwards.
+ */
+public class AdjacencyIndex {
+
+    // Fields
+    private final int size;                     // Number of nodes
+    private final Node[] nodes;                 // Node stored at each dense index, or null for a compact store
+    private final Map<Node, Integer> indices;   // Reverse lookup from node to its dense index, or null for a compact store
+    private final int[] offsets;                // Arcs of node u are [offsets[u], offsets[u + 1])
+    private final int[] targets;                // Dense index of the node at the other end of each arc
+    private final int[] weights;                // Weight of each arc
+    private final Edge[] edges;                 // Edge each arc was built from, or null for a compact store
+    private final Views views;                  // Views of the compact store the index was built from, or null
+    private final int maxWeight;                // Largest edge weight in the index
+
+    /**
+     * Creates and remembers the node and edge views of an index built for a compact store.
+     * Indices are shared between threads, so views are created under the lock of this object.
+     */
+    private static final class Views {
+        private final int size;             // Number of nodes of the store
+        private final int edgeCount;        // Number of edges of the store
+        private final int[] xs;             // Coordinate columns of the store
+        private final int[] ys;
+        private final int[] ones;           // Endpoint columns of the store
+        private final int[] twos;
+        private final int[] arcEdges;       // Store edge each arc was built from
+        private final int[] arcWeights;     // Weight of each arc, shared with the index
+        private Node[] nodes;               // View of each node, created on first access
+        private Map<Node, Integer> indices; // Dense index of every view created so far
+        private Edge[] edges;               // View of each store edge, created on first access
+
+        Views(int size, int edgeCount, int[] xs, int[] ys, int[] ones, int[] twos, int[] arcEdges, int[] arcWeights) {
+            this.size = size;
+            this.edgeCount = edgeCount;
+            this.xs = xs;
+            this.ys = ys;
+            this.ones = ones;
+            this.twos = twos;
+            this.arcEdges = arcEdges;
+            this.arcWeights = arcWeights;
+        }
+
+        synchronized Node node(int index) {
+            if (index < 0 || index >= size)
+                throw new ArrayIndexOutOfBoundsException("Index " + index + " out of bounds for length " + size);
+            if (nodes == null) {
+                nodes = new Node[size];
+                indices = new IdentityHashMap<>();
+            }
+            Node node = nodes[index];
+            if (node == null) {
+                // Identifiers match the ones CompactGraph.toGraph assigns
+                node = new Node(new Point(xs[index], ys[index]));
+                node.setId(index + 1);
+                nodes[index] = node;
+                indices.put(node, index);
+            }
+            return node;
+        }
+
+        synchronized int indexOf(Node node) {
+            Integer index = indices == null ? null : indices.get(node);
+            return index == null ? -1 : index;
+        }
+
+        synchronized Edge edge(int arc) {
+            int e = arcEdges[arc];
+            if (edges == null)
+                edges = new Edge[edgeCount];
+            Edge edge = edges[e];
+            if (edge == null) {
+                edge = new Edge(node(ones[e]), node(twos[e]));
+                edge.setWeight(arcWeights[arc]);
+                edges[e] = edge;
+            }
+            return edge;
+        }
+    }
+
+    /**
+     * Builds an adjacency index over the given nodes and edges.
+     * Edges referring to nodes outside of {@code nodes}, and self loops, are ignored.
+     *
+     * @param nodes The nodes of the graph.
+     * @param edges The edges of the graph.
+     */
+    public AdjacencyIndex(List<Node> nodes, List<Edge> edges) {
+        int n = nodes.size();
+        this.size = n;
+        this.nodes = nodes.toArray(new Node[0]);
+        this.indices = new IdentityHashMap<>(n);
+        for (int i = 0; i < n; i++) {
+            indices.put(this.nodes[i], i);
+        }
+        this.views = null;
+
+        // First pass: count the degree of every node
+        Edge[] kept = new Edge[edges.size()];
+        int[] from = new int[edges.size()];
+        int[] to = new int[edges.size()];
+        offsets = new int[n + 1];
+        int valid = 0;
+        for (Edge edge : edges) {
+            Integer one = indices.get(edge.getNodeOne());
+            Integer two = indices.get(edge.getNodeTwo());
+            if (one == null || two == null || one.intValue() == two.intValue())
+                continue;
+
+            kept[valid] = edge;
+            from[valid] = one;
+            to[valid] = two;
+            offsets[one + 1]++;
+            offsets[two + 1]++;
+            valid++;
+        }
+
+        for (int i = 0; i < n; i++) {
+            offsets[i + 1] += offsets[i];
+        }
+
+        // Second pass: scatter both directions of every edge into its slot
+        targets = new int[2 * valid];
+        weights = new int[2 * valid];
+        this.edges = new Edge[2 * valid];
+        int[] cursor = new int[n];
+        System.arraycopy(offsets, 0, cursor, 0, n);
+
+        int max = 0;
+        for (int e = 0; e < valid; e++) {
+            Edge edge = kept[e];
+            int one = from[e];
+            int two = to[e];
+            int weight = edge.getWeight();
+            max = Math.max(max, weight);
+
+            int arc = cursor[one]++;
+            targets[arc] = two;
+            weights[arc] = weight;
+            this.edges[arc] = edge;
+
+            arc = cursor[two]++;
+            targets[arc] = one;
+            weights[arc] = weight;
+            this.edges[arc] = edge;
+        }
+        maxWeight = max;
+    }
+
+    /**
+     * Builds an adjacency index over the columns of a compact store. Self loops are ignored.
+     * The columns are read, not copied, so entries below the counts must not change afterwards,
+     * except for weights.
+     */
+    AdjacencyIndex(int nodeCount, int edgeCount, int[] xs, int[] ys, int[] ones, int[] twos, int[] edgeWeights) {
+        size = nodeCount;
+        nodes = null;
+        indices = null;
+        edges = null;
+
+        // First pass: count the degree of every node
+        offsets = new int[nodeCount + 1];
+        int valid = 0;
+        for (int e = 0; e < edgeCount; e++) {
+            if (ones[e] == twos[e])
+                continue;
+            offsets[ones[e] + 1]++;
+            offsets[twos[e] + 1]++;
+            valid++;
+        }
+
+        for (int i = 0; i < nodeCount; i++) {
+            offsets[i + 1] += offsets[i];
+        }
+
+        // Second pass: scatter both directions of every edge into its slot
+        targets = new int[2 * valid];
+        weights = new int[2 * valid];
+        int[] arcEdges = new int[2 * valid];
+        int[] cursor = new int[nodeCount];
+        System.arraycopy(offsets, 0, cursor, 0, nodeCount);
+
+        int max = 0;
+        for (int e = 0; e < edgeCount; e++) {
+            int one = ones[e];
+            int two = twos[e];
+            if (one == two)
+                continue;
+            int weight = edgeWeights[e];
+            max = Math.max(max, weight);
+
+            int arc = cursor[one]++;
+            targets[arc] = two;
+            weights[arc] = weight;
+            arcEdges[arc] = e;
+
+            arc = cursor[two]++;
+            targets[arc] = one;
+            weights[arc] = weight;
+            arcEdges[arc] = e;
+        }
+        maxWeight = max;
+        views = new Views(nodeCount, edgeCount, xs, ys, ones, twos, arcEdges, weights);
+    }
+
+    /**
+     * Gets the number of nodes in the index.
+     *
+     * @return The number of nodes.
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Gets the number of arcs in the index, which is twice the number of indexed edges.
+     *
+     * @return The number of arcs.
+     */
+    public int arcCount() {
+        return targets.length;
+    }
+
+    /**
+     * Gets the dense index of a node.
+     *
+     * @param node The node to look up.
+     * @return The dense index of the node, or -1 if the node is not indexed.
+     */
+    public int indexOf(Node node) {
+        if (views != null)
+            return views.indexOf(node);
+        Integer index = indices.get(node);
+        return index == null ? -1 : index;
+    }
+
+    /**
+     * Gets the node stored at a dense index.
+     *
+     * @param index The dense index.
+     * @return The node at that index.
+     */
+    public Node getNode(int index) {
+        return views == null ? nodes[index] : views.node(index);
+    }
+
+    /**
+     * Gets the first arc leaving a node.
+     *
+     * @param index The dense index of the node.
+     * @return The position of the first arc of the node.
+     */
+    public int firstArc(int index) {
+        return offsets[index];
+    }
+
+    /**
+     * Gets the position just past the last arc leaving a node.
+     *
+     * @param index The dense index of the node.
+     * @return The exclusive end position of the arcs of the node.
+     */
+    public int endArc(int index) {
+        return offsets[index + 1];
+    }
+
+    /**
+     * Gets the degree of a node.
+     *
+     * @param index The dense index of the node.
+     * @return The number of arcs leaving the node.
+     */
+    public int degree(int index) {
+        return offsets[index + 1] - offsets[index];
+    }
+
+    /**
+     * Gets the node an arc leads to.
+     *
+     * @param arc The arc position.
+     * @return The dense index of the arc's target node.
+     */
+    public int target(int arc) {
+        return targets[arc];
+    }
+
+    /**
+     * Gets the weight of an arc.
+     *
+     * @param arc The arc position.
+     * @return The weight of the arc.
+     */
+    public int weight(int arc) {
+        return weights[arc];
+    }
+
+    /**
+     * Gets the edge an arc was built from.
+     *
+     * @param arc The arc position.
+     * @return The edge of the arc.
+     */
+    public Edge getEdge(int arc) {
+        return views == null ? edges[arc] : views.edge(arc);
+    }
+
+    /**
+     * Gets the largest edge weight in the index.
+     *
+     * @return The largest edge weight, or 0 if there are no edges.
+     */
+    public int getMaxWeight() {
+        return maxWeight;
+    }
+}
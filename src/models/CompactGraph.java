@@ -0,0 +1,253 @@
+package models;
+
+import java.awt.*;
+import java.util.Arrays;
+
+/**
+ * The CompactGraph class stores a large graph column by column in primitive arrays: the
+ * coordinates of every node, and the two nodes and the weight of every edge. An edge costs
+ * twelve bytes instead of an {@link Edge} object with its list and index entries, and the columns
+ * are scanned sequentially when the adjacency is built.
+ * <p>
+ * Nodes and edges are addressed by dense indices in the order they were added. The searches of
+ * this package run on the store through {@link #getAdjacencyIndex()}, whose {@link Node} and
+ * {@link Edge} objects are lightweight views materialized only when asked for, such as for the
+ * nodes of a path. {@link #toGraph()} copies the store into an editable {@link Graph}.
+ * <p>
+ * Unlike a Graph, the store keeps duplicate edges; a search simply uses the cheapest of them.
+ * Self loops are kept as well and ignored by searches.
+ */
+public class CompactGraph {
+
+    private static final int INITIAL_CAPACITY = 16;
+
+    // Fields
+    private int[] xs;               // x-coordinate of each node
+    private int[] ys;               // y-coordinate of each node
+    private int nodeCount;          // Number of nodes
+    private int[] ones;             // First node of each edge
+    private int[] twos;             // Second node of each edge
+    private int[] weights;          // Weight of each edge
+    private int edgeCount;          // Number of edges
+    private AdjacencyIndex adjacency;   // CSR adjacency index, rebuilt lazily after modifications
+
+    /**
+     * Constructs an empty store.
+     */
+    public CompactGraph() {
+        this(INITIAL_CAPACITY, INITIAL_CAPACITY);
+    }
+
+    /**
+     * Constructs an empty store with room for the given number of nodes and edges.
+     *
+     * @param nodeCapacity The number of nodes to reserve room for.
+     * @param edgeCapacity The number of edges to reserve room for.
+     */
+    public CompactGraph(int nodeCapacity, int edgeCapacity) {
+        xs = new int[Math.max(1, nodeCapacity)];
+        ys = new int[xs.length];
+        ones = new int[Math.max(1, edgeCapacity)];
+        twos = new int[ones.length];
+        weights = new int[ones.length];
+    }
+
+    /**
+     * Copies the nodes and edges of a graph into a new store. Node {@code i} of the store is
+     * node {@code i} of the graph's node list; edges to nodes outside of the list are skipped.
+     *
+     * @param graph The graph to copy.
+     * @return The store holding the graph.
+     */
+    public static CompactGraph of(Graph graph) {
+        AdjacencyIndex index = graph.getAdjacencyIndex();
+        CompactGraph store = new CompactGraph(index.size(), graph.getEdges().size());
+        for (int i = 0; i < index.size(); i++) {
+            Node node = index.getNode(i);
+            store.addNode(node.getX(), node.getY());
+        }
+        for (Edge edge : graph.getEdges()) {
+            int one = index.indexOf(edge.getNodeOne());
+            int two = index.indexOf(edge.getNodeTwo());
+            if (one >= 0 && two >= 0)
+                store.addEdge(one, two, edge.getWeight());
+        }
+        return store;
+    }
+
+    /**
+     * Adds a node to the store.
+     *
+     * @param x The x-coordinate of the node.
+     * @param y The y-coordinate of the node.
+     * @return The dense index of the new node.
+     */
+    public int addNode(int x, int y) {
+        if (nodeCount == xs.length) {
+            xs = Arrays.copyOf(xs, nodeCount * 2);
+            ys = Arrays.copyOf(ys, nodeCount * 2);
+        }
+        xs[nodeCount] = x;
+        ys[nodeCount] = y;
+        adjacency = null;
+        return nodeCount++;
+    }
+
+    /**
+     * Adds an edge between two nodes of the store.
+     *
+     * @param one    The dense index of the first node.
+     * @param two    The dense index of the second node.
+     * @param weight The weight of the edge.
+     * @return The dense index of the new edge.
+     * @throws IndexOutOfBoundsException If a node is not in the store.
+     */
+    public int addEdge(int one, int two, int weight) {
+        checkNode(one);
+        checkNode(two);
+        if (edgeCount == ones.length) {
+            ones = Arrays.copyOf(ones, edgeCount * 2);
+            twos = Arrays.copyOf(twos, edgeCount * 2);
+            weights = Arrays.copyOf(weights, edgeCount * 2);
+        }
+        ones[edgeCount] = one;
+        twos[edgeCount] = two;
+        weights[edgeCount] = weight;
+        adjacency = null;
+        return edgeCount++;
+    }
+
+    /**
+     * Gets the number of nodes in the store.
+     *
+     * @return The number of nodes.
+     */
+    public int nodeCount() {
+        return nodeCount;
+    }
+
+    /**
+     * Gets the number of edges in the store.
+     *
+     * @return The number of edges.
+     */
+    public int edgeCount() {
+        return edgeCount;
+    }
+
+    /**
+     * Gets the x-coordinate of a node.
+     *
+     * @param node The dense index of the node.
+     * @return The x-coordinate of the node.
+     */
+    public int getX(int node) {
+        checkNode(node);
+        return xs[node];
+    }
+
+    /**
+     * Gets the y-coordinate of a node.
+     *
+     * @param node The dense index of the node.
+     * @return The y-coordinate of the node.
+     */
+    public int getY(int node) {
+        checkNode(node);
+        return ys[node];
+    }
+
+    /**
+     * Gets the first node of an edge.
+     *
+     * @param edge The dense index of the edge.
+     * @return The dense index of the first node.
+     */
+    public int getNodeOne(int edge) {
+        checkEdge(edge);
+        return ones[edge];
+    }
+
+    /**
+     * Gets the second node of an edge.
+     *
+     * @param edge The dense index of the edge.
+     * @return The dense index of the second node.
+     */
+    public int getNodeTwo(int edge) {
+        checkEdge(edge);
+        return twos[edge];
+    }
+
+    /**
+     * Gets the weight of an edge.
+     *
+     * @param edge The dense index of the edge.
+     * @return The weight of the edge.
+     */
+    public int getWeight(int edge) {
+        checkEdge(edge);
+        return weights[edge];
+    }
+
+    /**
+     * Sets the weight of an edge.
+     *
+     * @param edge   The dense index of the edge.
+     * @param weight The weight to set for the edge.
+     */
+    public void setWeight(int edge, int weight) {
+        checkEdge(edge);
+        if (weights[edge] != weight) {
+            weights[edge] = weight;
+            adjacency = null;
+        }
+    }
+
+    /**
+     * Gets the CSR adjacency index of the store, building it if the store changed since it was
+     * last built. Dense index {@code i} of the index is node {@code i} of the store, and its nodes
+     * and edges are views created on first access; like any index, it does not follow later
+     * changes of the store.
+     *
+     * @return The adjacency index of the store.
+     */
+    public AdjacencyIndex getAdjacencyIndex() {
+        // Entries below the counts are never overwritten except weights, which the index copies
+        // while it is built, so the index may keep reading the columns without copying them
+        if (adjacency == null)
+            adjacency = new AdjacencyIndex(nodeCount, edgeCount, xs, ys, ones, twos, weights);
+        return adjacency;
+    }
+
+    /**
+     * Copies the store into a new editable graph. Node {@code i} of the store gets identifier
+     * {@code i + 1}, and duplicate edges after the first are dropped, as the graph does not allow them.
+     *
+     * @return The graph holding the nodes and edges of the store.
+     */
+    public Graph toGraph() {
+        Graph graph = new Graph();
+        Node[] nodes = new Node[nodeCount];
+        for (int i = 0; i < nodeCount; i++) {
+            nodes[i] = new Node(new Point(xs[i], ys[i]));
+            graph.addNode(nodes[i]);
+        }
+        for (int e = 0; e < edgeCount; e++) {
+            Edge edge = new Edge(nodes[ones[e]], nodes[twos[e]]);
+            edge.setWeight(weights[e]);
+            graph.addEdge(edge);
+        }
+        return graph;
+    }
+
+    private void checkNode(int node) {
+        if (node < 0 || node >= nodeCount)
+            throw new IndexOutOfBoundsException("Node: " + node + ", Size: " + nodeCount);
+    }
+
+    private void checkEdge(int edge) {
+        if (edge < 0 || edge >= edgeCount)
+            throw new IndexOutOfBoundsException("Edge: " + edge + ", Size: " + edgeCount);
+    }
+}
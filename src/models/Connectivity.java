@@ -0,0 +1,101 @@
+package models;
+
+import java.util.Arrays;
+import java.util.IdentityHashMap;
+import java.util.Map;
+
+/**
+ * The Connectivity class tracks the connected components of a graph with a union-find structure
+ * (union by rank, path halving). Adding nodes and edges updates it in near-constant time; it
+ * cannot undo a union, so the owning {@link Graph} rebuilds it after deletions.
+ */
+class Connectivity {
+
+    // Fields
+    private final Map<Node, Integer> slots = new IdentityHashMap<>();  // Union-find slot of every node
+    private int[] parents = new int[16];
+    private byte[] ranks = new byte[16];
+    private int size;               // Number of slots in use
+    private int components;         // Number of disjoint sets
+
+    /**
+     * Removes every node.
+     */
+    void clear() {
+        slots.clear();
+        size = 0;
+        components = 0;
+    }
+
+    /**
+     * Adds a node as a component of its own. Nodes already present are ignored.
+     *
+     * @param node The node to add.
+     */
+    void add(Node node) {
+        if (slots.containsKey(node))
+            return;
+        if (size == parents.length) {
+            parents = Arrays.copyOf(parents, size * 2);
+            ranks = Arrays.copyOf(ranks, size * 2);
+        }
+        parents[size] = size;
+        ranks[size] = 0;
+        slots.put(node, size++);
+        components++;
+    }
+
+    /**
+     * Merges the components of the two ends of an edge. Edges to unknown nodes are ignored.
+     *
+     * @param edge The edge to add.
+     */
+    void union(Edge edge) {
+        Integer one = slots.get(edge.getNodeOne());
+        Integer two = slots.get(edge.getNodeTwo());
+        if (one == null || two == null)
+            return;
+
+        int rootOne = find(one);
+        int rootTwo = find(two);
+        if (rootOne == rootTwo)
+            return;
+        if (ranks[rootOne] < ranks[rootTwo]) {
+            int swap = rootOne;
+            rootOne = rootTwo;
+            rootTwo = swap;
+        }
+        parents[rootTwo] = rootOne;
+        if (ranks[rootOne] == ranks[rootTwo])
+            ranks[rootOne]++;
+        components--;
+    }
+
+    private int find(int slot) {
+        while (parents[slot] != slot) {
+            parents[slot] = parents[parents[slot]];
+            slot = parents[slot];
+        }
+        return slot;
+    }
+
+    /**
+     * Checks whether two nodes are in the same component.
+     *
+     * @return True if both nodes are known and connected, false otherwise.
+     */
+    boolean connected(Node one, Node two) {
+        Integer slotOne = slots.get(one);
+        Integer slotTwo = slots.get(two);
+        return slotOne != null && slotTwo != null && find(slotOne) == find(slotTwo);
+    }
+
+    /**
+     * Gets the number of connected components.
+     *
+     * @return The number of components.
+     */
+    int components() {
+        return components;
+    }
+}
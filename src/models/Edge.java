@@ -7,9 +7,13 @@ package models;
 public class Edge {
 
     // Fields
-    private Node one;       // First node of the edge
-    private Node two;       // Second node of the edge
+    private final Node one; // First node of the edge
+    private final Node two; // Second node of the edge
     private int weight = 1;  // Weight of the edge (default value is 1)
+    Graph graph;             // Graph the edge belongs to, notified when the weight changes
+    int slot = -1;           // Position in the edge list of its graph
+    int slotOne = -1;        // Position in the incidence list of the first node
+    int slotTwo = -1;        // Position in the incidence list of the second node
 
     /**
      * Constructs an Edge between two nodes.
@@ -46,7 +50,10 @@ public class Edge {
      * @param weight The weight to set for the edge.
      */
     public void setWeight(int weight) {
+        int oldWeight = this.weight;
         this.weight = weight;
+        if (graph != null && weight != oldWeight)
+            graph.edgeWeightChanged(this, oldWeight);
     }
 
     /**
@@ -69,15 +76,29 @@ public class Edge {
     }
 
     /**
-     * Checks whether two edges are equal.
+     * Checks whether two edges are equal. Edges are undirected, so the order of the nodes does not matter.
      *
-     * @param edge The edge to compare with.
-     * @return True if the edges are equal (connecting the same nodes), false otherwise.
+     * @param other The object to compare with.
+     * @return True if the other object is an edge connecting the same nodes, false otherwise.
      */
-    public boolean equals(Edge edge) {
+    @Override
+    public boolean equals(Object other) {
+        if (!(other instanceof Edge))
+            return false;
+        Edge edge = (Edge) other;
         return (one == edge.one && two == edge.two) || (one == edge.two && two == edge.one);
     }
 
+    /**
+     * Returns a hash code consistent with {@link #equals(Object)}, independent of the order of the nodes.
+     *
+     * @return The hash code of the edge.
+     */
+    @Override
+    public int hashCode() {
+        return System.identityHashCode(one) + System.identityHashCode(two);
+    }
+
     /**
      * Returns a string representation of the edge.
      *
@@ -0,0 +1,160 @@
+package models;
+
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * The EdgeIndex class finds the edge of a graph between two nodes in constant expected time.
+ * <p>
+ * Edges are keyed by the identity hash codes of their nodes, smaller first, packed into a long,
+ * so both orientations of an edge get the same key. Keys live in an open-addressing table with
+ * linear probing and no boxing. Identity hash codes never change, so node identifiers may be
+ * reassigned, or not assigned yet, while edges are indexed. Nodes that happen to share a hash code
+ * only share probe sequences, since a match is always confirmed with {@link Edge#equals(Object)}.
+ */
+class EdgeIndex {
+
+    private static final int INITIAL_CAPACITY = 16;
+
+    // Fields
+    private long[] keys = new long[INITIAL_CAPACITY];       // Packed node identifiers of each slot
+    private Edge[] edges = new Edge[INITIAL_CAPACITY];      // Edge of each slot, or null if empty
+    private int size;                                       // Number of indexed edges
+
+    /**
+     * Packs the identity hash codes of the nodes of an edge, smaller first.
+     */
+    private static long key(Edge edge) {
+        int one = System.identityHashCode(edge.getNodeOne());
+        int two = System.identityHashCode(edge.getNodeTwo());
+        return one <= two
+                ? (long) one << 32 | (two & 0xFFFFFFFFL)
+                : (long) two << 32 | (one & 0xFFFFFFFFL);
+    }
+
+    private int slot(long key) {
+        // Fibonacci hashing spreads consecutive identifiers over the whole table
+        return (int) ((key * 0x9E3779B97F4A7C15L) >>> 32) & (edges.length - 1);
+    }
+
+    /**
+     * Gets the number of indexed edges.
+     *
+     * @return The number of edges.
+     */
+    int size() {
+        return size;
+    }
+
+    /**
+     * Finds the indexed edge connecting the same nodes as the given one.
+     *
+     * @param edge The edge to look up.
+     * @return The indexed edge, or null if there is none.
+     */
+    Edge find(Edge edge) {
+        long key = key(edge);
+        int mask = edges.length - 1;
+        for (int i = slot(key); edges[i] != null; i = (i + 1) & mask) {
+            if (keys[i] == key && edges[i].equals(edge))
+                return edges[i];
+        }
+        return null;
+    }
+
+    /**
+     * Indexes an edge unless an edge connecting the same nodes already is.
+     *
+     * @param edge The edge to index.
+     * @return True if the edge was added, false if it duplicates an indexed edge.
+     */
+    boolean add(Edge edge) {
+        long key = key(edge);
+        int mask = edges.length - 1;
+        int i = slot(key);
+        for (; edges[i] != null; i = (i + 1) & mask) {
+            if (keys[i] == key && edges[i].equals(edge))
+                return false;
+        }
+        keys[i] = key;
+        edges[i] = edge;
+        // Keep the table at most half full, so probe sequences stay short
+        if (++size * 2 > edges.length)
+            resize(edges.length * 2);
+        return true;
+    }
+
+    /**
+     * Removes the indexed edge connecting the same nodes as the given one.
+     *
+     * @param edge The edge to remove.
+     * @return The removed edge, or null if there was none.
+     */
+    Edge remove(Edge edge) {
+        long key = key(edge);
+        int mask = edges.length - 1;
+        int i = slot(key);
+        for (; edges[i] != null; i = (i + 1) & mask) {
+            if (keys[i] == key && edges[i].equals(edge))
+                break;
+        }
+        Edge removed = edges[i];
+        if (removed == null)
+            return null;
+
+        // Shift later entries of the probe run back, so no tombstones are needed
+        int hole = i;
+        for (int j = (i + 1) & mask; edges[j] != null; j = (j + 1) & mask) {
+            int home = slot(keys[j]);
+            if (((j - home) & mask) >= ((j - hole) & mask)) {
+                keys[hole] = keys[j];
+                edges[hole] = edges[j];
+                hole = j;
+            }
+        }
+        edges[hole] = null;
+        size--;
+        return removed;
+    }
+
+    /**
+     * Replaces the contents of the index with the given edges. Later duplicates are skipped.
+     *
+     * @param edges The edges to index.
+     */
+    void rebuild(List<Edge> edges) {
+        int capacity = INITIAL_CAPACITY;
+        while (capacity < edges.size() * 2)
+            capacity *= 2;
+        keys = new long[capacity];
+        this.edges = new Edge[capacity];
+        size = 0;
+        for (Edge edge : edges)
+            add(edge);
+    }
+
+    /**
+     * Removes every edge from the index.
+     */
+    void clear() {
+        Arrays.fill(edges, null);
+        size = 0;
+    }
+
+    private void resize(int capacity) {
+        long[] oldKeys = keys;
+        Edge[] oldEdges = edges;
+        keys = new long[capacity];
+        edges = new Edge[capacity];
+        int mask = capacity - 1;
+        for (int j = 0; j < oldEdges.length; j++) {
+            if (oldEdges[j] == null)
+                continue;
+            int i = slot(oldKeys[j]);
+            while (edges[i] != null)
+                i = (i + 1) & mask;
+            keys[i] = oldKeys[j];
+            edges[i] = oldEdges[j];
+        }
+    }
+}
@@ -2,21 +2,48 @@ package models;
 
 import java.awt.*;
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
 import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
 
 /**
  * The Graph class represents a graph consisting of nodes and edges.
  * It provides functionality for managing nodes, edges, and solving path-related problems.
+ * <p>
+ * Every node keeps the list of its incident edges, and nodes and edges know their position in
+ * the lists of the graph, so deleting a node only touches its own edges: removals move the last
+ * element of a list into the freed position. The order of the lists therefore changes when
+ * something is removed. A node or edge belongs to at most one graph at a time.
+ * <p>
+ * Node identifiers are handed out densely: the identifier of a deleted node is given to the next
+ * node added, so identifiers stay below {@link #getIdBound()} and can index arrays directly.
+ * {@link #getNode(int)} finds a node by its identifier in constant time.
+ * <p>
+ * The node and edge lists are exposed read-only, so every change goes through the methods of the
+ * graph and is reflected in its version.
  */
 public class Graph {
 
     // Fields
     private int count = 1;             // Counter for assigning unique IDs to nodes
+    private Node[] nodesById = new Node[16];    // Node of each identifier, or null if the identifier is free
+    private int[] freeIds = new int[16];        // Identifiers of deleted nodes, reused by later nodes
+    private int freeIdCount;                    // Number of identifiers in freeIds
     private List<Node> nodes = new ArrayList<>();           // List of nodes in the graph
     private List<Edge> edges = new ArrayList<>();           // List of edges in the graph
+    private List<Node> nodeView = Collections.unmodifiableList(nodes);  // Read-only view of nodes
+    private List<Edge> edgeView = Collections.unmodifiableList(edges);  // Read-only view of edges
+    private final EdgeIndex edgeIndex = new EdgeIndex();    // Edges by their nodes, for duplicate checks
     private Node source;                // Source node for path-related problems
     private Node destination;           // Destination node for path-related problems
     private boolean solved;             // Flag indicating whether a path has been solved
+    private AdjacencyIndex adjacency;   // CSR adjacency index, rebuilt lazily after modifications
+    private long version;               // Incremented by every modification of nodes, edges or weights
+    private final Connectivity connectivity = new Connectivity();   // Connected components of the graph
+    private boolean connectivityStale;  // Set after deletions, which a union-find cannot undo
+    private final List<GraphListener> listeners = new CopyOnWriteArrayList<>();  // Notified of every modification
 
     /**
      * Sets the flag indicating whether a path has been solved.
@@ -37,53 +64,184 @@ public class Graph {
     }
 
     /**
-     * Sets the list of nodes in the graph.
+     * Sets the list of nodes in the graph. The graph keeps the list and changes it from then on,
+     * so it must not be changed other than through the graph.
      *
      * @param nodes The list of nodes to set.
      */
     public void setNodes(List<Node> nodes) {
         this.nodes = nodes;
+        nodeView = Collections.unmodifiableList(nodes);
+        rebuildNodeSlots();
+        rebuildIds();
+        rebuildEdgeStorage();
+        invalidateAdjacency();
+        connectivityStale = true;
+        for (GraphListener listener : listeners)
+            listener.graphReplaced();
     }
 
     /**
      * Gets the list of nodes in the graph.
      *
-     * @return The list of nodes in the graph.
+     * @return A read-only view of the nodes in the graph.
      */
     public List<Node> getNodes() {
-        return nodes;
+        return nodeView;
     }
 
     /**
-     * Sets the list of edges in the graph.
+     * Sets the list of edges in the graph. The graph keeps the list and changes it from then on,
+     * so it must not be changed other than through the graph.
      *
      * @param edges The list of edges to set.
      */
     public void setEdges(List<Edge> edges) {
+        for (Edge edge : this.edges)
+            edge.graph = null;
         this.edges = edges;
+        edgeView = Collections.unmodifiableList(edges);
+        for (Edge edge : edges)
+            edge.graph = this;
+        rebuildEdgeStorage();
+        invalidateAdjacency();
+        connectivityStale = true;
+        for (GraphListener listener : listeners)
+            listener.graphReplaced();
     }
 
     /**
      * Gets the list of edges in the graph.
      *
-     * @return The list of edges in the graph.
+     * @return A read-only view of the edges in the graph.
      */
     public List<Edge> getEdges() {
-        return edges;
+        return edgeView;
     }
 
     /**
-     * Checks whether a node is reachable in the graph.
+     * Gets the CSR adjacency index of the graph, building it if the graph changed since it was last built.
+     *
+     * @return The adjacency index of the graph.
+     */
+    public AdjacencyIndex getAdjacencyIndex() {
+        if (adjacency == null)
+            adjacency = new AdjacencyIndex(nodes, edges);
+        return adjacency;
+    }
+
+    /**
+     * Gets the connected components of the graph, rebuilding them if nodes or edges were removed.
+     */
+    private Connectivity connectivity() {
+        if (connectivityStale) {
+            connectivity.clear();
+            for (Node node : nodes)
+                connectivity.add(node);
+            for (Edge edge : edges)
+                connectivity.union(edge);
+            connectivityStale = false;
+        }
+        return connectivity;
+    }
+
+    /**
+     * Checks whether every node of the graph can be reached from every other node.
+     *
+     * @return True if the graph has at most one connected component, false otherwise.
+     */
+    public boolean isConnected() {
+        return connectivity().components() <= 1;
+    }
+
+    /**
+     * Gets the number of connected components of the graph.
+     *
+     * @return The number of connected components.
+     */
+    public int getComponentCount() {
+        return connectivity().components();
+    }
+
+    /**
+     * Checks whether two nodes of the graph are connected by a path.
+     *
+     * @param one The first node.
+     * @param two The second node.
+     * @return True if both nodes belong to the graph and are connected, false otherwise.
+     */
+    public boolean areConnected(Node one, Node two) {
+        return connectivity().connected(one, two);
+    }
+
+    /**
+     * Takes a frozen snapshot of the graph, which any number of threads may query while the graph
+     * itself keeps being edited. Snapshots of an unchanged graph share the same adjacency index.
+     *
+     * @return A snapshot of the current nodes, edges, weights, source and destination.
+     */
+    public GraphSnapshot snapshot() {
+        AdjacencyIndex index = getAdjacencyIndex();
+        return new GraphSnapshot(index, version, source, destination);
+    }
+
+    /**
+     * Gets the modification version of the graph. Every change to the nodes, the edges or an edge
+     * weight increases it, so results computed at one version stay valid while it is unchanged.
+     *
+     * @return The current version of the graph.
+     */
+    public long getVersion() {
+        return version;
+    }
+
+    /**
+     * Discards the adjacency index so that it is rebuilt on next use, and bumps the version.
+     * Called whenever nodes, edges or edge weights change.
+     */
+    void invalidateAdjacency() {
+        adjacency = null;
+        version++;
+    }
+
+    /**
+     * Called by an edge of the graph after its weight changed.
+     *
+     * @param edge      The edge whose weight changed.
+     * @param oldWeight The previous weight of the edge.
+     */
+    void edgeWeightChanged(Edge edge, int oldWeight) {
+        invalidateAdjacency();
+        for (GraphListener listener : listeners)
+            listener.edgeWeightChanged(edge, oldWeight);
+    }
+
+    /**
+     * Registers a listener to be notified of every modification of the graph.
+     *
+     * @param listener The listener to add.
+     */
+    public void addGraphListener(GraphListener listener) {
+        listeners.add(listener);
+    }
+
+    /**
+     * Unregisters a listener.
+     *
+     * @param listener The listener to remove.
+     */
+    public void removeGraphListener(GraphListener listener) {
+        listeners.remove(listener);
+    }
+
+    /**
+     * Checks whether a node is reachable from the source node.
      *
      * @param node The node to check for reachability.
-     * @return True if the node is reachable, false otherwise.
+     * @return True if there is a source and the node is connected to it, false otherwise.
      */
     public boolean isNodeReachable(Node node) {
-        for (Edge edge : edges)
-            if (node == edge.getNodeOne() || node == edge.getNodeTwo())
-                return true;
-
-        return false;
+        return source != null && areConnected(source, node);
     }
 
     /**
@@ -92,7 +250,7 @@ public class Graph {
      * @param node The source node to set.
      */
     public void setSource(Node node) {
-        if (nodes.contains(node))
+        if (node != null && nodeSlot(node) >= 0)
             source = node;
     }
 
@@ -102,7 +260,7 @@ public class Graph {
      * @param node The destination node to set.
      */
     public void setDestination(Node node) {
-        if (nodes.contains(node))
+        if (node != null && nodeSlot(node) >= 0)
             destination = node;
     }
 
@@ -160,10 +318,83 @@ public class Graph {
      * @param node The node to add to the graph.
      */
     public void addNode(Node node) {
-        node.setId(count++);
+        node.setId(freeIdCount > 0 ? freeIds[--freeIdCount] : count++);
+        putId(node);
+        node.slot = nodes.size();
         nodes.add(node);
-        if (node.getId() == 1)
+        invalidateAdjacency();
+        if (!connectivityStale)
+            connectivity.add(node);
+        if (source == null)
             source = node;
+        for (GraphListener listener : listeners)
+            listener.nodeAdded(node);
+    }
+
+    /**
+     * Finds a node of the graph by its identifier.
+     *
+     * @param id The identifier of the node.
+     * @return The node with that identifier, or null if there is none.
+     */
+    public Node getNode(int id) {
+        return findId(id);
+    }
+
+    /**
+     * Gets a bound of the node identifiers. Identifiers handed out by the graph are in
+     * {@code [1, getIdBound())}, and deleted nodes leave their identifiers to later nodes.
+     *
+     * @return One more than the largest identifier handed out.
+     */
+    public int getIdBound() {
+        return count;
+    }
+
+    private Node findId(int id) {
+        Node node = id > 0 && id < nodesById.length ? nodesById[id] : null;
+        return node != null && node.getId() == id ? node : null;
+    }
+
+    private void putId(Node node) {
+        int id = node.getId();
+        if (id >= nodesById.length)
+            nodesById = Arrays.copyOf(nodesById, Math.max(id + 1, nodesById.length * 2));
+        nodesById[id] = node;
+    }
+
+    private void releaseId(Node node) {
+        int id = node.getId();
+        if (findId(id) != node)
+            return;
+        nodesById[id] = null;
+        if (freeIdCount == freeIds.length)
+            freeIds = Arrays.copyOf(freeIds, freeIdCount * 2);
+        freeIds[freeIdCount++] = id;
+    }
+
+    /**
+     * Indexes the identifiers of the node list again. Of nodes sharing an identifier the first
+     * is indexed, and nodes without a positive identifier are not indexed; unused identifiers
+     * below the largest one become free, smallest first.
+     */
+    private void rebuildIds() {
+        int maxId = 0;
+        for (Node node : nodes)
+            maxId = Math.max(maxId, node.getId());
+        nodesById = new Node[Math.max(16, maxId + 1)];
+        for (Node node : nodes) {
+            int id = node.getId();
+            if (id > 0 && nodesById[id] == null)
+                putId(node);
+        }
+        count = maxId + 1;
+        freeIdCount = 0;
+        freeIds = new int[Math.max(16, count)];
+        for (int id = count - 1; id > 0; id--) {
+            if (nodesById[id] == null)
+                freeIds[freeIdCount++] = id;
+        }
     }
 
     /**
@@ -172,15 +403,126 @@ public class Graph {
      * @param new_edge The edge to add to the graph.
      */
     public void addEdge(Edge new_edge) {
-        boolean added = false;
+        if (edgeIndex.add(new_edge)) {
+            attach(new_edge);
+            new_edge.graph = this;
+            invalidateAdjacency();
+            if (!connectivityStale)
+                connectivity.union(new_edge);
+            for (GraphListener listener : listeners)
+                listener.edgeAdded(new_edge);
+        }
+    }
+
+    /**
+     * Finds the edge of the graph connecting two nodes.
+     *
+     * @param one The first node.
+     * @param two The second node.
+     * @return The edge connecting the nodes in either direction, or null if there is none.
+     */
+    public Edge getEdge(Node one, Node two) {
+        return edgeIndex.find(new Edge(one, two));
+    }
+
+    /**
+     * Removes an edge from the graph.
+     *
+     * @param edge The edge to remove from the graph, or any edge connecting the same nodes.
+     */
+    public void removeEdge(Edge edge) {
+        Edge removed = edgeIndex.remove(edge);
+        if (removed != null) {
+            detach(removed);
+            removed.graph = null;
+            invalidateAdjacency();
+            connectivityStale = true;
+            for (GraphListener listener : listeners)
+                listener.edgeRemoved(removed);
+        }
+    }
+
+    /**
+     * Rebuilds the edge index, the positions of the edges and the incidence lists of the nodes.
+     */
+    private void rebuildEdgeStorage() {
+        edgeIndex.rebuild(edges);
+        for (Node node : nodes)
+            node.incidentEdges.clear();
         for (Edge edge : edges) {
-            if (edge.equals(new_edge)) {
-                added = true;
-                break;
-            }
+            edge.getNodeOne().incidentEdges.clear();
+            edge.getNodeTwo().incidentEdges.clear();
+        }
+        for (int i = 0; i < edges.size(); i++) {
+            Edge edge = edges.get(i);
+            edge.slot = i;
+            link(edge);
+        }
+    }
+
+    private void rebuildNodeSlots() {
+        for (int i = 0; i < nodes.size(); i++)
+            nodes.get(i).slot = i;
+    }
+
+    /**
+     * Gets the position of a node in the node list in constant time.
+     *
+     * @return The position of the node, or -1 if it is not part of the graph.
+     */
+    private int nodeSlot(Node node) {
+        int slot = node.slot;
+        return slot >= 0 && slot < nodes.size() && nodes.get(slot) == node ? slot : -1;
+    }
+
+    /**
+     * Appends an edge to the edge list and to the incidence lists of its nodes.
+     */
+    private void attach(Edge edge) {
+        edge.slot = edges.size();
+        edges.add(edge);
+        link(edge);
+    }
+
+    private static void link(Edge edge) {
+        Node one = edge.getNodeOne();
+        Node two = edge.getNodeTwo();
+        edge.slotOne = one.incidentEdges.size();
+        one.incidentEdges.add(edge);
+        if (two != one) {
+            edge.slotTwo = two.incidentEdges.size();
+            two.incidentEdges.add(edge);
+        } else {
+            edge.slotTwo = edge.slotOne;
+        }
+    }
+
+    /**
+     * Removes an edge from the edge list and from the incidence lists of its nodes, moving the
+     * last element of each list into the freed position.
+     */
+    private void detach(Edge edge) {
+        Edge last = edges.remove(edges.size() - 1);
+        if (last != edge) {
+            edges.set(edge.slot, last);
+            last.slot = edge.slot;
+        }
+        removeIncident(edge.getNodeOne(), edge.slotOne);
+        if (edge.getNodeTwo() != edge.getNodeOne())
+            removeIncident(edge.getNodeTwo(), edge.slotTwo);
+        edge.slot = edge.slotOne = edge.slotTwo = -1;
+    }
+
+    private static void removeIncident(Node node, int slot) {
+        List<Edge> incident = node.incidentEdges;
+        Edge last = incident.remove(incident.size() - 1);
+        if (slot < incident.size()) {
+            incident.set(slot, last);
+            if (last.getNodeOne() == node)
+                last.slotOne = slot;
+            if (last.getNodeTwo() == node)
+                last.slotTwo = slot;
         }
-        if (!added)
-            edges.add(new_edge);
     }
 
     /**
@@ -189,16 +531,49 @@ public class Graph {
      * @param node The node to delete from the graph.
      */
     public void deleteNode(Node node) {
-        List<Edge> delete = new ArrayList<>();
-        for (Edge edge : edges) {
-            if (edge.hasNode(node)) {
-                delete.add(edge);
+        deleteNodes(Collections.singletonList(node));
+    }
+
+    /**
+     * Deletes several nodes from the graph along with their associated edges. The graph is
+     * invalidated once for the whole batch, and listeners hear of every deleted node, each with
+     * the edges removed with it. Nodes that are not part of the graph are skipped.
+     *
+     * @param delete The nodes to delete from the graph.
+     */
+    public void deleteNodes(Collection<Node> delete) {
+        List<Node> deleted = new ArrayList<>();
+        List<List<Edge>> deletedEdges = new ArrayList<>();
+        for (Node node : delete) {
+            int slot = nodeSlot(node);
+            if (slot < 0)
+                continue;
+
+            List<Edge> incident = new ArrayList<>(node.incidentEdges);
+            for (Edge edge : incident) {
+                detach(edge);
+                edgeIndex.remove(edge);
+                edge.graph = null;
             }
+            Node last = nodes.remove(nodes.size() - 1);
+            if (last != node) {
+                nodes.set(slot, last);
+                last.slot = slot;
+            }
+            node.slot = -1;
+            releaseId(node);
+            deleted.add(node);
+            deletedEdges.add(incident);
         }
-        for (Edge edge : delete) {
-            edges.remove(edge);
+        if (deleted.isEmpty())
+            return;
+
+        invalidateAdjacency();
+        connectivityStale = true;
+        for (int i = 0; i < deleted.size(); i++) {
+            for (GraphListener listener : listeners)
+                listener.nodeDeleted(deleted.get(i), deletedEdges.get(i));
         }
-        nodes.remove(node);
     }
 
     /**
@@ -207,11 +582,27 @@ public class Graph {
      */
     public void clear() {
         count = 1;
+        Arrays.fill(nodesById, null);
+        freeIdCount = 0;
+        for (Edge edge : edges) {
+            edge.graph = null;
+            edge.slot = edge.slotOne = edge.slotTwo = -1;
+            edge.getNodeOne().incidentEdges.clear();
+            edge.getNodeTwo().incidentEdges.clear();
+        }
+        for (Node node : nodes)
+            node.slot = -1;
         nodes.clear();
         edges.clear();
+        edgeIndex.clear();
+        invalidateAdjacency();
+        connectivity.clear();
+        connectivityStale = false;
         solved = false;
 
         source = null;
         destination = null;
+        for (GraphListener listener : listeners)
+            listener.graphReplaced();
     }
 }
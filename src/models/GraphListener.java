@@ -0,0 +1,53 @@
+package models;
+
+import java.util.List;
+
+/**
+ * The GraphListener interface receives notifications about the structural changes of a
+ * {@link Graph}, so that derived data can be updated instead of recomputed.
+ * Every notification is sent after the graph has been changed. All methods do nothing by default.
+ */
+public interface GraphListener {
+
+    /**
+     * Called after a node has been added to the graph.
+     *
+     * @param node The added node.
+     */
+    default void nodeAdded(Node node) {}
+
+    /**
+     * Called after a node and its edges have been deleted from the graph.
+     *
+     * @param node  The deleted node.
+     * @param edges The edges deleted along with the node.
+     */
+    default void nodeDeleted(Node node, List<Edge> edges) {}
+
+    /**
+     * Called after an edge has been added to the graph.
+     *
+     * @param edge The added edge.
+     */
+    default void edgeAdded(Edge edge) {}
+
+    /**
+     * Called after an edge has been removed from the graph.
+     *
+     * @param edge The removed edge.
+     */
+    default void edgeRemoved(Edge edge) {}
+
+    /**
+     * Called after the weight of an edge of the graph has changed.
+     *
+     * @param edge      The edge, already carrying its new weight.
+     * @param oldWeight The weight of the edge before the change.
+     */
+    default void edgeWeightChanged(Edge edge, int oldWeight) {}
+
+    /**
+     * Called after the nodes or edges of the graph have been replaced or cleared as a whole.
+     */
+    default void graphReplaced() {}
+}
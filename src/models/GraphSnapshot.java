@@ -0,0 +1,92 @@
+package models;
+
+import java.util.AbstractList;
+import java.util.List;
+import java.util.RandomAccess;
+
+/**
+ * The GraphSnapshot class is a frozen, read-only copy of the structure of a {@link Graph}: its
+ * nodes, its adjacency with the edge weights of the moment, and its source and destination.
+ * <p>
+ * Later edits of the graph do not show through a snapshot, and a snapshot never changes, so any
+ * number of threads may read it at once without locking. The nodes themselves are shared with
+ * the graph and only serve as identities; readers must not modify them.
+ */
+public final class GraphSnapshot {
+
+    // Fields
+    private final AdjacencyIndex index;     // Immutable adjacency of the graph at the time of the snapshot
+    private final long version;             // Version of the graph the snapshot was taken from
+    private final Node source;              // Source node at the time of the snapshot, or null
+    private final Node destination;         // Destination node at the time of the snapshot, or null
+
+    GraphSnapshot(AdjacencyIndex index, long version, Node source, Node destination) {
+        this.index = index;
+        this.version = version;
+        this.source = source;
+        this.destination = destination;
+    }
+
+    /**
+     * Gets the adjacency index of the snapshot.
+     *
+     * @return The immutable adjacency index.
+     */
+    public AdjacencyIndex getIndex() {
+        return index;
+    }
+
+    /**
+     * Gets the version of the graph the snapshot was taken from.
+     *
+     * @return The graph version.
+     */
+    public long getVersion() {
+        return version;
+    }
+
+    /**
+     * Gets the source node at the time of the snapshot.
+     *
+     * @return The source node, or null if none was set.
+     */
+    public Node getSource() {
+        return source;
+    }
+
+    /**
+     * Gets the destination node at the time of the snapshot.
+     *
+     * @return The destination node, or null if none was set.
+     */
+    public Node getDestination() {
+        return destination;
+    }
+
+    /**
+     * Gets the nodes of the snapshot, in the order of their dense indices.
+     *
+     * @return An unmodifiable list of the nodes.
+     */
+    public List<Node> getNodes() {
+        return new NodeList();
+    }
+
+    /**
+     * Read-only view of the nodes of the index.
+     */
+    private final class NodeList extends AbstractList<Node> implements RandomAccess {
+
+        @Override
+        public Node get(int i) {
+            if (i < 0 || i >= index.size())
+                throw new IndexOutOfBoundsException("Index: " + i + ", Size: " + index.size());
+            return index.getNode(i);
+        }
+
+        @Override
+        public int size() {
+            return index.size();
+        }
+    }
+}
@@ -1,6 +1,7 @@
 package models;
 
 import java.awt.*;
+import java.util.ArrayList;
 import java.util.List;
 
 /**
@@ -18,6 +19,12 @@ public class Node {
     /** The list of nodes representing a path associated with this node. */
     private List<Node> path;
 
+    /** The position of the node in the node list of its graph, kept up to date by the graph. */
+    int slot = -1;
+
+    /** The edges of its graph touching the node, kept up to date by the graph. */
+    final List<Edge> incidentEdges = new ArrayList<>();
+
     /**
      * Constructs an empty {@code Node}. The coordinates and identifier need to be set separately.
      */
@@ -114,6 +121,26 @@ public class Node {
         return id;
     }
 
+    /**
+     * Gets the number of edges of its graph touching the node.
+     *
+     * @return The number of incident edges.
+     */
+    public int getDegree() {
+        return incidentEdges.size();
+    }
+
+    /**
+     * Gets an edge of its graph touching the node. Positions change when edges are removed.
+     *
+     * @param i The position of the edge, in {@code [0, getDegree())}.
+     * @return The incident edge at that position.
+     * @throws IndexOutOfBoundsException If the position is out of range.
+     */
+    public Edge getIncidentEdge(int i) {
+        return incidentEdges.get(i);
+    }
+
     /**
      * Returns a string representation of the node.
      *
@@ -0,0 +1,103 @@
+package tests;
+
+import algo.AStarAlgorithm;
+import algo.DijkstraAlgorithm;
+import models.Edge;
+import models.Graph;
+import models.Node;
+import org.junit.jupiter.api.Test;
+
+import java.awt.*;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Testing strategy for AStarAlgorithm:
+ *
+ * 1. Weights unrelated to the drawing: distances match DijkstraAlgorithm,
+ *    so the scaled heuristic stays admissible.
+ *
+ * 2. Geometric weights: distances match DijkstraAlgorithm run on a copy of the
+ *    graph whose weights were set to the rounded-up edge lengths.
+ *
+ * 3. Spatial grid: A* settles fewer nodes than Dijkstra for a far destination.
+ */
+class AStarAlgorithmTest {
+
+    @Test
+    void testMatchesDijkstraWithArbitraryWeights() {
+        Random random = new Random(17);
+        for (int round = 0; round < 30; round++) {
+            Graph graph = AdjacencyIndexTest.randomConnectedGraph(random, 60 + random.nextInt(60), 150);
+            List<Node> nodes = graph.getNodes();
+            graph.setSource(nodes.get(random.nextInt(nodes.size())));
+            graph.setDestination(nodes.get(random.nextInt(nodes.size())));
+
+            DijkstraAlgorithm dijkstraAlgorithm = new DijkstraAlgorithm(graph);
+            dijkstraAlgorithm.run();
+            AStarAlgorithm aStar = new AStarAlgorithm(graph);
+            aStar.run();
+
+            assertEquals(dijkstraAlgorithm.getDestinationDistance(), aStar.getDestinationDistance());
+            assertEquals(aStar.getDestinationDistance().intValue(),
+                    AdjacencyIndexTest.pathCost(graph, aStar.getDestinationPath()));
+        }
+    }
+
+    @Test
+    void testGeometricWeights() {
+        Random random = new Random(19);
+        Graph graph = AdjacencyIndexTest.randomConnectedGraph(random, 150, 300);
+        AStarAlgorithm aStar = new AStarAlgorithm(graph, true);
+        aStar.run();
+
+        for (Edge edge : graph.getEdges()) {
+            double length = edge.getNodeOne().getCoord().distance(edge.getNodeTwo().getCoord());
+            edge.setWeight(Math.max(1, (int) Math.ceil(length)));
+        }
+        DijkstraAlgorithm dijkstraAlgorithm = new DijkstraAlgorithm(graph);
+        dijkstraAlgorithm.run();
+
+        assertEquals(dijkstraAlgorithm.getDestinationDistance(), aStar.getDestinationDistance());
+    }
+
+    @Test
+    void testSettlesFewerNodesOnGrid() {
+        Graph graph = new Graph();
+        int side = 30;
+        for (int y = 0; y < side; y++) {
+            for (int x = 0; x < side; x++) {
+                graph.addNode(new Point(x * 50, y * 50));
+            }
+        }
+        List<Node> nodes = graph.getNodes();
+        for (int y = 0; y < side; y++) {
+            for (int x = 0; x < side; x++) {
+                Node node = nodes.get(y * side + x);
+                if (x + 1 < side)
+                    addEdge(graph, node, nodes.get(y * side + x + 1), 50);
+                if (y + 1 < side)
+                    addEdge(graph, node, nodes.get((y + 1) * side + x), 50);
+            }
+        }
+        graph.setSource(nodes.get(side * (side / 2)));
+        graph.setDestination(nodes.get(side * (side / 2) + side - 1));
+
+        DijkstraAlgorithm dijkstraAlgorithm = new DijkstraAlgorithm(graph);
+        dijkstraAlgorithm.setMode(DijkstraAlgorithm.Mode.POINT_TO_POINT);
+        dijkstraAlgorithm.run();
+        AStarAlgorithm aStar = new AStarAlgorithm(graph);
+        aStar.run();
+
+        assertEquals(dijkstraAlgorithm.getDestinationDistance(), aStar.getDestinationDistance());
+        assertTrue(aStar.getSettledCount() < dijkstraAlgorithm.getSettledCount() / 2);
+    }
+
+    private static void addEdge(Graph graph, Node one, Node two, int weight) {
+        Edge edge = new Edge(one, two);
+        edge.setWeight(weight);
+        graph.addEdge(edge);
+    }
+}
@@ -0,0 +1,175 @@
+package tests;
+
+import algo.DijkstraAlgorithm;
+import models.AdjacencyIndex;
+import models.Edge;
+import models.Graph;
+import models.Node;
+import org.junit.jupiter.api.Test;
+
+import java.awt.*;
+import java.util.*;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Testing strategy for AdjacencyIndex:
+ *
+ * 1. Structure:
+ *    - Every edge appears once in each direction, with its weight.
+ *    - Edges to nodes outside of the graph are ignored.
+ *
+ * 2. Invalidation:
+ *    - The index is rebuilt after addEdge, removeEdge, deleteNode and Edge.setWeight.
+ *
+ * 3. Equivalence:
+ *    - DijkstraAlgorithm over the index produces the same distances as a
+ *      Bellman-Ford pass over the plain edge list, on random connected graphs.
+ */
+class AdjacencyIndexTest {
+
+    @Test
+    void testArcsInBothDirections() {
+        Graph graph = new Graph();
+        graph.addNode(new Point(0, 0));
+        graph.addNode(new Point(10, 0));
+        graph.addNode(new Point(20, 0));
+        List<Node> nodes = graph.getNodes();
+        Edge edge = new Edge(nodes.get(0), nodes.get(1));
+        edge.setWeight(7);
+        graph.addEdge(edge);
+        graph.addEdge(new Edge(nodes.get(1), nodes.get(2)));
+        graph.addEdge(new Edge(nodes.get(2), new Node(new Point(30, 0))));
+
+        AdjacencyIndex index = graph.getAdjacencyIndex();
+        assertEquals(3, index.size());
+        assertEquals(4, index.arcCount());
+        assertEquals(1, index.degree(index.indexOf(nodes.get(0))));
+        assertEquals(2, index.degree(index.indexOf(nodes.get(1))));
+
+        int arc = index.firstArc(index.indexOf(nodes.get(0)));
+        assertEquals(nodes.get(1), index.getNode(index.target(arc)));
+        assertEquals(7, index.weight(arc));
+        assertSame(edge, index.getEdge(arc));
+        assertEquals(7, index.getMaxWeight());
+    }
+
+    @Test
+    void testRebuiltAfterModification() {
+        Graph graph = new Graph();
+        graph.addNode(new Point(0, 0));
+        graph.addNode(new Point(10, 0));
+        graph.addNode(new Point(20, 0));
+        List<Node> nodes = graph.getNodes();
+        Node first = nodes.get(0);
+        Node second = nodes.get(1);
+        Node third = nodes.get(2);
+        Edge edge = new Edge(first, second);
+        graph.addEdge(edge);
+        assertEquals(2, graph.getAdjacencyIndex().arcCount());
+
+        graph.addEdge(new Edge(second, third));
+        assertEquals(4, graph.getAdjacencyIndex().arcCount());
+
+        edge.setWeight(5);
+        AdjacencyIndex index = graph.getAdjacencyIndex();
+        assertEquals(5, index.weight(index.firstArc(index.indexOf(first))));
+
+        graph.removeEdge(edge);
+        assertEquals(2, graph.getAdjacencyIndex().arcCount());
+
+        graph.deleteNode(third);
+        assertEquals(2, graph.getAdjacencyIndex().size());
+        assertEquals(0, graph.getAdjacencyIndex().arcCount());
+    }
+
+    @Test
+    void testDistancesMatchEdgeListReference() {
+        Random random = new Random(42);
+        for (int round = 0; round < 20; round++) {
+            Graph graph = randomConnectedGraph(random, 40 + random.nextInt(40), 120);
+            DijkstraAlgorithm dijkstraAlgorithm = new DijkstraAlgorithm(graph);
+            dijkstraAlgorithm.run();
+
+            Map<Node, Integer> expected = bellmanFord(graph);
+            for (Node node : graph.getNodes()) {
+                assertEquals(expected.get(node), dijkstraAlgorithm.getDistance(node));
+                assertEquals(expected.get(node).intValue(), pathCost(graph, dijkstraAlgorithm.getPath(node)));
+            }
+        }
+    }
+
+    /**
+     * Builds a random connected graph: a random spanning tree plus extra random edges.
+     */
+    static Graph randomConnectedGraph(Random random, int size, int extraEdges) {
+        Graph graph = new Graph();
+        for (int i = 0; i < size; i++) {
+            graph.addNode(new Point(random.nextInt(1000), random.nextInt(1000)));
+        }
+        List<Node> nodes = graph.getNodes();
+        for (int i = 1; i < size; i++) {
+            Edge edge = new Edge(nodes.get(i), nodes.get(random.nextInt(i)));
+            edge.setWeight(1 + random.nextInt(20));
+            graph.addEdge(edge);
+        }
+        for (int i = 0; i < extraEdges; i++) {
+            Node one = nodes.get(random.nextInt(size));
+            Node two = nodes.get(random.nextInt(size));
+            if (one == two)
+                continue;
+            Edge edge = new Edge(one, two);
+            edge.setWeight(1 + random.nextInt(20));
+            graph.addEdge(edge);
+        }
+        graph.setDestination(nodes.get(size - 1));
+        return graph;
+    }
+
+    /**
+     * Reference distances computed with Bellman-Ford directly over the edge list.
+     */
+    static Map<Node, Integer> bellmanFord(Graph graph) {
+        Map<Node, Integer> distances = new HashMap<>();
+        for (Node node : graph.getNodes()) {
+            distances.put(node, Integer.MAX_VALUE);
+        }
+        distances.put(graph.getSource(), 0);
+
+        boolean changed = true;
+        while (changed) {
+            changed = false;
+            for (Edge edge : graph.getEdges()) {
+                int one = distances.get(edge.getNodeOne());
+                int two = distances.get(edge.getNodeTwo());
+                if (one != Integer.MAX_VALUE && one + edge.getWeight() < two) {
+                    distances.put(edge.getNodeTwo(), one + edge.getWeight());
+                    changed = true;
+                }
+                if (two != Integer.MAX_VALUE && two + edge.getWeight() < one) {
+                    distances.put(edge.getNodeOne(), two + edge.getWeight());
+                    changed = true;
+                }
+            }
+        }
+        return distances;
+    }
+
+    /**
+     * Sums the weights along a path, failing if two consecutive nodes are not connected.
+     */
+    static int pathCost(Graph graph, List<Node> path) {
+        int cost = 0;
+        for (int i = 0; i + 1 < path.size(); i++) {
+            int best = Integer.MAX_VALUE;
+            for (Edge edge : graph.getEdges()) {
+                if (edge.hasNode(path.get(i)) && edge.hasNode(path.get(i + 1)))
+                    best = Math.min(best, edge.getWeight());
+            }
+            assertNotEquals(Integer.MAX_VALUE, best, "Path uses a missing edge");
+            cost += best;
+        }
+        return cost;
+    }
+}
@@ -0,0 +1,84 @@
+package tests;
+
+import algo.AltAlgorithm;
+import algo.DijkstraAlgorithm;
+import algo.Landmarks;
+import algo.ShortestPathTree;
+import models.AdjacencyIndex;
+import models.Edge;
+import models.Graph;
+import models.Node;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Testing strategy for Landmarks and AltAlgorithm:
+ *
+ * 1. Landmarks:
+ *    - The lower bound never exceeds the true distance, for both selection strategies.
+ *    - The requested number of distinct landmarks is selected.
+ *
+ * 2. AltAlgorithm:
+ *    - Random queries give the same distance as DijkstraAlgorithm, for both strategies.
+ *    - Landmarks computed before a graph change are rejected.
+ */
+class AltAlgorithmTest {
+
+    @Test
+    void testLowerBoundIsAdmissible() {
+        Graph graph = AdjacencyIndexTest.randomConnectedGraph(new Random(23), 120, 250);
+        AdjacencyIndex index = graph.getAdjacencyIndex();
+        for (Landmarks.Selection selection : Landmarks.Selection.values()) {
+            Landmarks landmarks = new Landmarks(graph, 4, selection);
+            assertEquals(4, landmarks.getCount());
+            assertEquals(4, java.util.stream.IntStream.range(0, 4)
+                    .mapToObj(landmarks::getLandmark).distinct().count());
+
+            for (int source = 0; source < index.size(); source += 7) {
+                int[] distances = ShortestPathTree.distances(index, source);
+                for (int target = 0; target < index.size(); target++) {
+                    assertTrue(landmarks.lowerBound(source, target) <= distances[target]);
+                }
+            }
+        }
+    }
+
+    @Test
+    void testMatchesDijkstra() {
+        Random random = new Random(29);
+        Graph graph = AdjacencyIndexTest.randomConnectedGraph(random, 200, 400);
+        List<Node> nodes = graph.getNodes();
+        for (Landmarks.Selection selection : Landmarks.Selection.values()) {
+            Landmarks landmarks = new Landmarks(graph, 6, selection);
+            for (int query = 0; query < 30; query++) {
+                graph.setSource(nodes.get(random.nextInt(nodes.size())));
+                graph.setDestination(nodes.get(random.nextInt(nodes.size())));
+
+                DijkstraAlgorithm dijkstraAlgorithm = new DijkstraAlgorithm(graph);
+                dijkstraAlgorithm.run();
+                AltAlgorithm alt = new AltAlgorithm(graph, landmarks);
+                alt.run();
+
+                assertEquals(dijkstraAlgorithm.getDestinationDistance(), alt.getDestinationDistance());
+                assertEquals(alt.getDestinationDistance().intValue(),
+                        AdjacencyIndexTest.pathCost(graph, alt.getDestinationPath()));
+            }
+        }
+    }
+
+    @Test
+    void testRejectsOutdatedLandmarks() {
+        Graph graph = AdjacencyIndexTest.randomConnectedGraph(new Random(31), 30, 30);
+        Landmarks landmarks = new Landmarks(graph, 2);
+        Edge edge = graph.getEdges().get(0);
+        edge.setWeight(edge.getWeight() + 1);
+
+        AltAlgorithm alt = new AltAlgorithm(graph, landmarks);
+        assertFalse(alt.evaluate());
+        assertThrows(IllegalStateException.class, alt::run);
+    }
+}
@@ -0,0 +1,130 @@
+package tests;
+
+import algo.AsyncSolver;
+import algo.DijkstraAlgorithm;
+import models.Edge;
+import models.Graph;
+import models.Node;
+import org.junit.jupiter.api.Test;
+
+import java.awt.*;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Testing strategy for AsyncSolver:
+ *
+ * 1. A background solve finds the same distance and path as DijkstraAlgorithm,
+ *    even when the graph is edited right after the solve was submitted, and
+ *    reports progress at least once.
+ *
+ * 2. A cancelled solve completes with a CancellationException and never with a
+ *    result; a solve out of time completes with a TimeoutException.
+ *
+ * 3. Invalid graphs are rejected when the solve is submitted.
+ *
+ * 4. A full tree solve settles every node, finds the same destination path
+ *    as a point-to-point solve, which settles fewer nodes on a long chain, and
+ *    hands out its tree over the graph's adjacency index.
+ */
+class AsyncSolverTest {
+
+    @Test
+    void testMatchesDijkstra() throws Exception {
+        Graph graph = AdjacencyIndexTest.randomConnectedGraph(new Random(61), 3000, 6000);
+        graph.setDestination(graph.getNodes().get(2999));
+        DijkstraAlgorithm dijkstraAlgorithm = new DijkstraAlgorithm(graph);
+        dijkstraAlgorithm.run();
+
+        AsyncSolver solver = new AsyncSolver();
+        AtomicInteger reports = new AtomicInteger();
+        AsyncSolver.Solve solve = solver.submit(graph, null, (settled, perSecond) -> reports.incrementAndGet());
+        graph.removeEdge(graph.getEdges().get(0));
+
+        AsyncSolver.Result result = solve.getFuture().get(10, TimeUnit.SECONDS);
+        assertEquals(dijkstraAlgorithm.getDestinationDistance().intValue(), result.getDistance());
+        assertEquals(dijkstraAlgorithm.getDestinationPath(), result.getPath());
+        assertTrue(reports.get() > 0);
+        assertTrue(result.getSettledCount() > 0);
+        solver.shutdown();
+    }
+
+    @Test
+    void testCancelAndTimeout() throws Exception {
+        // A long chain, so the search settles enough nodes to look at its deadline
+        Graph graph = new Graph();
+        List<Node> chain = new ArrayList<>();
+        for (int i = 0; i < 5000; i++) {
+            Node node = new Node(new Point(i, 0));
+            graph.addNode(node);
+            chain.add(node);
+            if (i > 0)
+                graph.addEdge(new Edge(chain.get(i - 1), node));
+        }
+        graph.setDestination(chain.get(4999));
+
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+        CountDownLatch blocked = new CountDownLatch(1);
+        executor.execute(() -> {
+            try {
+                blocked.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        });
+        AsyncSolver solver = new AsyncSolver(executor);
+        AsyncSolver.Solve cancelled = solver.submit(graph, null, null);
+        cancelled.cancel();
+        AsyncSolver.Solve late = solver.submit(graph, Duration.ZERO, null);
+        blocked.countDown();
+
+        assertTrue(cancelled.isCancelled());
+        assertThrows(CancellationException.class, () -> cancelled.getFuture().get(10, TimeUnit.SECONDS));
+        ExecutionException failure = assertThrows(ExecutionException.class, () -> late.getFuture().get(10, TimeUnit.SECONDS));
+        assertInstanceOf(TimeoutException.class, failure.getCause());
+        executor.shutdown();
+    }
+
+    @Test
+    void testModes() throws Exception {
+        Graph graph = new Graph();
+        List<Node> chain = new ArrayList<>();
+        for (int i = 0; i < 100; i++) {
+            Node node = new Node(new Point(i, 0));
+            graph.addNode(node);
+            chain.add(node);
+            if (i > 0)
+                graph.addEdge(new Edge(chain.get(i - 1), node));
+        }
+        graph.setDestination(chain.get(10));
+
+        AsyncSolver solver = new AsyncSolver();
+        AsyncSolver.Result pointToPoint = solver.submit(graph, DijkstraAlgorithm.Mode.POINT_TO_POINT, null, null)
+                .getFuture().get(10, TimeUnit.SECONDS);
+        AsyncSolver.Result fullTree = solver.submit(graph, DijkstraAlgorithm.Mode.FULL_TREE, null, null)
+                .getFuture().get(10, TimeUnit.SECONDS);
+        assertEquals(11, pointToPoint.getSettledCount());
+        assertEquals(100, fullTree.getSettledCount());
+        assertEquals(10, fullTree.getDistance());
+        assertEquals(chain.subList(0, 11), pointToPoint.getPath());
+        assertEquals(pointToPoint.getPath(), fullTree.getPath());
+        assertNull(pointToPoint.getTree());
+        assertSame(graph.getAdjacencyIndex(), fullTree.getTree().getIndex());
+        assertEquals(99, fullTree.getTree().getDistance(chain.get(99)).intValue());
+        solver.shutdown();
+    }
+
+    @Test
+    void testRejectsInvalidGraph() {
+        AsyncSolver solver = new AsyncSolver();
+        Graph graph = new Graph();
+        assertThrows(IllegalStateException.class, () -> solver.submit(graph, null, null));
+        solver.shutdown();
+    }
+}
@@ -0,0 +1,68 @@
+package tests;
+
+import algo.BidirectionalDijkstraAlgorithm;
+import algo.DijkstraAlgorithm;
+import models.Graph;
+import models.Node;
+import org.junit.jupiter.api.Test;
+
+import java.awt.*;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Testing strategy for BidirectionalDijkstraAlgorithm:
+ *
+ * 1. Random source/destination pairs on random graphs give the same distance as
+ *    DijkstraAlgorithm, and the returned path starts at the source, ends at the
+ *    destination and costs exactly that distance.
+ *
+ * 2. Invalid graphs are rejected like DijkstraAlgorithm does.
+ *
+ * 3. Source equal to destination yields a single node path of length 0.
+ */
+class BidirectionalDijkstraAlgorithmTest {
+
+    @Test
+    void testMatchesDijkstra() {
+        Random random = new Random(3);
+        for (int round = 0; round < 30; round++) {
+            Graph graph = AdjacencyIndexTest.randomConnectedGraph(random, 50 + random.nextInt(100), 150);
+            List<Node> nodes = graph.getNodes();
+            graph.setSource(nodes.get(random.nextInt(nodes.size())));
+            graph.setDestination(nodes.get(random.nextInt(nodes.size())));
+
+            DijkstraAlgorithm dijkstraAlgorithm = new DijkstraAlgorithm(graph);
+            dijkstraAlgorithm.run();
+            BidirectionalDijkstraAlgorithm bidirectional = new BidirectionalDijkstraAlgorithm(graph);
+            bidirectional.run();
+
+            assertEquals(dijkstraAlgorithm.getDestinationDistance(), bidirectional.getDestinationDistance());
+            List<Node> path = bidirectional.getDestinationPath();
+            assertSame(graph.getSource(), path.get(0));
+            assertSame(graph.getDestination(), path.get(path.size() - 1));
+            assertEquals(bidirectional.getDestinationDistance().intValue(), AdjacencyIndexTest.pathCost(graph, path));
+        }
+    }
+
+    @Test
+    void testRejectsGraphWithoutDestination() {
+        Graph graph = new Graph();
+        graph.addNode(new Point(0, 0));
+        BidirectionalDijkstraAlgorithm bidirectional = new BidirectionalDijkstraAlgorithm(graph);
+        assertFalse(bidirectional.evaluate());
+        assertThrows(IllegalStateException.class, bidirectional::run);
+    }
+
+    @Test
+    void testSourceIsDestination() {
+        Graph graph = AdjacencyIndexTest.randomConnectedGraph(new Random(5), 10, 5);
+        graph.setDestination(graph.getSource());
+        BidirectionalDijkstraAlgorithm bidirectional = new BidirectionalDijkstraAlgorithm(graph);
+        bidirectional.run();
+        assertEquals(Integer.valueOf(0), bidirectional.getDestinationDistance());
+        assertEquals(List.of(graph.getSource()), bidirectional.getDestinationPath());
+    }
+}
@@ -0,0 +1,192 @@
+package tests;
+
+import algo.QueryContext;
+import models.AdjacencyIndex;
+import models.CompactGraph;
+import models.Edge;
+import models.Graph;
+import models.Node;
+import org.junit.jupiter.api.Test;
+
+import java.awt.*;
+import java.util.*;
+import java.util.List;
+import java.util.concurrent.*;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Testing strategy for CompactGraph and the adjacency index built on it:
+ *
+ * 1. Searches over the index of a random store, with duplicate edges and
+ *    self loops, match a Bellman-Ford reference over the raw columns.
+ *
+ * 2. Node and edge views carry the coordinates, identifiers, endpoints and
+ *    weights of the store, are created once and found again by indexOf, also
+ *    when many threads ask for them at once; foreign nodes are not found.
+ *
+ * 3. Copying a graph into a store and back keeps its nodes, edges and
+ *    distances.
+ *
+ * 4. An index does not follow later changes of the store, and edges to
+ *    nodes outside of the store are rejected.
+ */
+class CompactGraphTest {
+
+    private static CompactGraph randomStore(Random random, int size, int edges) {
+        CompactGraph store = new CompactGraph();
+        for (int i = 0; i < size; i++) {
+            store.addNode(random.nextInt(800), random.nextInt(600));
+        }
+        for (int i = 1; i < size; i++) {
+            store.addEdge(random.nextInt(i), i, 1 + random.nextInt(20));
+        }
+        for (int i = 0; i < edges; i++) {
+            store.addEdge(random.nextInt(size), random.nextInt(size), 1 + random.nextInt(20));
+        }
+        return store;
+    }
+
+    private static int[] bellmanFord(CompactGraph store, int source) {
+        int[] distances = new int[store.nodeCount()];
+        Arrays.fill(distances, Integer.MAX_VALUE);
+        distances[source] = 0;
+        for (boolean changed = true; changed; ) {
+            changed = false;
+            for (int e = 0; e < store.edgeCount(); e++) {
+                int one = store.getNodeOne(e);
+                int two = store.getNodeTwo(e);
+                int weight = store.getWeight(e);
+                if (distances[one] != Integer.MAX_VALUE && distances[one] + weight < distances[two]) {
+                    distances[two] = distances[one] + weight;
+                    changed = true;
+                }
+                if (distances[two] != Integer.MAX_VALUE && distances[two] + weight < distances[one]) {
+                    distances[one] = distances[two] + weight;
+                    changed = true;
+                }
+            }
+        }
+        return distances;
+    }
+
+    @Test
+    void testSearchesMatchReference() {
+        Random random = new Random(149);
+        for (int round = 0; round < 20; round++) {
+            CompactGraph store = randomStore(random, 5 + random.nextInt(80), random.nextInt(150));
+            store.addEdge(0, 0, 1);
+            QueryContext context = new QueryContext(store.getAdjacencyIndex());
+            int source = random.nextInt(store.nodeCount());
+            context.search(source, null, 0);
+            int[] expected = bellmanFord(store, source);
+            for (int node = 0; node < store.nodeCount(); node++) {
+                assertEquals(expected[node], context.getDistance(node));
+            }
+        }
+    }
+
+    @Test
+    void testViews() {
+        CompactGraph store = randomStore(new Random(151), 30, 40);
+        AdjacencyIndex index = store.getAdjacencyIndex();
+        for (int i = 0; i < store.nodeCount(); i++) {
+            Node node = index.getNode(i);
+            assertSame(node, index.getNode(i));
+            assertEquals(store.getX(i), node.getX());
+            assertEquals(store.getY(i), node.getY());
+            assertEquals(i + 1, node.getId());
+            assertEquals(i, index.indexOf(node));
+        }
+        assertEquals(-1, index.indexOf(new Node(new Point(0, 0))));
+
+        for (int node = 0; node < index.size(); node++) {
+            for (int arc = index.firstArc(node); arc < index.endArc(node); arc++) {
+                Edge edge = index.getEdge(arc);
+                assertSame(edge, index.getEdge(arc));
+                assertTrue(edge.hasNode(index.getNode(node)));
+                assertTrue(edge.hasNode(index.getNode(index.target(arc))));
+                assertEquals(index.weight(arc), edge.getWeight());
+            }
+        }
+    }
+
+    @Test
+    void testViewsAcrossThreads() throws Exception {
+        AdjacencyIndex index = randomStore(new Random(157), 2000, 0).getAdjacencyIndex();
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+        try {
+            List<Future<Node[]>> futures = new ArrayList<>();
+            for (int t = 0; t < 4; t++) {
+                futures.add(executor.submit(() -> {
+                    Node[] nodes = new Node[index.size()];
+                    for (int i = 0; i < nodes.length; i++) {
+                        nodes[i] = index.getNode(i);
+                    }
+                    return nodes;
+                }));
+            }
+            Node[] first = futures.get(0).get();
+            for (Future<Node[]> future : futures) {
+                assertArrayEquals(first, future.get());
+            }
+            for (int i = 0; i < first.length; i++) {
+                assertEquals(i, index.indexOf(first[i]));
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    void testGraphRoundTrip() {
+        Graph graph = AdjacencyIndexTest.randomConnectedGraph(new Random(163), 60, 80);
+        CompactGraph store = CompactGraph.of(graph);
+        assertEquals(graph.getNodes().size(), store.nodeCount());
+        assertEquals(graph.getEdges().size(), store.edgeCount());
+
+        Graph copy = store.toGraph();
+        assertEquals(graph.getNodes().size(), copy.getNodes().size());
+        assertEquals(graph.getEdges().size(), copy.getEdges().size());
+        for (int i = 0; i < store.nodeCount(); i++) {
+            assertEquals(graph.getNodes().get(i).getCoord(), copy.getNodes().get(i).getCoord());
+        }
+        for (Edge edge : graph.getEdges()) {
+            Node one = copy.getNodes().get(graph.getNodes().indexOf(edge.getNodeOne()));
+            Node two = copy.getNodes().get(graph.getNodes().indexOf(edge.getNodeTwo()));
+            assertEquals(edge.getWeight(), copy.getEdge(one, two).getWeight());
+        }
+
+        Map<Node, Integer> expected = AdjacencyIndexTest.bellmanFord(graph);
+        QueryContext context = new QueryContext(store.getAdjacencyIndex());
+        context.search(graph.getNodes().indexOf(graph.getSource()), null, 0);
+        for (int i = 0; i < store.nodeCount(); i++) {
+            assertEquals(expected.get(graph.getNodes().get(i)), context.getDistance(i));
+        }
+    }
+
+    @Test
+    void testIndexIsSnapshot() {
+        CompactGraph store = new CompactGraph(1, 1);
+        store.addNode(0, 0);
+        store.addNode(10, 0);
+        store.addEdge(0, 1, 5);
+        AdjacencyIndex index = store.getAdjacencyIndex();
+        assertSame(index, store.getAdjacencyIndex());
+
+        store.setWeight(0, 7);
+        store.addNode(20, 0);
+        store.addEdge(1, 2, 3);
+        assertEquals(2, index.size());
+        assertEquals(5, index.weight(index.firstArc(0)));
+        assertEquals(5, index.getEdge(index.firstArc(0)).getWeight());
+
+        AdjacencyIndex updated = store.getAdjacencyIndex();
+        assertNotSame(index, updated);
+        assertEquals(3, updated.size());
+        assertEquals(7, updated.getMaxWeight());
+
+        assertThrows(IndexOutOfBoundsException.class, () -> store.addEdge(0, 3, 1));
+        assertThrows(IndexOutOfBoundsException.class, () -> store.getWeight(2));
+    }
+}
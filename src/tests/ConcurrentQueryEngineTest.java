@@ -0,0 +1,109 @@
+package tests;
+
+import algo.ConcurrentQueryEngine;
+import algo.DijkstraAlgorithm;
+import models.Graph;
+import models.GraphSnapshot;
+import models.Node;
+import org.junit.jupiter.api.Test;
+
+import java.awt.*;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.*;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Testing strategy for ConcurrentQueryEngine and GraphSnapshot:
+ *
+ * 1. Many threads querying one engine at once get the same distances and
+ *    paths as DijkstraAlgorithm, and no node gets a path written into it.
+ *
+ * 2. A snapshot keeps answering for the graph as it was when it was taken,
+ *    whatever edits follow.
+ *
+ * 3. Nodes outside of the snapshot and missing endpoints are rejected.
+ */
+class ConcurrentQueryEngineTest {
+
+    @Test
+    void testConcurrentQueriesMatchDijkstra() throws Exception {
+        Random random = new Random(67);
+        Graph graph = AdjacencyIndexTest.randomConnectedGraph(random, 300, 600);
+        List<Node> nodes = graph.getNodes();
+        int[][] queries = new int[400][];
+        int[] expected = new int[queries.length];
+        List<List<Node>> expectedPaths = new ArrayList<>();
+        for (int q = 0; q < queries.length; q++) {
+            queries[q] = new int[]{random.nextInt(nodes.size()), random.nextInt(nodes.size())};
+            graph.setSource(nodes.get(queries[q][0]));
+            DijkstraAlgorithm dijkstraAlgorithm = new DijkstraAlgorithm(graph);
+            dijkstraAlgorithm.run();
+            expected[q] = dijkstraAlgorithm.getDistance(nodes.get(queries[q][1]));
+            expectedPaths.add(dijkstraAlgorithm.getPath(nodes.get(queries[q][1])));
+        }
+        for (Node node : nodes) {
+            node.setPath(null);
+        }
+
+        ConcurrentQueryEngine engine = new ConcurrentQueryEngine(graph.snapshot());
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        List<Future<?>> futures = new ArrayList<>();
+        for (int thread = 0; thread < 8; thread++) {
+            int offset = thread;
+            futures.add(executor.submit(() -> {
+                for (int i = 0; i < queries.length; i++) {
+                    int q = (i + offset * 50) % queries.length;
+                    Node source = nodes.get(queries[q][0]);
+                    Node target = nodes.get(queries[q][1]);
+                    assertEquals(expected[q], engine.getDistance(source, target));
+                    assertEquals(expectedPaths.get(q), engine.getPath(source, target));
+                }
+            }));
+        }
+        for (Future<?> future : futures) {
+            future.get(30, TimeUnit.SECONDS);
+        }
+        executor.shutdown();
+
+        for (Node node : nodes) {
+            assertNull(node.getPath());
+        }
+    }
+
+    @Test
+    void testSnapshotIgnoresLaterEdits() {
+        Graph graph = AdjacencyIndexTest.randomConnectedGraph(new Random(71), 50, 80);
+        graph.setDestination(graph.getNodes().get(49));
+        DijkstraAlgorithm dijkstraAlgorithm = new DijkstraAlgorithm(graph);
+        dijkstraAlgorithm.run();
+        GraphSnapshot snapshot = graph.snapshot();
+        ConcurrentQueryEngine engine = new ConcurrentQueryEngine(snapshot);
+
+        for (int i = 0; i < 20; i++) {
+            graph.getEdges().get(i).setWeight(500);
+        }
+        graph.removeEdge(graph.getEdges().get(30));
+        graph.addNode(new Node(new Point(1, 1)));
+
+        assertEquals(50, snapshot.getNodes().size());
+        assertEquals(dijkstraAlgorithm.getDestinationDistance().intValue(), engine.getDestinationDistance());
+        assertEquals(dijkstraAlgorithm.getDestinationPath(), engine.getDestinationPath());
+        assertNotEquals(snapshot.getVersion(), graph.getVersion());
+    }
+
+    @Test
+    void testRejectsInvalidQueries() {
+        Graph graph = AdjacencyIndexTest.randomConnectedGraph(new Random(73), 10, 5);
+        ConcurrentQueryEngine engine = new ConcurrentQueryEngine(graph.snapshot());
+        Node outside = new Node(new Point(0, 0));
+        assertThrows(IllegalArgumentException.class, () -> engine.getDistance(outside, graph.getNodes().get(0)));
+
+        Graph single = new Graph();
+        single.addNode(new Point(0, 0));
+        assertThrows(IllegalStateException.class, new ConcurrentQueryEngine(single.snapshot())::getDestinationPath);
+        assertThrows(UnsupportedOperationException.class, () -> engine.getSnapshot().getNodes().add(outside));
+    }
+}
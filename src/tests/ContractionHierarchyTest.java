@@ -0,0 +1,89 @@
+package tests;
+
+import algo.ContractionHierarchy;
+import algo.ContractionHierarchyAlgorithm;
+import algo.DijkstraAlgorithm;
+import models.Edge;
+import models.Graph;
+import models.Node;
+import org.junit.jupiter.api.Test;
+
+import java.awt.*;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Testing strategy for ContractionHierarchy and ContractionHierarchyAlgorithm:
+ *
+ * 1. Random queries on random graphs give the same distance as DijkstraAlgorithm, and the
+ *    unpacked path is a valid path of original edges with that cost.
+ *
+ * 2. A long chain needs shortcuts and still unpacks into every node of the chain.
+ *
+ * 3. A hierarchy built before a graph change is rejected.
+ */
+class ContractionHierarchyTest {
+
+    @Test
+    void testMatchesDijkstra() {
+        Random random = new Random(37);
+        for (int round = 0; round < 5; round++) {
+            Graph graph = AdjacencyIndexTest.randomConnectedGraph(random, 150 + random.nextInt(150), 300);
+            ContractionHierarchy hierarchy = new ContractionHierarchy(graph);
+            ContractionHierarchyAlgorithm query = new ContractionHierarchyAlgorithm(graph, hierarchy);
+            List<Node> nodes = graph.getNodes();
+
+            for (int i = 0; i < 40; i++) {
+                graph.setSource(nodes.get(random.nextInt(nodes.size())));
+                graph.setDestination(nodes.get(random.nextInt(nodes.size())));
+
+                DijkstraAlgorithm dijkstraAlgorithm = new DijkstraAlgorithm(graph);
+                dijkstraAlgorithm.run();
+                query.run();
+
+                assertEquals(dijkstraAlgorithm.getDestinationDistance(), query.getDestinationDistance());
+                List<Node> path = query.getDestinationPath();
+                assertSame(graph.getSource(), path.get(0));
+                assertSame(graph.getDestination(), path.get(path.size() - 1));
+                assertEquals(query.getDestinationDistance().intValue(), AdjacencyIndexTest.pathCost(graph, path));
+            }
+        }
+    }
+
+    @Test
+    void testChainUnpacksEveryNode() {
+        Graph graph = new Graph();
+        int length = 200;
+        for (int i = 0; i < length; i++) {
+            graph.addNode(new Point(i * 50, 0));
+        }
+        List<Node> nodes = graph.getNodes();
+        for (int i = 0; i + 1 < length; i++) {
+            Edge edge = new Edge(nodes.get(i), nodes.get(i + 1));
+            edge.setWeight(1 + i % 3);
+            graph.addEdge(edge);
+        }
+        graph.setDestination(nodes.get(length - 1));
+
+        ContractionHierarchy hierarchy = new ContractionHierarchy(graph);
+        assertTrue(hierarchy.getShortcutCount() > 0);
+        ContractionHierarchyAlgorithm query = new ContractionHierarchyAlgorithm(graph, hierarchy);
+        query.run();
+
+        assertEquals(nodes, query.getDestinationPath());
+        assertTrue(query.getSettledCount() < length);
+    }
+
+    @Test
+    void testRejectsOutdatedHierarchy() {
+        Graph graph = AdjacencyIndexTest.randomConnectedGraph(new Random(41), 20, 20);
+        ContractionHierarchy hierarchy = new ContractionHierarchy(graph);
+        graph.getEdges().get(0).setWeight(99);
+
+        ContractionHierarchyAlgorithm query = new ContractionHierarchyAlgorithm(graph, hierarchy);
+        assertFalse(query.evaluate());
+        assertThrows(IllegalStateException.class, query::run);
+    }
+}
@@ -0,0 +1,84 @@
+package tests;
+
+import algo.DeltaSteppingAlgorithm;
+import algo.DijkstraAlgorithm;
+import algo.ShortestPathTree;
+import models.Graph;
+import models.Node;
+import org.junit.jupiter.api.Test;
+
+import java.awt.*;
+import java.util.Map;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Testing strategy for DeltaSteppingAlgorithm:
+ *
+ * 1. On random graphs, for bucket widths from 1 (Dijkstra-like) to above the
+ *    largest weight (Bellman-Ford-like), every distance matches a Bellman-Ford
+ *    reference and every path matches DijkstraAlgorithm's.
+ *
+ * 2. A graph large and dense enough to relax its frontiers in parallel gives
+ *    the same tree as DijkstraAlgorithm.
+ *
+ * 3. Invalid graphs, graphs with an edge of weight zero, and non-positive
+ *    bucket widths are rejected.
+ */
+class DeltaSteppingAlgorithmTest {
+
+    @Test
+    void testMatchesDijkstraForEveryDelta() {
+        Random random = new Random(17);
+        for (int round = 0; round < 10; round++) {
+            Graph graph = AdjacencyIndexTest.randomConnectedGraph(random, 50 + random.nextInt(150), 300);
+            Map<Node, Integer> expected = AdjacencyIndexTest.bellmanFord(graph);
+            DijkstraAlgorithm dijkstraAlgorithm = new DijkstraAlgorithm(graph);
+            dijkstraAlgorithm.run();
+
+            for (int delta : new int[]{1, 3, 7, 20, 100}) {
+                DeltaSteppingAlgorithm deltaStepping = new DeltaSteppingAlgorithm(graph, delta);
+                deltaStepping.run();
+                for (Node node : graph.getNodes()) {
+                    assertEquals(expected.get(node), deltaStepping.getDistance(node));
+                    assertEquals(dijkstraAlgorithm.getPath(node), deltaStepping.getTree().getPath(node));
+                }
+            }
+        }
+    }
+
+    @Test
+    void testParallelRunMatchesDijkstra() {
+        Graph graph = AdjacencyIndexTest.randomConnectedGraph(new Random(19), 3000, 30000);
+        DijkstraAlgorithm dijkstraAlgorithm = new DijkstraAlgorithm(graph);
+        dijkstraAlgorithm.run();
+
+        DeltaSteppingAlgorithm deltaStepping = new DeltaSteppingAlgorithm(graph, 50);
+        deltaStepping.run();
+        ShortestPathTree tree = deltaStepping.getTree();
+        for (Node node : graph.getNodes()) {
+            assertEquals(dijkstraAlgorithm.getDistance(node), tree.getDistance(node));
+            assertEquals(dijkstraAlgorithm.getPath(node), tree.getPath(node));
+        }
+        assertEquals(dijkstraAlgorithm.getDestinationDistance(), deltaStepping.getDestinationDistance());
+        assertEquals(dijkstraAlgorithm.getDestinationPath(), deltaStepping.getDestinationPath());
+    }
+
+    @Test
+    void testRejectsInvalidInput() {
+        Graph graph = new Graph();
+        graph.addNode(new Point(0, 0));
+        DeltaSteppingAlgorithm deltaStepping = new DeltaSteppingAlgorithm(graph);
+        assertFalse(deltaStepping.evaluate());
+        assertThrows(IllegalStateException.class, deltaStepping::run);
+
+        assertThrows(IllegalArgumentException.class, () -> new DeltaSteppingAlgorithm(graph, 0));
+
+        Graph zero = AdjacencyIndexTest.randomConnectedGraph(new Random(23), 20, 20);
+        zero.getEdges().get(3).setWeight(0);
+        DeltaSteppingAlgorithm withZero = new DeltaSteppingAlgorithm(zero);
+        assertFalse(withZero.evaluate());
+        assertThrows(IllegalStateException.class, withZero::run);
+    }
+}
@@ -31,6 +31,11 @@ import static org.junit.Assert.*;
  * - Graph with null source or destination.
  * - Graph with unreachable nodes.
  *
+ * Method: public void setMode(Mode mode)
+ * - Test Cases:
+ * - Point-to-point run stops at the destination and stores only its path.
+ * - Full-tree run stores a read-only path on every node.
+ *
  * Method: private Node getAdjacent(Edge edge, Node node)
  * - Test Cases:
  * - Valid edge and node.
@@ -38,6 +43,7 @@ import static org.junit.Assert.*;
  * Method: public Integer getDistance(Node node)
  * - Test Cases:
  * - Solved graph.
+ * - Node that is not part of the graph.
  * 
  * Method: public List<Node> getDestinationPath()
  * - Test Cases:
@@ -133,6 +139,56 @@ public class DijkstraAlgorithmTest {
         dijkstraAlgorithm.run();
     }
 
+    // setMode method test cases
+    @Test
+    // Point-to-point run stops at the destination and stores only its path
+    public void testRunPointToPoint() {
+        Graph graph = new Graph();
+        Node nodeA = new Node(new Point(0, 0));
+        Node nodeB = new Node(new Point(1, 1));
+        Node nodeC = new Node(new Point(2, 2));
+        Node nodeD = new Node(new Point(3, 3));
+        Edge edgeAB = new Edge(nodeA, nodeB);
+        Edge edgeBC = new Edge(nodeB, nodeC);
+        Edge edgeCD = new Edge(nodeC, nodeD);
+        edgeCD.setWeight(5);
+        graph.setNodes(Arrays.asList(nodeA, nodeB, nodeC, nodeD));
+        graph.setEdges(Arrays.asList(edgeAB, edgeBC, edgeCD));
+        graph.setSource(nodeA);
+        graph.setDestination(nodeB);
+
+        DijkstraAlgorithm dijkstraAlgorithm = new DijkstraAlgorithm(graph);
+        dijkstraAlgorithm.setMode(DijkstraAlgorithm.Mode.POINT_TO_POINT);
+        dijkstraAlgorithm.run();
+
+        assertTrue(graph.isSolved());
+        assertEquals(Integer.valueOf(1), dijkstraAlgorithm.getDestinationDistance());
+        assertEquals(Arrays.asList(nodeA, nodeB), nodeB.getPath());
+        assertTrue(dijkstraAlgorithm.isSettled(nodeB));
+        assertFalse(dijkstraAlgorithm.isSettled(nodeD));
+        assertNull(nodeC.getPath());
+    }
+
+    @Test
+    // Full-tree run stores a read-only path on every node
+    public void testRunFullTreeStoresPaths() {
+        DijkstraAlgorithm dijkstraAlgorithm = new DijkstraAlgorithm(validGraph);
+        dijkstraAlgorithm.run();
+
+        for (Node node : validGraph.getNodes()) {
+            assertEquals(dijkstraAlgorithm.getPath(node), node.getPath());
+        }
+        Node destination = validGraph.getDestination();
+        assertSame(validGraph.getSource(), destination.getPath().get(0));
+        assertSame(destination, destination.getPath().get(destination.getPath().size() - 1));
+        try {
+            destination.getPath().add(destination);
+            fail("Stored paths should be read-only");
+        } catch (UnsupportedOperationException expected) {
+            // The path is a view over the search's predecessors
+        }
+    }
+
     // getDistance method test cases
     @Test
     // Solved Graph
@@ -145,6 +201,15 @@ public class DijkstraAlgorithmTest {
         assertEquals(Integer.valueOf(1), distance);
     }
 
+    @Test
+    // Node that is not part of the graph
+    public void testGetDistanceUnknownNode() {
+        DijkstraAlgorithm dijkstraAlgorithm = new DijkstraAlgorithm(validGraph);
+        dijkstraAlgorithm.run();
+        assertNull(dijkstraAlgorithm.getDistance(new Node(new Point(5, 5))));
+        assertEquals(Integer.valueOf(2), dijkstraAlgorithm.getDestinationDistance());
+    }
+
     // getDestinationPath method test cases
     @Test
     // Solved Graph
@@ -0,0 +1,92 @@
+package tests;
+
+import algo.DijkstraAlgorithm;
+import algo.DistanceMatrixAlgorithm;
+import models.Graph;
+import models.Node;
+import org.junit.jupiter.api.Test;
+
+import java.awt.*;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Testing strategy for DistanceMatrixAlgorithm:
+ *
+ * 1. With one and with several worker threads, every entry of the matrix and
+ *    every path match a DijkstraAlgorithm run from the row's source, including
+ *    duplicate targets.
+ *
+ * 2. Targets in another component get Integer.MAX_VALUE and an empty path.
+ *
+ * 3. Nodes outside of the graph are rejected, and paths cannot be read when
+ *    they were not requested.
+ */
+class DistanceMatrixAlgorithmTest {
+
+    @Test
+    void testMatchesDijkstra() {
+        Random random = new Random(41);
+        Graph graph = AdjacencyIndexTest.randomConnectedGraph(random, 400, 800);
+        List<Node> nodes = graph.getNodes();
+        List<Node> sources = new ArrayList<>();
+        List<Node> targets = new ArrayList<>();
+        for (int i = 0; i < 25; i++) {
+            sources.add(nodes.get(random.nextInt(nodes.size())));
+        }
+        for (int i = 0; i < 15; i++) {
+            targets.add(nodes.get(random.nextInt(nodes.size())));
+        }
+        targets.add(targets.get(0));
+
+        for (int threads : new int[]{1, 4}) {
+            DistanceMatrixAlgorithm matrix = new DistanceMatrixAlgorithm(graph, sources, targets, true);
+            matrix.setThreadCount(threads);
+            matrix.run();
+
+            for (int i = 0; i < sources.size(); i++) {
+                graph.setSource(sources.get(i));
+                DijkstraAlgorithm dijkstraAlgorithm = new DijkstraAlgorithm(graph);
+                dijkstraAlgorithm.run();
+                for (int j = 0; j < targets.size(); j++) {
+                    assertEquals(dijkstraAlgorithm.getDistance(targets.get(j)).intValue(), matrix.getDistance(i, j));
+                    assertEquals(dijkstraAlgorithm.getPath(targets.get(j)), matrix.getPath(i, j));
+                }
+            }
+        }
+    }
+
+    @Test
+    void testUnreachableTarget() {
+        Graph graph = AdjacencyIndexTest.randomConnectedGraph(new Random(43), 20, 10);
+        Node isolated = new Node(new Point(5, 5));
+        graph.addNode(isolated);
+        List<Node> sources = Collections.singletonList(graph.getNodes().get(0));
+        List<Node> targets = List.of(isolated, graph.getNodes().get(0));
+
+        DistanceMatrixAlgorithm matrix = new DistanceMatrixAlgorithm(graph, sources, targets, true);
+        matrix.run();
+        assertEquals(Integer.MAX_VALUE, matrix.getDistance(0, 0));
+        assertTrue(matrix.getPath(0, 0).isEmpty());
+        assertEquals(0, matrix.getDistance(0, 1));
+        assertArrayEquals(new int[][]{{Integer.MAX_VALUE, 0}}, matrix.getDistances());
+    }
+
+    @Test
+    void testRejectsInvalidInput() {
+        Graph graph = AdjacencyIndexTest.randomConnectedGraph(new Random(47), 10, 5);
+        Node outside = new Node(new Point(0, 0));
+        DistanceMatrixAlgorithm matrix = new DistanceMatrixAlgorithm(graph, List.of(outside), graph.getNodes());
+        assertFalse(matrix.evaluate());
+        assertThrows(IllegalStateException.class, matrix::run);
+
+        DistanceMatrixAlgorithm withoutPaths = new DistanceMatrixAlgorithm(graph, graph.getNodes(), graph.getNodes());
+        withoutPaths.run();
+        assertThrows(IllegalStateException.class, () -> withoutPaths.getPath(0, 0));
+        assertThrows(IllegalArgumentException.class, () -> withoutPaths.setThreadCount(0));
+    }
+}
@@ -0,0 +1,176 @@
+package tests;
+
+import algo.DynamicDijkstraAlgorithm;
+import algo.ShortestPathTree;
+import models.Edge;
+import models.Graph;
+import models.Node;
+import org.junit.jupiter.api.Test;
+
+import java.awt.*;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Testing strategy for DynamicDijkstraAlgorithm:
+ *
+ * 1. After every step of a random sequence of edits (weight increases and
+ *    decreases, added and removed edges, added and deleted nodes), every
+ *    distance matches a Bellman-Ford reference and every path costs exactly
+ *    its distance.
+ *
+ * 2. Changing the weight of an edge outside of the tree repairs nothing, and
+ *    changing a leaf edge of a long chain repairs only a few nodes.
+ *
+ * 3. A new source, a deleted source or a replaced edge list make the next run
+ *    compute the tree from scratch; after dispose the graph is no longer followed.
+ *
+ * 4. A tree computed elsewhere on the current graph is adopted without a
+ *    search and repaired like a built one; a tree of an older version of the
+ *    graph is refused.
+ */
+class DynamicDijkstraAlgorithmTest {
+
+    @Test
+    void testRandomEditsMatchReference() {
+        Random random = new Random(53);
+        Graph graph = AdjacencyIndexTest.randomConnectedGraph(random, 150, 300);
+        DynamicDijkstraAlgorithm dynamic = new DynamicDijkstraAlgorithm(graph);
+        dynamic.run();
+
+        for (int step = 0; step < 300; step++) {
+            List<Node> nodes = graph.getNodes();
+            List<Edge> edges = graph.getEdges();
+            int operation = random.nextInt(10);
+            if (operation < 5 && !edges.isEmpty()) {
+                Edge edge = edges.get(random.nextInt(edges.size()));
+                edge.setWeight(1 + random.nextInt(30));
+            } else if (operation < 7) {
+                Node one = nodes.get(random.nextInt(nodes.size()));
+                Node two = nodes.get(random.nextInt(nodes.size()));
+                if (one != two) {
+                    Edge edge = new Edge(one, two);
+                    edge.setWeight(1 + random.nextInt(30));
+                    graph.addEdge(edge);
+                }
+            } else if (operation < 8 && !edges.isEmpty()) {
+                graph.removeEdge(edges.get(random.nextInt(edges.size())));
+            } else if (operation < 9) {
+                Node node = nodes.get(random.nextInt(nodes.size()));
+                if (!graph.isSource(node) && !graph.isDestination(node))
+                    graph.deleteNode(node);
+            } else {
+                Node node = new Node(new Point(random.nextInt(1000), random.nextInt(1000)));
+                graph.addNode(node);
+                Edge edge = new Edge(node, nodes.get(random.nextInt(nodes.size() - 1)));
+                edge.setWeight(1 + random.nextInt(30));
+                graph.addEdge(edge);
+            }
+
+            Map<Node, Integer> expected = AdjacencyIndexTest.bellmanFord(graph);
+            for (Node node : graph.getNodes()) {
+                assertEquals(expected.get(node), dynamic.getDistance(node));
+                if (expected.get(node) != Integer.MAX_VALUE)
+                    assertEquals(expected.get(node).intValue(), AdjacencyIndexTest.pathCost(graph, dynamic.getPath(node)));
+                else
+                    assertTrue(dynamic.getPath(node).isEmpty());
+            }
+        }
+    }
+
+    @Test
+    void testRepairsAreLocal() {
+        // A chain 1 - 2 - ... - 200 with a heavy shortcut from 1 to 200
+        Graph graph = new Graph();
+        List<Node> chain = new ArrayList<>();
+        for (int i = 0; i < 200; i++) {
+            Node node = new Node(new Point(i, 0));
+            graph.addNode(node);
+            chain.add(node);
+            if (i > 0)
+                graph.addEdge(new Edge(chain.get(i - 1), node));
+        }
+        Edge shortcut = new Edge(chain.get(0), chain.get(199));
+        shortcut.setWeight(1000);
+        graph.addEdge(shortcut);
+        graph.setDestination(chain.get(199));
+
+        DynamicDijkstraAlgorithm dynamic = new DynamicDijkstraAlgorithm(graph);
+        dynamic.run();
+        assertEquals(200, dynamic.getRepairedCount());
+
+        shortcut.setWeight(2000);
+        assertEquals(0, dynamic.getRepairedCount());
+
+        Edge last = graph.getEdges().get(198);
+        last.setWeight(5);
+        assertEquals(1, dynamic.getRepairedCount());
+        assertEquals(203, dynamic.getDestinationDistance().intValue());
+
+        last.setWeight(1);
+        assertEquals(1, dynamic.getRepairedCount());
+        assertEquals(199, dynamic.getDestinationDistance().intValue());
+    }
+
+    @Test
+    void testRebuildsWhenItCannotRepair() {
+        Graph graph = AdjacencyIndexTest.randomConnectedGraph(new Random(59), 40, 40);
+        DynamicDijkstraAlgorithm dynamic = new DynamicDijkstraAlgorithm(graph);
+        dynamic.run();
+
+        graph.setSource(graph.getNodes().get(5));
+        dynamic.run();
+        assertEquals(0, dynamic.getDistance(graph.getNodes().get(5)).intValue());
+
+        graph.setEdges(new ArrayList<>(graph.getEdges().subList(0, 39)));
+        dynamic.run();
+        Map<Node, Integer> expected = AdjacencyIndexTest.bellmanFord(graph);
+        for (Node node : graph.getNodes()) {
+            assertEquals(expected.get(node), dynamic.getDistance(node));
+        }
+
+        Node oldSource = graph.getSource();
+        graph.deleteNode(oldSource);
+        assertNull(dynamic.getDistance(oldSource));
+
+        dynamic.dispose();
+        Edge edge = graph.getEdges().get(0);
+        Integer before = dynamic.getDistance(edge.getNodeOne());
+        edge.setWeight(edge.getWeight() + 100);
+        assertEquals(before, dynamic.getDistance(edge.getNodeOne()));
+    }
+
+    @Test
+    void testSeed() {
+        Random random = new Random(59);
+        Graph graph = AdjacencyIndexTest.randomConnectedGraph(random, 120, 200);
+        DynamicDijkstraAlgorithm dynamic = new DynamicDijkstraAlgorithm(graph);
+
+        ShortestPathTree stale = ShortestPathTree.compute(graph.getAdjacencyIndex(), 0);
+        graph.getEdges().get(0).setWeight(40);
+        assertFalse(dynamic.seed(stale));
+        assertFalse(dynamic.isUpToDate());
+
+        ShortestPathTree tree = ShortestPathTree.compute(graph.getAdjacencyIndex(),
+                graph.getAdjacencyIndex().indexOf(graph.getSource()));
+        DynamicDijkstraAlgorithm.Seed seed = DynamicDijkstraAlgorithm.prepare(tree);
+        assertTrue(dynamic.seed(seed));
+        assertFalse(dynamic.seed(seed));
+        assertTrue(dynamic.isUpToDate());
+        assertEquals(0, dynamic.getRepairedCount());
+
+        for (int step = 0; step < 50; step++) {
+            Edge edge = graph.getEdges().get(random.nextInt(graph.getEdges().size()));
+            edge.setWeight(1 + random.nextInt(30));
+            Map<Node, Integer> expected = AdjacencyIndexTest.bellmanFord(graph);
+            for (Node node : graph.getNodes()) {
+                assertEquals(expected.get(node), dynamic.getDistance(node));
+                assertEquals(expected.get(node).intValue(), AdjacencyIndexTest.pathCost(graph, dynamic.getPath(node)));
+            }
+        }
+    }
+}
@@ -0,0 +1,123 @@
+package tests;
+
+import algo.DijkstraAlgorithm;
+import models.Edge;
+import models.Graph;
+import models.Node;
+import org.junit.jupiter.api.Test;
+
+import java.awt.*;
+import java.util.*;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Testing strategy for the connectivity tracking of Graph:
+ *
+ * 1. After every step of a random sequence of added nodes, added edges,
+ *    removed edges and deleted nodes, the component count and pairwise
+ *    connectivity match a breadth-first search.
+ *
+ * 2. isNodeReachable means connected to the source, not merely having an edge.
+ *
+ * 3. Validation rejects a graph made of two components even though every node
+ *    has an edge, and accepts a single node that is both source and destination.
+ */
+class GraphConnectivityTest {
+
+    @Test
+    void testRandomEditsMatchBreadthFirstSearch() {
+        Random random = new Random(71);
+        Graph graph = new Graph();
+        for (int step = 0; step < 400; step++) {
+            List<Node> nodes = graph.getNodes();
+            int operation = random.nextInt(10);
+            if (operation < 3 || nodes.size() < 2) {
+                graph.addNode(new Point(random.nextInt(500), random.nextInt(500)));
+            } else if (operation < 7) {
+                Node one = nodes.get(random.nextInt(nodes.size()));
+                Node two = nodes.get(random.nextInt(nodes.size()));
+                if (one != two)
+                    graph.addEdge(new Edge(one, two));
+            } else if (operation < 9 && !graph.getEdges().isEmpty()) {
+                graph.removeEdge(graph.getEdges().get(random.nextInt(graph.getEdges().size())));
+            } else {
+                graph.deleteNode(nodes.get(random.nextInt(nodes.size())));
+            }
+
+            Map<Node, Integer> components = components(graph);
+            assertEquals(new HashSet<>(components.values()).size(), graph.getComponentCount());
+            for (int i = 0; i < 10 && !graph.getNodes().isEmpty(); i++) {
+                Node one = graph.getNodes().get(random.nextInt(graph.getNodes().size()));
+                Node two = graph.getNodes().get(random.nextInt(graph.getNodes().size()));
+                assertEquals(components.get(one).equals(components.get(two)), graph.areConnected(one, two));
+            }
+        }
+    }
+
+    @Test
+    void testNodeReachableMeansConnectedToSource() {
+        Graph graph = new Graph();
+        Node a = new Node(new Point(0, 0));
+        Node b = new Node(new Point(10, 0));
+        Node c = new Node(new Point(20, 0));
+        Node d = new Node(new Point(30, 0));
+        graph.addNode(a);
+        graph.addNode(b);
+        graph.addNode(c);
+        graph.addNode(d);
+        graph.addEdge(new Edge(a, b));
+        graph.addEdge(new Edge(c, d));
+
+        assertTrue(graph.isNodeReachable(b));
+        assertFalse(graph.isNodeReachable(c));
+        assertFalse(graph.isNodeReachable(new Node(new Point(5, 5))));
+
+        graph.setDestination(d);
+        assertFalse(new DijkstraAlgorithm(graph).evaluate());
+
+        graph.addEdge(new Edge(b, c));
+        assertTrue(graph.isConnected());
+        assertTrue(new DijkstraAlgorithm(graph).evaluate());
+    }
+
+    @Test
+    void testSingleNodeGraphIsValid() {
+        Graph graph = new Graph();
+        Node node = new Node(new Point(0, 0));
+        graph.addNode(node);
+        graph.setDestination(node);
+
+        DijkstraAlgorithm dijkstraAlgorithm = new DijkstraAlgorithm(graph);
+        assertTrue(dijkstraAlgorithm.evaluate());
+        dijkstraAlgorithm.run();
+        assertEquals(Integer.valueOf(0), dijkstraAlgorithm.getDestinationDistance());
+    }
+
+    private static Map<Node, Integer> components(Graph graph) {
+        Map<Node, Integer> components = new IdentityHashMap<>();
+        int component = 0;
+        for (Node start : graph.getNodes()) {
+            if (components.containsKey(start))
+                continue;
+            Deque<Node> queue = new ArrayDeque<>();
+            queue.add(start);
+            components.put(start, component);
+            while (!queue.isEmpty()) {
+                Node node = queue.poll();
+                for (Edge edge : graph.getEdges()) {
+                    if (!edge.hasNode(node))
+                        continue;
+                    Node other = edge.getNodeOne() == node ? edge.getNodeTwo() : edge.getNodeOne();
+                    if (!components.containsKey(other)) {
+                        components.put(other, component);
+                        queue.add(other);
+                    }
+                }
+            }
+            component++;
+        }
+        return components;
+    }
+}
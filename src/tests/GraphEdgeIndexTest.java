@@ -0,0 +1,159 @@
+package tests;
+
+import models.Edge;
+import models.Graph;
+import models.GraphListener;
+import models.Node;
+import org.junit.jupiter.api.Test;
+
+import java.awt.*;
+import java.util.*;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Testing strategy for the edge index of Graph:
+ *
+ * 1. Edges are equal when they connect the same nodes in either direction,
+ *    and equal edges have equal hash codes.
+ *
+ * 2. After every step of a random sequence of added edges (including
+ *    duplicates in both directions), removed edges and deleted nodes, the
+ *    edge list and getEdge match a reference set of node pairs.
+ *
+ * 3. Removing an edge equal to a stored one removes and reports the stored
+ *    edge, and the exposed edge list cannot be changed directly.
+ *
+ * 4. Loading many edges finishes quickly and keeps every edge once.
+ *
+ * 5. Edges between nodes without identifiers, or whose identifiers change
+ *    while the edges are indexed, are still found and deduplicated.
+ */
+class GraphEdgeIndexTest {
+
+    @Test
+    void testEqualsAndHashCode() {
+        Node one = new Node(new Point(0, 0));
+        Node two = new Node(new Point(1, 1));
+        Edge edge = new Edge(one, two);
+        Edge reversed = new Edge(two, one);
+        assertEquals(edge, reversed);
+        assertEquals(edge.hashCode(), reversed.hashCode());
+        assertNotEquals(edge, new Edge(one, new Node(new Point(2, 2))));
+        assertNotEquals(edge, "Edge ~ 0 - 0");
+        assertEquals(1, new HashSet<>(List.of(edge, reversed)).size());
+    }
+
+    @Test
+    void testRandomEditsMatchReference() {
+        Random random = new Random(127);
+        Graph graph = new Graph();
+        Set<List<Node>> expected = new HashSet<>();
+        for (int step = 0; step < 2000; step++) {
+            List<Node> nodes = graph.getNodes();
+            int operation = random.nextInt(10);
+            if (operation < 2 || nodes.size() < 2) {
+                graph.addNode(new Point(random.nextInt(500), random.nextInt(500)));
+            } else if (operation < 7) {
+                Node one = nodes.get(random.nextInt(nodes.size()));
+                Node two = nodes.get(random.nextInt(nodes.size()));
+                graph.addEdge(new Edge(one, two));
+                expected.add(pair(one, two));
+            } else if (operation < 9) {
+                Node one = nodes.get(random.nextInt(nodes.size()));
+                Node two = nodes.get(random.nextInt(nodes.size()));
+                graph.removeEdge(new Edge(two, one));
+                expected.remove(pair(one, two));
+            } else {
+                Node node = nodes.get(random.nextInt(nodes.size()));
+                graph.deleteNode(node);
+                expected.removeIf(pair -> pair.contains(node));
+            }
+
+            assertEquals(expected.size(), graph.getEdges().size());
+            for (Edge edge : graph.getEdges()) {
+                assertTrue(expected.contains(pair(edge.getNodeOne(), edge.getNodeTwo())));
+                assertSame(edge, graph.getEdge(edge.getNodeTwo(), edge.getNodeOne()));
+            }
+        }
+    }
+
+    @Test
+    void testRemovesStoredEdge() {
+        Graph graph = new Graph();
+        graph.addNode(new Point(0, 0));
+        graph.addNode(new Point(50, 50));
+        Node one = graph.getNodes().get(0);
+        Node two = graph.getNodes().get(1);
+        Edge stored = new Edge(one, two);
+        stored.setWeight(7);
+        graph.addEdge(stored);
+
+        List<Edge> removed = new ArrayList<>();
+        graph.addGraphListener(new GraphListener() {
+            @Override
+            public void edgeRemoved(Edge edge) {
+                removed.add(edge);
+            }
+        });
+        graph.removeEdge(new Edge(two, one));
+        assertEquals(List.of(stored), removed);
+        assertSame(stored, removed.get(0));
+        assertNull(graph.getEdge(one, two));
+
+        Edge direct = new Edge(one, two);
+        assertThrows(UnsupportedOperationException.class, () -> graph.getEdges().add(direct));
+        assertNull(graph.getEdge(two, one));
+        graph.addEdge(direct);
+        assertSame(direct, graph.getEdge(two, one));
+        graph.addEdge(new Edge(two, one));
+        assertEquals(1, graph.getEdges().size());
+    }
+
+    @Test
+    void testBulkLoad() {
+        Graph graph = new Graph();
+        for (int i = 0; i < 2000; i++) {
+            graph.addNode(new Point(i, i));
+        }
+        List<Node> nodes = graph.getNodes();
+        for (int i = 0; i < 2000; i++) {
+            for (int j = 1; j <= 100; j++) {
+                graph.addEdge(new Edge(nodes.get(i), nodes.get((i + j) % 2000)));
+            }
+        }
+        assertEquals(200000, graph.getEdges().size());
+    }
+
+    @Test
+    void testKeysIgnoreIdentifiers() {
+        Graph graph = new Graph();
+        List<Node> nodes = new ArrayList<>();
+        for (int i = 0; i < 200; i++) {
+            nodes.add(new Node(new Point(i, i)));
+        }
+        graph.setNodes(nodes);
+        for (int i = 1; i < 200; i++) {
+            graph.addEdge(new Edge(nodes.get(i - 1), nodes.get(i)));
+            graph.addEdge(new Edge(nodes.get(i), nodes.get(i - 1)));
+        }
+        assertEquals(199, graph.getEdges().size());
+
+        for (int i = 0; i < 200; i++) {
+            nodes.get(i).setId(1000 - i);
+        }
+        for (int i = 1; i < 200; i++) {
+            assertNotNull(graph.getEdge(nodes.get(i), nodes.get(i - 1)));
+            graph.addEdge(new Edge(nodes.get(i - 1), nodes.get(i)));
+        }
+        assertEquals(199, graph.getEdges().size());
+        graph.removeEdge(new Edge(nodes.get(1), nodes.get(0)));
+        assertNull(graph.getEdge(nodes.get(0), nodes.get(1)));
+        assertEquals(198, graph.getEdges().size());
+    }
+
+    private static List<Node> pair(Node one, Node two) {
+        return one.getId() <= two.getId() ? List.of(one, two) : List.of(two, one);
+    }
+}
@@ -0,0 +1,181 @@
+package tests;
+
+import models.Edge;
+import models.Graph;
+import models.Node;
+import org.junit.jupiter.api.Test;
+
+import java.awt.*;
+import java.util.*;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Testing strategy for the node identifiers of Graph:
+ *
+ * 1. Identifiers of deleted nodes are handed to later nodes, and getNode
+ *    finds every node by its identifier and nothing for free or out of range
+ *    identifiers.
+ *
+ * 2. After every step of a random sequence of added and deleted nodes,
+ *    identifiers are unique, below getIdBound, and match a reference map.
+ *
+ * 3. The exposed node list cannot be changed directly; nodes replaced through
+ *    setNodes are found by identifier, and later nodes get identifiers not in
+ *    use.
+ *
+ * 4. setSource and setDestination accept nodes of the graph only, and read
+ *    a constant number of elements of the node list, also for nodes that are
+ *    not in the graph.
+ *
+ * 5. A node taking the identifier of the first node does not replace the
+ *    source the user chose.
+ */
+class GraphIdIndexTest {
+
+    @Test
+    void testIdsAreReused() {
+        Graph graph = new Graph();
+        List<Node> nodes = new ArrayList<>();
+        for (int i = 0; i < 10; i++) {
+            Node node = new Node(new Point(i, i));
+            graph.addNode(node);
+            nodes.add(node);
+        }
+        for (Node node : nodes) {
+            assertSame(node, graph.getNode(node.getId()));
+        }
+        assertEquals(11, graph.getIdBound());
+
+        graph.deleteNode(nodes.get(2));
+        graph.deleteNode(nodes.get(6));
+        assertNull(graph.getNode(3));
+        assertNull(graph.getNode(7));
+        assertNull(graph.getNode(0));
+        assertNull(graph.getNode(-1));
+        assertNull(graph.getNode(1000));
+
+        Node first = new Node(new Point(20, 20));
+        Node second = new Node(new Point(30, 30));
+        graph.addNode(first);
+        graph.addNode(second);
+        assertEquals(Set.of(3, 7), Set.of(first.getId(), second.getId()));
+        assertSame(first, graph.getNode(first.getId()));
+        assertSame(second, graph.getNode(second.getId()));
+        assertEquals(11, graph.getIdBound());
+
+        graph.clear();
+        assertNull(graph.getNode(1));
+        graph.addNode(new Point(0, 0));
+        assertEquals(1, graph.getNodes().get(0).getId());
+    }
+
+    @Test
+    void testRandomEditsMatchReference() {
+        Random random = new Random(167);
+        Graph graph = new Graph();
+        Map<Integer, Node> expected = new HashMap<>();
+        int largest = 0;
+        for (int step = 0; step < 3000; step++) {
+            List<Node> nodes = graph.getNodes();
+            if (nodes.isEmpty() || random.nextInt(5) < 3) {
+                Node node = new Node(new Point(random.nextInt(500), random.nextInt(500)));
+                graph.addNode(node);
+                assertNull(expected.put(node.getId(), node));
+                if (nodes.size() > 1)
+                    graph.addEdge(new Edge(node, nodes.get(random.nextInt(nodes.size() - 1))));
+            } else {
+                Node node = nodes.get(random.nextInt(nodes.size()));
+                graph.deleteNode(node);
+                expected.remove(node.getId());
+                assertNull(graph.getNode(node.getId()));
+            }
+            largest = Math.max(largest, graph.getNodes().size());
+
+            assertTrue(graph.getIdBound() <= largest + 1);
+            for (Map.Entry<Integer, Node> entry : expected.entrySet()) {
+                assertSame(entry.getValue(), graph.getNode(entry.getKey()));
+            }
+        }
+    }
+
+    @Test
+    void testDirectModification() {
+        Graph graph = AdjacencyIndexTest.randomConnectedGraph(new Random(173), 20, 10);
+        Node removed = graph.getNodes().get(4);
+        assertThrows(UnsupportedOperationException.class, () -> graph.getNodes().remove(4));
+        assertThrows(UnsupportedOperationException.class, () -> graph.getNodes().add(new Node(new Point(0, 0))));
+        assertSame(removed, graph.getNode(removed.getId()));
+        graph.deleteNode(removed);
+        assertNull(graph.getNode(removed.getId()));
+
+        Node next = new Node(new Point(1, 1));
+        graph.addNode(next);
+        assertEquals(removed.getId(), next.getId());
+
+        List<Node> replacement = new ArrayList<>();
+        for (int id : new int[] {2, 5, 9}) {
+            Node node = new Node(new Point(id, id));
+            node.setId(id);
+            replacement.add(node);
+        }
+        graph.setNodes(replacement);
+        assertSame(replacement.get(1), graph.getNode(5));
+        assertNull(graph.getNode(1));
+        Set<Integer> ids = new HashSet<>(Set.of(2, 5, 9));
+        for (int i = 0; i < 7; i++) {
+            Node node = new Node(new Point(i, 0));
+            graph.addNode(node);
+            assertTrue(ids.add(node.getId()));
+        }
+        assertEquals(11, graph.getIdBound());
+    }
+
+    @Test
+    void testSourceAndDestination() {
+        Graph graph = new Graph();
+        GraphIncidenceTest.CountingList<Node> nodes = new GraphIncidenceTest.CountingList<>();
+        graph.setNodes(nodes);
+        for (int i = 0; i < 1000; i++) {
+            graph.addNode(new Point(i, 0));
+        }
+        assertSame(graph.getNode(1), graph.getSource());
+        Node outside = new Node(new Point(0, 0));
+        Node deleted = nodes.get(500);
+        graph.deleteNode(deleted);
+
+        nodes.reads = 0;
+        for (int i = 0; i < nodes.size(); i++) {
+            graph.setSource(outside);
+            graph.setDestination(deleted);
+            graph.setDestination(null);
+        }
+        assertTrue(nodes.reads <= nodes.size() * 2);
+        assertSame(graph.getNode(1), graph.getSource());
+        assertNull(graph.getDestination());
+
+        for (int i = 0; i < 999; i++) {
+            graph.setSource(nodes.get(i));
+            graph.setDestination(nodes.get(998 - i));
+        }
+        assertSame(nodes.get(998), graph.getSource());
+        assertSame(nodes.get(0), graph.getDestination());
+    }
+
+    @Test
+    void testReusedIdKeepsSource() {
+        Graph graph = new Graph();
+        for (int i = 0; i < 3; i++) {
+            graph.addNode(new Point(i, 0));
+        }
+        Node first = graph.getNode(1);
+        Node second = graph.getNode(2);
+        graph.setSource(second);
+        graph.deleteNode(first);
+        Node added = new Node(new Point(5, 5));
+        graph.addNode(added);
+        assertEquals(1, added.getId());
+        assertSame(second, graph.getSource());
+    }
+}
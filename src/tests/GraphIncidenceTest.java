@@ -0,0 +1,201 @@
+package tests;
+
+import algo.DynamicDijkstraAlgorithm;
+import models.Edge;
+import models.Graph;
+import models.GraphListener;
+import models.Node;
+import org.junit.jupiter.api.Test;
+
+import java.awt.*;
+import java.util.*;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Testing strategy for the incidence lists and bulk deletion of Graph:
+ *
+ * 1. After every step of a random sequence of added nodes and edges, removed
+ *    edges, and single and batch node deletions, the node and edge lists hold
+ *    exactly the expected elements, with every edge appearing once.
+ *
+ * 2. A batch deletion reports every deleted node to listeners with exactly
+ *    its removed edges, and a DynamicDijkstraAlgorithm following the graph
+ *    still matches a Bellman-Ford reference afterwards.
+ *
+ * 3. The exposed node list cannot be changed directly, and nodes not in the
+ *    graph are skipped; deleting a node reads only its own edges of the edge
+ *    list and a constant number of nodes, never scanning either list.
+ */
+class GraphIncidenceTest {
+
+    @Test
+    void testRandomEditsMatchReference() {
+        Random random = new Random(131);
+        Graph graph = new Graph();
+        Set<Node> expectedNodes = Collections.newSetFromMap(new IdentityHashMap<>());
+        Set<Edge> expectedEdges = Collections.newSetFromMap(new IdentityHashMap<>());
+        for (int step = 0; step < 1500; step++) {
+            List<Node> nodes = graph.getNodes();
+            int operation = random.nextInt(12);
+            if (operation < 3 || nodes.size() < 3) {
+                Node node = new Node(new Point(random.nextInt(500), random.nextInt(500)));
+                graph.addNode(node);
+                expectedNodes.add(node);
+            } else if (operation < 8) {
+                Edge edge = new Edge(nodes.get(random.nextInt(nodes.size())), nodes.get(random.nextInt(nodes.size())));
+                if (graph.getEdge(edge.getNodeOne(), edge.getNodeTwo()) == null)
+                    expectedEdges.add(edge);
+                graph.addEdge(edge);
+            } else if (operation < 9 && !graph.getEdges().isEmpty()) {
+                Edge edge = graph.getEdges().get(random.nextInt(graph.getEdges().size()));
+                graph.removeEdge(edge);
+                expectedEdges.remove(edge);
+            } else if (operation < 11) {
+                Node node = nodes.get(random.nextInt(nodes.size()));
+                graph.deleteNode(node);
+                expectedNodes.remove(node);
+                expectedEdges.removeIf(edge -> edge.hasNode(node));
+            } else {
+                List<Node> batch = List.of(nodes.get(random.nextInt(nodes.size())), nodes.get(random.nextInt(nodes.size())));
+                graph.deleteNodes(batch);
+                expectedNodes.removeAll(batch);
+                expectedEdges.removeIf(edge -> edge.hasNode(batch.get(0)) || edge.hasNode(batch.get(1)));
+            }
+
+            assertEquals(expectedNodes.size(), graph.getNodes().size());
+            assertTrue(expectedNodes.containsAll(graph.getNodes()));
+            assertEquals(expectedEdges.size(), graph.getEdges().size());
+            assertTrue(expectedEdges.containsAll(graph.getEdges()));
+        }
+    }
+
+    @Test
+    void testBatchDeletionNotifiesListeners() {
+        Random random = new Random(137);
+        Graph graph = AdjacencyIndexTest.randomConnectedGraph(random, 120, 200);
+        DynamicDijkstraAlgorithm dynamic = new DynamicDijkstraAlgorithm(graph);
+        dynamic.run();
+
+        Map<Node, List<Edge>> reported = new IdentityHashMap<>();
+        graph.addGraphListener(new GraphListener() {
+            @Override
+            public void nodeDeleted(Node node, List<Edge> edges) {
+                reported.put(node, edges);
+            }
+        });
+
+        List<Node> batch = new ArrayList<>();
+        for (int i = 1; i < 40; i += 3) {
+            batch.add(graph.getNodes().get(i));
+        }
+        Set<Edge> removed = Collections.newSetFromMap(new IdentityHashMap<>());
+        for (Edge edge : graph.getEdges()) {
+            if (batch.stream().anyMatch(edge::hasNode))
+                removed.add(edge);
+        }
+        graph.deleteNodes(batch);
+
+        assertEquals(batch.size(), reported.size());
+        int reportedEdges = 0;
+        for (Node node : batch) {
+            for (Edge edge : reported.get(node)) {
+                assertTrue(edge.hasNode(node));
+                assertTrue(removed.contains(edge));
+            }
+            reportedEdges += reported.get(node).size();
+        }
+        assertEquals(removed.size(), reportedEdges);
+
+        Map<Node, Integer> expected = AdjacencyIndexTest.bellmanFord(graph);
+        for (Node node : graph.getNodes()) {
+            assertEquals(expected.get(node), dynamic.getDistance(node));
+        }
+    }
+
+    @Test
+    void testDirectModificationAndUnknownNodes() {
+        Graph graph = AdjacencyIndexTest.randomConnectedGraph(new Random(139), 20, 10);
+        assertThrows(UnsupportedOperationException.class, () -> graph.getNodes().remove(3));
+        assertEquals(20, graph.getNodes().size());
+        Node other = graph.getNodes().get(7);
+        graph.deleteNode(other);
+        assertFalse(graph.getNodes().contains(other));
+        assertEquals(19, graph.getNodes().size());
+        for (Edge edge : graph.getEdges()) {
+            assertFalse(edge.hasNode(other));
+        }
+
+        int edges = graph.getEdges().size();
+        graph.deleteNode(new Node(new Point(0, 0)));
+        graph.deleteNode(other);
+        assertEquals(edges, graph.getEdges().size());
+        assertEquals(19, graph.getNodes().size());
+    }
+
+    /**
+     * A list that counts how often its elements are read. Every read of AbstractList, including
+     * the ones of contains and iteration, goes through get, so a scan of the list shows in the count.
+     */
+    static class CountingList<E> extends AbstractList<E> implements RandomAccess {
+        private final List<E> elements = new ArrayList<>();
+        int reads;
+
+        @Override
+        public E get(int index) {
+            reads++;
+            return elements.get(index);
+        }
+
+        @Override
+        public E set(int index, E element) {
+            return elements.set(index, element);
+        }
+
+        @Override
+        public void add(int index, E element) {
+            elements.add(index, element);
+        }
+
+        @Override
+        public E remove(int index) {
+            return elements.remove(index);
+        }
+
+        @Override
+        public int size() {
+            return elements.size();
+        }
+    }
+
+    @Test
+    void testDeletionReadsOnlyIncidentEdges() {
+        Graph graph = new Graph();
+        CountingList<Node> nodes = new CountingList<>();
+        CountingList<Edge> edges = new CountingList<>();
+        graph.setNodes(nodes);
+        graph.setEdges(edges);
+        for (int i = 0; i < 2000; i++) {
+            graph.addNode(new Point(i, 0));
+            if (i > 0)
+                graph.addEdge(new Edge(nodes.get(i - 1), nodes.get(i)));
+        }
+
+        Random random = new Random(141);
+        for (int i = 0; i < 1000; i++) {
+            Node node = nodes.get(random.nextInt(nodes.size()));
+            int degree = 0;
+            for (Edge edge : new ArrayList<>(graph.getEdges())) {
+                if (edge.hasNode(node))
+                    degree++;
+            }
+            nodes.reads = 0;
+            edges.reads = 0;
+            graph.deleteNode(node);
+            assertTrue(nodes.reads <= 2);
+            assertTrue(edges.reads <= 2 * degree);
+        }
+        assertEquals(1000, graph.getNodes().size());
+    }
+}
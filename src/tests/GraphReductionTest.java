@@ -0,0 +1,120 @@
+package tests;
+
+import algo.GraphReduction;
+import models.Edge;
+import models.Graph;
+import models.Node;
+import org.junit.jupiter.api.Test;
+
+import java.awt.*;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Testing strategy for GraphReduction:
+ *
+ * 1. On random graphs made of a core whose edges are subdivided into chains,
+ *    with trees hanging from core, chain and tree nodes, plus separate cycles,
+ *    trees and parallel edges, the distance of every pair of nodes matches a
+ *    Bellman-Ford reference, and every path runs between the right nodes over
+ *    existing edges and costs exactly the distance.
+ *
+ * 2. The core of such a graph is much smaller than the graph.
+ *
+ * 3. Nodes in different components get Integer.MAX_VALUE and an empty path,
+ *    and nodes outside of the preprocessed graph are rejected.
+ */
+class GraphReductionTest {
+
+    @Test
+    void testAllPairsMatchReference() {
+        Random random = new Random(109);
+        for (int round = 0; round < 4; round++) {
+            Graph graph = chainyGraph(random);
+            GraphReduction reduction = new GraphReduction(graph);
+            List<Node> nodes = graph.getNodes();
+            for (Node source : nodes) {
+                graph.setSource(source);
+                Map<Node, Integer> expected = AdjacencyIndexTest.bellmanFord(graph);
+                for (Node target : nodes) {
+                    int distance = expected.get(target);
+                    assertEquals(distance, reduction.getDistance(source, target));
+                    List<Node> path = reduction.getPath(source, target);
+                    if (distance == Integer.MAX_VALUE) {
+                        assertTrue(path.isEmpty());
+                        continue;
+                    }
+                    assertEquals(source, path.get(0));
+                    assertEquals(target, path.get(path.size() - 1));
+                    assertEquals(distance, AdjacencyIndexTest.pathCost(graph, path));
+                }
+            }
+            assertTrue(reduction.getCoreNodeCount() * 3 < nodes.size());
+        }
+    }
+
+    @Test
+    void testRejectsUnknownNodes() {
+        Graph graph = AdjacencyIndexTest.randomConnectedGraph(new Random(113), 10, 5);
+        GraphReduction reduction = new GraphReduction(graph);
+        Node outside = new Node(new Point(0, 0));
+        assertThrows(IllegalArgumentException.class, () -> reduction.getPath(outside, graph.getNodes().get(0)));
+    }
+
+    /**
+     * Builds a small random core, subdivides its edges into chains and hangs trees everywhere,
+     * then adds a separate cycle, a separate tree and a pair of parallel edges.
+     */
+    private static Graph chainyGraph(Random random) {
+        Graph graph = AdjacencyIndexTest.randomConnectedGraph(random, 6, 6);
+        for (Edge edge : List.copyOf(graph.getEdges())) {
+            graph.removeEdge(edge);
+            Node previous = edge.getNodeOne();
+            int length = random.nextInt(4);
+            for (int i = 0; i < length; i++) {
+                Node middle = addNode(graph, random);
+                connect(graph, previous, middle, random);
+                previous = middle;
+            }
+            connect(graph, previous, edge.getNodeTwo(), random);
+        }
+        for (int i = 0; i < 12; i++) {
+            List<Node> nodes = graph.getNodes();
+            connect(graph, nodes.get(random.nextInt(nodes.size())), addNode(graph, random), random);
+        }
+
+        Node first = addNode(graph, random);
+        Node previous = first;
+        for (int i = 0; i < 4; i++) {
+            Node next = addNode(graph, random);
+            connect(graph, previous, next, random);
+            previous = next;
+        }
+        connect(graph, previous, first, random);
+
+        Node root = addNode(graph, random);
+        connect(graph, root, addNode(graph, random), random);
+        connect(graph, root, addNode(graph, random), random);
+
+        Node one = addNode(graph, random);
+        Node two = addNode(graph, random);
+        connect(graph, one, two, random);
+        connect(graph, one, two, random);
+        return graph;
+    }
+
+    private static Node addNode(Graph graph, Random random) {
+        Node node = new Node(new Point(random.nextInt(1000), random.nextInt(1000)));
+        graph.addNode(node);
+        return node;
+    }
+
+    private static void connect(Graph graph, Node one, Node two, Random random) {
+        Edge edge = new Edge(one, two);
+        edge.setWeight(1 + random.nextInt(20));
+        graph.addEdge(edge);
+    }
+}
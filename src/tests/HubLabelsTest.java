@@ -0,0 +1,76 @@
+package tests;
+
+import algo.HubLabels;
+import algo.ShortestPathTree;
+import models.AdjacencyIndex;
+import models.Graph;
+import models.Node;
+import org.junit.jupiter.api.Test;
+
+import java.awt.*;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Testing strategy for HubLabels:
+ *
+ * 1. On random graphs, the distance of every pair of nodes matches a
+ *    Bellman-Ford reference, and every path runs between the right nodes
+ *    over existing edges and costs exactly the distance.
+ *
+ * 2. Nodes in different components get Integer.MAX_VALUE and an empty path,
+ *    and a node's distance to itself is 0 with a path of just the node.
+ *
+ * 3. Nodes outside of the preprocessed graph are rejected.
+ */
+class HubLabelsTest {
+
+    @Test
+    void testAllPairsMatchReference() {
+        Random random = new Random(97);
+        for (int round = 0; round < 3; round++) {
+            Graph graph = AdjacencyIndexTest.randomConnectedGraph(random, 120, 60 * round);
+            HubLabels labels = new HubLabels(graph);
+            List<Node> nodes = graph.getNodes();
+            for (Node source : nodes) {
+                graph.setSource(source);
+                Map<Node, Integer> expected = AdjacencyIndexTest.bellmanFord(graph);
+                for (Node target : nodes) {
+                    assertEquals(expected.get(target).intValue(), labels.getDistance(source, target));
+                    List<Node> path = labels.getPath(source, target);
+                    assertEquals(source, path.get(0));
+                    assertEquals(target, path.get(path.size() - 1));
+                    assertEquals(expected.get(target).intValue(), AdjacencyIndexTest.pathCost(graph, path));
+                }
+            }
+            assertTrue(labels.getLabelCount() < nodes.size() * nodes.size());
+        }
+    }
+
+    @Test
+    void testDisconnectedAndTrivialQueries() {
+        Graph graph = AdjacencyIndexTest.randomConnectedGraph(new Random(101), 30, 10);
+        Node isolated = new Node(new Point(3, 3));
+        graph.addNode(isolated);
+        HubLabels labels = new HubLabels(graph);
+        AdjacencyIndex index = labels.getIndex();
+        Node first = graph.getNodes().get(0);
+
+        assertEquals(Integer.MAX_VALUE, labels.getDistance(first, isolated));
+        assertTrue(labels.getPath(isolated, first).isEmpty());
+        assertEquals(0, labels.distance(index.indexOf(first), index.indexOf(first)));
+        assertArrayEquals(new int[]{index.indexOf(first)}, labels.path(index.indexOf(first), index.indexOf(first)));
+        assertEquals(ShortestPathTree.compute(index, 0).getDistance(index.getNode(29)).intValue(), labels.distance(0, 29));
+    }
+
+    @Test
+    void testRejectsUnknownNodes() {
+        Graph graph = AdjacencyIndexTest.randomConnectedGraph(new Random(103), 10, 5);
+        HubLabels labels = new HubLabels(graph);
+        Node outside = new Node(new Point(0, 0));
+        assertThrows(IllegalArgumentException.class, () -> labels.getDistance(outside, graph.getNodes().get(0)));
+    }
+}
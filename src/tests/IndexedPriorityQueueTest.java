@@ -0,0 +1,228 @@
+package tests;
+
+import algo.BinaryHeap;
+import algo.DaryHeap;
+import algo.DialQueue;
+import algo.DijkstraAlgorithm;
+import algo.IndexedPriorityQueue;
+import algo.PairingHeap;
+import algo.RadixHeap;
+import models.Graph;
+import models.Node;
+import org.junit.jupiter.api.Test;
+
+import java.util.*;
+import java.util.function.Supplier;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Testing strategy for the IndexedPriorityQueue implementations
+ * (BinaryHeap, DaryHeap with several arities, PairingHeap):
+ *
+ * 1. Random interleavings of insertOrDecrease and poll agree with a reference
+ *    TreeSet, including ignored key increases.
+ *
+ * 2. reset empties the queue and allows it to be reused (all queues).
+ *
+ * 3. DijkstraAlgorithm produces the same distances with every queue.
+ *
+ * For the monotone queues (DialQueue, RadixHeap):
+ *
+ * 4. Random monotone sequences, where new keys never fall below the last
+ *    removed key, agree with a reference TreeSet.
+ *
+ * 5. Keys outside of the allowed range are rejected.
+ *
+ * 6. forMaxWeight picks a DialQueue for small weights and a RadixHeap otherwise.
+ *
+ * 7. Resetting a DialQueue after partial searches, with items left in many
+ *    buckets, clears every leftover, and the queue keeps working afterwards.
+ */
+class IndexedPriorityQueueTest {
+
+    private static final List<Supplier<IndexedPriorityQueue>> QUEUES = Arrays.asList(
+            BinaryHeap::new,
+            () -> new DaryHeap(3),
+            () -> new DaryHeap(4),
+            () -> new DaryHeap(8),
+            PairingHeap::new);
+
+    private static final List<Supplier<IndexedPriorityQueue>> MONOTONE_QUEUES = Arrays.asList(
+            () -> new DialQueue(100),
+            RadixHeap::new);
+
+    private static List<Supplier<IndexedPriorityQueue>> allQueues() {
+        List<Supplier<IndexedPriorityQueue>> all = new ArrayList<>(QUEUES);
+        all.addAll(MONOTONE_QUEUES);
+        return all;
+    }
+
+    @Test
+    void testRandomOperationsMatchReference() {
+        for (Supplier<IndexedPriorityQueue> supplier : QUEUES) {
+            Random random = new Random(7);
+            IndexedPriorityQueue queue = supplier.get();
+            int capacity = 200;
+            queue.reset(capacity);
+
+            int[] keys = new int[capacity];
+            TreeSet<Long> reference = new TreeSet<>();
+            for (int step = 0; step < 5000; step++) {
+                if (random.nextInt(3) > 0) {
+                    int item = random.nextInt(capacity);
+                    int key = random.nextInt(10000);
+                    queue.insertOrDecrease(item, key);
+                    if (!reference.contains(((long) keys[item] << 32) | item)) {
+                        keys[item] = key;
+                        reference.add(((long) key << 32) | item);
+                    } else if (key < keys[item]) {
+                        reference.remove(((long) keys[item] << 32) | item);
+                        keys[item] = key;
+                        reference.add(((long) key << 32) | item);
+                    }
+                } else if (!reference.isEmpty()) {
+                    // Ties may be broken differently, so only the key has to match
+                    int expected = (int) (reference.first() >>> 32);
+                    assertEquals(expected, queue.minKey());
+                    int item = queue.poll();
+                    assertEquals(expected, keys[item]);
+                    assertTrue(reference.remove(((long) keys[item] << 32) | item));
+                    assertFalse(queue.contains(item));
+                }
+                assertEquals(reference.size(), queue.size());
+            }
+        }
+    }
+
+    @Test
+    void testResetEmptiesQueue() {
+        for (Supplier<IndexedPriorityQueue> supplier : allQueues()) {
+            IndexedPriorityQueue queue = supplier.get();
+            queue.reset(10);
+            queue.insertOrDecrease(3, 5);
+            queue.insertOrDecrease(4, 2);
+            queue.reset(10);
+            assertTrue(queue.isEmpty());
+            assertFalse(queue.contains(3));
+
+            queue.insertOrDecrease(3, 9);
+            assertEquals(9, queue.minKey());
+            assertEquals(3, queue.poll());
+            assertThrows(NoSuchElementException.class, queue::poll);
+        }
+    }
+
+    @Test
+    void testDijkstraWithEveryQueue() {
+        Graph graph = AdjacencyIndexTest.randomConnectedGraph(new Random(11), 300, 900);
+        Map<Node, Integer> expected = AdjacencyIndexTest.bellmanFord(graph);
+
+        for (Supplier<IndexedPriorityQueue> supplier : allQueues()) {
+            DijkstraAlgorithm dijkstraAlgorithm = new DijkstraAlgorithm(graph, supplier.get());
+            dijkstraAlgorithm.run();
+            for (Node node : graph.getNodes()) {
+                assertEquals(expected.get(node), dijkstraAlgorithm.getDistance(node));
+            }
+        }
+    }
+
+    @Test
+    void testMonotoneOperationsMatchReference() {
+        for (Supplier<IndexedPriorityQueue> supplier : MONOTONE_QUEUES) {
+            Random random = new Random(13);
+            IndexedPriorityQueue queue = supplier.get();
+            int capacity = 200;
+            queue.reset(capacity);
+
+            int[] keys = new int[capacity];
+            int last = 0;
+            TreeSet<Long> reference = new TreeSet<>();
+            for (int step = 0; step < 20000; step++) {
+                if (random.nextInt(3) > 0) {
+                    int item = random.nextInt(capacity);
+                    int key = last + random.nextInt(101);
+                    queue.insertOrDecrease(item, key);
+                    if (!reference.contains(((long) keys[item] << 32) | item)) {
+                        keys[item] = key;
+                        reference.add(((long) key << 32) | item);
+                    } else if (key < keys[item]) {
+                        reference.remove(((long) keys[item] << 32) | item);
+                        keys[item] = key;
+                        reference.add(((long) key << 32) | item);
+                    }
+                } else if (!reference.isEmpty()) {
+                    int expected = (int) (reference.first() >>> 32);
+                    assertEquals(expected, queue.minKey());
+                    int item = queue.poll();
+                    assertEquals(expected, keys[item]);
+                    assertTrue(reference.remove(((long) keys[item] << 32) | item));
+                    last = expected;
+                }
+                assertEquals(reference.size(), queue.size());
+            }
+        }
+    }
+
+    @Test
+    void testMonotoneQueuesRejectKeysOutOfRange() {
+        IndexedPriorityQueue dial = new DialQueue(5);
+        dial.reset(4);
+        dial.insertOrDecrease(0, 4);
+        dial.insertOrDecrease(1, 5);
+        assertEquals(0, dial.poll());
+        assertThrows(IllegalArgumentException.class, () -> dial.insertOrDecrease(2, 10));
+        assertThrows(IllegalArgumentException.class, () -> dial.insertOrDecrease(2, 3));
+        assertFalse(dial.contains(2));
+        assertEquals(1, dial.size());
+
+        IndexedPriorityQueue radix = new RadixHeap();
+        radix.reset(4);
+        radix.insertOrDecrease(0, 10);
+        radix.insertOrDecrease(1, 20);
+        assertEquals(0, radix.poll());
+        assertThrows(IllegalArgumentException.class, () -> radix.insertOrDecrease(2, 9));
+        assertFalse(radix.contains(2));
+        assertEquals(1, radix.size());
+    }
+
+    @Test
+    void testDialQueueResetClearsLeftovers() {
+        Random random = new Random(17);
+        IndexedPriorityQueue queue = new DialQueue(50);
+        int capacity = 100;
+        for (int round = 0; round < 200; round++) {
+            queue.reset(capacity);
+            for (int item = 0; item < capacity; item++) {
+                assertFalse(queue.contains(item));
+            }
+
+            int last = 0;
+            int[] keys = new int[capacity];
+            TreeSet<Long> reference = new TreeSet<>();
+            int steps = random.nextInt(300);
+            for (int step = 0; step < steps; step++) {
+                int item = random.nextInt(capacity);
+                if (random.nextBoolean() && !queue.contains(item)) {
+                    keys[item] = last + random.nextInt(51);
+                    queue.insertOrDecrease(item, keys[item]);
+                    reference.add(((long) keys[item] << 32) | item);
+                } else if (!reference.isEmpty()) {
+                    last = (int) (reference.first() >>> 32);
+                    assertEquals(last, queue.minKey());
+                    int polled = queue.poll();
+                    assertTrue(reference.remove(((long) keys[polled] << 32) | polled));
+                }
+            }
+            assertEquals(reference.size(), queue.size());
+        }
+    }
+
+    @Test
+    void testForMaxWeight() {
+        assertTrue(IndexedPriorityQueue.forMaxWeight(0) instanceof DialQueue);
+        assertTrue(IndexedPriorityQueue.forMaxWeight(IndexedPriorityQueue.DIAL_MAX_WEIGHT) instanceof DialQueue);
+        assertTrue(IndexedPriorityQueue.forMaxWeight(IndexedPriorityQueue.DIAL_MAX_WEIGHT + 1) instanceof RadixHeap);
+        assertTrue(IndexedPriorityQueue.forMaxWeight(Integer.MAX_VALUE) instanceof RadixHeap);
+    }
+}
@@ -0,0 +1,138 @@
+package tests;
+
+import algo.DijkstraAlgorithm;
+import algo.QueryContext;
+import models.AdjacencyIndex;
+import models.Graph;
+import models.Node;
+import org.junit.jupiter.api.Test;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+/**
+ * Testing strategy for QueryContext:
+ *
+ * 1. One context answering many queries in a row, point-to-point and full,
+ *    gives the same distances and paths as a fresh DijkstraAlgorithm every time,
+ *    so nothing of an earlier search leaks into a later one.
+ *
+ * 2. Paths copied into a buffer match the allocated ones, and a buffer too
+ *    small for the path is rejected.
+ *
+ * 3. A range search reports exactly the nodes within the budget, nearest
+ *    first, with their reference distances; a negative budget is rejected.
+ *
+ * 4. Once warmed up, searching and reading distances and paths into a buffer
+ *    allocate no memory (where the JVM can measure it).
+ */
+class QueryContextTest {
+
+    @Test
+    void testRepeatedQueriesMatchDijkstra() {
+        Random random = new Random(79);
+        Graph graph = AdjacencyIndexTest.randomConnectedGraph(random, 200, 300);
+        List<Node> nodes = graph.getNodes();
+        AdjacencyIndex index = graph.getAdjacencyIndex();
+        QueryContext context = new QueryContext(index);
+        int[] buffer = new int[index.size()];
+
+        for (int q = 0; q < 100; q++) {
+            Node source = nodes.get(random.nextInt(nodes.size()));
+            Node target = nodes.get(random.nextInt(nodes.size()));
+            graph.setSource(source);
+            DijkstraAlgorithm dijkstraAlgorithm = new DijkstraAlgorithm(graph);
+            dijkstraAlgorithm.run();
+
+            if (q % 2 == 0)
+                context.search(index.indexOf(source), index.indexOf(target));
+            else
+                context.search(index.indexOf(source), null, 0);
+            int to = index.indexOf(target);
+            assertEquals(dijkstraAlgorithm.getDistance(target).intValue(), context.getDistance(to));
+
+            List<Node> path = new ArrayList<>();
+            int length = context.copyPath(to, buffer);
+            for (int i = 0; i < length; i++) {
+                path.add(index.getNode(buffer[i]));
+            }
+            assertEquals(dijkstraAlgorithm.getPath(target), path);
+            assertEquals(length, context.path(to).length);
+            assertEquals(QueryContext.NO_PREDECESSOR, context.getPredecessor(index.indexOf(source)));
+        }
+    }
+
+    @Test
+    void testBufferTooSmall() {
+        Graph graph = AdjacencyIndexTest.randomConnectedGraph(new Random(83), 30, 0);
+        AdjacencyIndex index = graph.getAdjacencyIndex();
+        QueryContext context = new QueryContext(index);
+        context.search(0, 29);
+        int length = context.path(29).length;
+        assertTrue(length > 1);
+        assertThrows(ArrayIndexOutOfBoundsException.class, () -> context.copyPath(29, new int[length - 1]));
+    }
+
+    @Test
+    void testSearchWithinBudget() {
+        Random random = new Random(107);
+        Graph graph = AdjacencyIndexTest.randomConnectedGraph(random, 300, 500);
+        AdjacencyIndex index = graph.getAdjacencyIndex();
+        QueryContext context = new QueryContext(index);
+
+        for (int budget : new int[]{0, 5, 20, 60, 1000}) {
+            Node source = graph.getNodes().get(random.nextInt(300));
+            graph.setSource(source);
+            Map<Node, Integer> expected = AdjacencyIndexTest.bellmanFord(graph);
+            long within = expected.values().stream().filter(distance -> distance <= budget).count();
+
+            int count = context.searchWithin(index.indexOf(source), budget);
+            assertEquals(within, count);
+            int previous = 0;
+            for (int i = 0; i < count; i++) {
+                int node = context.getSettledNode(i);
+                assertEquals(expected.get(index.getNode(node)).intValue(), context.getDistance(node));
+                assertTrue(context.getDistance(node) >= previous && context.getDistance(node) <= budget);
+                previous = context.getDistance(node);
+            }
+        }
+        assertThrows(IllegalArgumentException.class, () -> context.searchWithin(0, -1));
+        assertThrows(IndexOutOfBoundsException.class, () -> context.getSettledNode(300));
+    }
+
+    @Test
+    void testSteadyStateAllocatesNothing() {
+        ThreadMXBean bean = ManagementFactory.getThreadMXBean();
+        assumeTrue(bean instanceof com.sun.management.ThreadMXBean);
+        com.sun.management.ThreadMXBean threads = (com.sun.management.ThreadMXBean) bean;
+        assumeTrue(threads.isThreadAllocatedMemorySupported() && threads.isThreadAllocatedMemoryEnabled());
+
+        Graph graph = AdjacencyIndexTest.randomConnectedGraph(new Random(89), 2000, 4000);
+        AdjacencyIndex index = graph.getAdjacencyIndex();
+        QueryContext context = new QueryContext(index);
+        int[] buffer = new int[index.size()];
+        long checksum = 0;
+        for (int q = 0; q < 2000; q++) {
+            context.search(q % 2000, (q * 7) % 2000);
+            checksum += context.copyPath((q * 7) % 2000, buffer);
+        }
+
+        long thread = Thread.currentThread().getId();
+        long before = threads.getThreadAllocatedBytes(thread);
+        for (int q = 0; q < 2000; q++) {
+            context.search((q * 3) % 2000, (q * 11) % 2000);
+            checksum += context.getDistance((q * 11) % 2000) + context.copyPath((q * 11) % 2000, buffer);
+        }
+        long allocated = threads.getThreadAllocatedBytes(thread) - before;
+        assertTrue(checksum > 0);
+        // Leaves room for the measurement itself, but not for anything proportional to the queries
+        assertTrue(allocated < 1024, "Allocated " + allocated + " bytes");
+    }
+}
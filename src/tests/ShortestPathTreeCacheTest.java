@@ -0,0 +1,159 @@
+package tests;
+
+import algo.ShortestPathTree;
+import algo.ShortestPathTreeCache;
+import models.Edge;
+import models.Graph;
+import models.Node;
+import org.junit.jupiter.api.Test;
+
+import java.awt.*;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Testing strategy for ShortestPathTreeCache and Graph.getVersion:
+ *
+ * 1. Every mutator of Graph increases its version; setting the source or the
+ *    destination does not, and the exposed lists cannot be changed directly.
+ *
+ * 2. Asking twice for the same source on an unchanged graph returns the same
+ *    tree; changing a weight makes the next request compute a new, correct tree.
+ *
+ * 3. peek never computes a tree; a tree put for the current version is
+ *    returned by peek and get, and a tree of an older version is not.
+ *
+ * 4. The cache never holds more trees than its entry bound, nor more than one
+ *    tree when a single tree exceeds its memory bound.
+ */
+class ShortestPathTreeCacheTest {
+
+    @Test
+    void testEveryMutatorBumpsVersion() {
+        Graph graph = new Graph();
+        long version = graph.getVersion();
+
+        Node one = new Node(new Point(0, 0));
+        Node two = new Node(new Point(10, 0));
+        graph.addNode(one);
+        assertTrue(graph.getVersion() > version);
+        version = graph.getVersion();
+        graph.addNode(two);
+        assertTrue(graph.getVersion() > version);
+
+        version = graph.getVersion();
+        Edge edge = new Edge(one, two);
+        graph.addEdge(edge);
+        assertTrue(graph.getVersion() > version);
+
+        version = graph.getVersion();
+        edge.setWeight(7);
+        assertTrue(graph.getVersion() > version);
+
+        version = graph.getVersion();
+        graph.setDestination(two);
+        graph.setSource(one);
+        assertEquals(version, graph.getVersion());
+
+        graph.removeEdge(edge);
+        assertTrue(graph.getVersion() > version);
+
+        version = graph.getVersion();
+        Node three = new Node(new Point(5, 5));
+        assertThrows(UnsupportedOperationException.class, () -> graph.getNodes().add(three));
+        assertThrows(UnsupportedOperationException.class, () -> graph.getEdges().add(new Edge(one, two)));
+        assertThrows(UnsupportedOperationException.class, () -> graph.getNodes().set(0, three));
+        assertEquals(version, graph.getVersion());
+        graph.addNode(three);
+        assertTrue(graph.getVersion() > version);
+
+        version = graph.getVersion();
+        graph.addEdge(new Edge(one, three));
+        assertTrue(graph.getVersion() > version);
+        assertEquals(1, graph.getAdjacencyIndex().degree(graph.getAdjacencyIndex().indexOf(three)));
+        assertTrue(graph.areConnected(one, three));
+
+        version = graph.getVersion();
+        graph.deleteNode(two);
+        assertTrue(graph.getVersion() > version);
+
+        version = graph.getVersion();
+        graph.clear();
+        assertTrue(graph.getVersion() > version);
+    }
+
+    @Test
+    void testHitsUntilGraphChanges() {
+        Graph graph = AdjacencyIndexTest.randomConnectedGraph(new Random(61), 100, 150);
+        ShortestPathTreeCache cache = new ShortestPathTreeCache();
+
+        ShortestPathTree tree = cache.get(graph, graph.getSource());
+        assertSame(tree, cache.get(graph, graph.getSource()));
+        assertEquals(1, cache.getHitCount());
+        assertEquals(1, cache.getMissCount());
+
+        Edge edge = graph.getEdges().get(0);
+        edge.setWeight(edge.getWeight() + 50);
+        ShortestPathTree updated = cache.get(graph, graph.getSource());
+        assertNotSame(tree, updated);
+        assertEquals(2, cache.getMissCount());
+        assertEquals(1, cache.size());
+
+        Map<Node, Integer> expected = AdjacencyIndexTest.bellmanFord(graph);
+        for (Node node : graph.getNodes()) {
+            assertEquals(expected.get(node), updated.getDistance(node));
+        }
+
+        Node far = graph.getDestination();
+        graph.removeEdge(new Edge(graph.getSource(), far));
+        graph.addEdge(new Edge(graph.getSource(), far));
+        ShortestPathTree direct = cache.get(graph, graph.getSource());
+        assertNotSame(updated, direct);
+        assertEquals(1, direct.getDistance(far));
+    }
+
+    @Test
+    void testPeekAndPut() {
+        Graph graph = AdjacencyIndexTest.randomConnectedGraph(new Random(67), 50, 60);
+        ShortestPathTreeCache cache = new ShortestPathTreeCache();
+        Node source = graph.getSource();
+        assertNull(cache.peek(graph, source));
+        assertEquals(0, cache.size());
+
+        ShortestPathTree tree = ShortestPathTree.compute(graph.getAdjacencyIndex(),
+                graph.getAdjacencyIndex().indexOf(source));
+        cache.put(graph, graph.getVersion(), source, tree);
+        assertSame(tree, cache.peek(graph, source));
+        assertSame(tree, cache.get(graph, source));
+
+        long version = graph.getVersion();
+        graph.getEdges().get(0).setWeight(30);
+        assertNull(cache.peek(graph, source));
+        cache.put(graph, version, source, tree);
+        assertNull(cache.peek(graph, source));
+    }
+
+    @Test
+    void testBounds() {
+        Graph graph = AdjacencyIndexTest.randomConnectedGraph(new Random(67), 50, 50);
+        List<Node> nodes = graph.getNodes();
+
+        ShortestPathTreeCache cache = new ShortestPathTreeCache(3, Long.MAX_VALUE);
+        for (int i = 0; i < 10; i++) {
+            ShortestPathTree tree = cache.get(graph, nodes.get(i));
+            assertEquals(0, tree.getDistance(nodes.get(i)).intValue());
+            assertTrue(cache.size() <= 3);
+        }
+
+        ShortestPathTreeCache tiny = new ShortestPathTreeCache(10, 1);
+        tiny.get(graph, nodes.get(0));
+        tiny.get(graph, nodes.get(1));
+        assertEquals(1, tiny.size());
+
+        assertThrows(IllegalArgumentException.class, () -> cache.get(graph, new Node(new Point(0, 0))));
+        assertThrows(IllegalArgumentException.class, () -> new ShortestPathTreeCache(0, 1));
+    }
+}